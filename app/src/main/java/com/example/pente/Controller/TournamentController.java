@@ -8,6 +8,7 @@ import android.content.DialogInterface;
 import android.content.Intent;
 import android.util.Log;
 
+import com.example.pente.Helper.Serialization;
 import com.example.pente.Model.Board;
 import com.example.pente.Model.Computer;
 import com.example.pente.Model.Human;
@@ -23,8 +24,8 @@ import java.io.Serializable;
  */
 public class TournamentController implements Serializable {
     // Constants representing user types
-    public static final int humanCode = 0;
-    public static final int computerCode = 1;
+    public static final int humanCode = Serialization.humanCode;
+    public static final int computerCode = Serialization.computerCode;
     // Constant message for prompting continuation
     public static final String ContinueMessage = "Do you want to continue?";
     // Instance variables
@@ -57,6 +58,7 @@ public class TournamentController implements Serializable {
             _playerArray[computerCode] = computer;
             _strategy = strategy;
             this.isLoaded = isLoaded;
+            UpdateBoardState();
 
         } catch (Exception e) {
             Log.e("TAG", "TournamentController: Error setting up constructor");
@@ -154,6 +156,7 @@ public class TournamentController implements Serializable {
     public boolean SetNextMover(int nextMover) {
         try{
             _nextMover = nextMover;
+            UpdateBoardState();
             return true;
         }catch (Exception e){
             Log.e("TAG", "SetBoard: There was error setting board");
@@ -161,6 +164,19 @@ public class TournamentController implements Serializable {
         }
     }
 
+    /**
+     * Copies the side to move and both players' capture counts onto the board,
+     * so that the board's position key reflects the whole game state.
+     */
+    private void UpdateBoardState() {
+        if (_board == null || _playerArray[humanCode] == null || _playerArray[computerCode] == null) {
+            return;
+        }
+        _board.SetCapturePoints(_human.GetColour(), _human.GetCapturePoints());
+        _board.SetCapturePoints(_computer.GetColour(), _computer.GetCapturePoints());
+        _board.SetSideToMove(_playerArray[_nextMover].GetColour());
+    }
+
     /**
      * Sets the game board.
      *
@@ -244,13 +260,7 @@ public class TournamentController implements Serializable {
      */
 
     public static String ConvertToLabelledRowColumn(int row, int column) {
-        // Convert column to capital alphabet
-        char columnLabel = (char) ('A' + column);
-
-        // Append row number and column label to the result string
-        String result = String.format("%s%d", columnLabel, 19 - row );
-
-        return result;
+        return Board.ConvertToLabelledRowColumn(row, column);
     }
 
 }
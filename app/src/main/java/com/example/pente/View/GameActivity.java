@@ -1,19 +1,28 @@
 package com.example.pente.View;
+import static com.example.pente.Controller.TournamentController.ConvertToLabelledRowColumn;
 import static com.example.pente.Model.Board.BLACK_PIECE;
 import static com.example.pente.Model.Board.WHITE_PIECE;
 import static com.example.pente.View.MainActivity.COIN_FLIP_REQUEST_CODE;
 
 import com.example.pente.Controller.TournamentController;
 import com.example.pente.Helper.Serialization;
+import com.example.pente.Model.AlphaBetaEngine;
 import com.example.pente.Model.Computer;
 import com.example.pente.Model.Human;
+import com.example.pente.Model.MoveListener;
 import com.example.pente.Model.Board;
+import com.example.pente.Model.OpeningBook;
+import com.example.pente.Model.PrincipalVariation;
+import com.example.pente.Model.SearchStats;
 
 import android.app.AlertDialog;
 import android.content.DialogInterface;
 import android.content.Intent;
+import android.content.pm.ApplicationInfo;
+import android.content.res.AssetFileDescriptor;
 import android.graphics.drawable.Drawable;
 import android.os.Bundle;
+import android.os.Environment;
 import android.text.method.ScrollingMovementMethod;
 import android.text.style.BulletSpan;
 import android.util.Log;
@@ -30,18 +39,36 @@ import androidx.core.content.res.ResourcesCompat;
 import com.example.pente.Model.Strategy;
 import com.example.pente.R;
 import android.content.Context;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 /**
  * GameActivity class represents the main gameplay activity of the Pente game.
  * This class includes methods for handling user actions, updating the game state,
  * and displaying dialogs for various game events.
  */
-public class GameActivity extends AppCompatActivity {
+public class GameActivity extends AppCompatActivity implements MoveListener {
 
     private Human _human;
     private Computer _computer;
     public String logMessage = "";
     private Strategy _strategy;
     public static final String SaveGameMessage = "Do you want to save the game?";
+    // Opening book asset, stored uncompressed so that it can be mapped
+    public static final String OPENING_BOOK_ASSET = "opening.book";
+    // Moves ranked by the help analysis
+    private static final int HELP_LINES = 3;
+    // Runs the ranking of the help moves, which searches for up to two seconds, away from the UI thread
+    private final ExecutorService _analysisExecutor = Executors.newSingleThreadExecutor();
+    // Chooses the computer's moves, which search for up to Computer.DEFAULT_MOVE_TIME_BUDGET, away from the UI thread
+    private final ExecutorService _computerExecutor = Executors.newSingleThreadExecutor();
+    // Set on the UI thread while the computer's search runs on the game board
+    private boolean _computerThinking;
+    // Set on the UI thread while the help moves are being ranked
+    private boolean _analysing;
 
     private Board _board;
 
@@ -55,6 +82,13 @@ public class GameActivity extends AppCompatActivity {
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        // the engine logs through its own Log so that it runs without Android; send it to the Android log here
+        com.example.pente.Model.Log.SetSink(new com.example.pente.Model.Log.Sink() {
+            @Override
+            public void Write(int priority, String tag, String message, Throwable error) {
+                Log.println(priority, tag, (error == null) ? message : message + "\n" + Log.getStackTraceString(error));
+            }
+        });
         setContentView(R.layout.activity_tournament);
 
         Button quitBtn = findViewById(R.id.quitBtn);
@@ -81,7 +115,14 @@ public class GameActivity extends AppCompatActivity {
         });
 
         _board = new Board((char[][]) getIntent().getSerializableExtra("board"));
-        _strategy = new Strategy(_board);
+        _strategy = new Strategy(_board, this);
+        _strategy.SetOpeningBook(LoadOpeningBook());
+        // the alpha-beta engine chooses the computer's moves, and lets it ponder on the human's time
+        _strategy.SetEngine(new AlphaBetaEngine(_board));
+        // debug builds log the work behind every move the strategy chooses
+        if ((getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0) {
+            _strategy.SetStatsListener(SearchStats.LOG);
+        }
         _nextMover = (int)  getIntent().getSerializableExtra("nextMover");
 
         char humanColour = (char) getIntent().getSerializableExtra("humanColour");
@@ -108,7 +149,7 @@ public class GameActivity extends AppCompatActivity {
         GridLayout gridLayout = findViewById(R.id.gridLayout);
         createBoard(gridLayout); // Just call the createBoard method
         UpdateScores();
-        _tournament.StartTournament(-1, -1, this);
+        MoveComputer();
     }
 
 
@@ -130,6 +171,8 @@ public class GameActivity extends AppCompatActivity {
                     boardPiece = ResourcesCompat.getDrawable(getResources(), R.drawable.board_empty_piece, null);
                 }
                 button.setBackground(boardPiece);
+                // the rank numbers of the help hints go with the next move
+                button.setText("");
             }
         }
     }
@@ -168,22 +211,77 @@ public class GameActivity extends AppCompatActivity {
     }
     /**
      * onHelpButtonClick method is called when the "Help" button is clicked.
-     * It highlights the suggested move on the game board.
+     * It ranks the best moves with one multi-PV search of a copy of the board on a background thread, then highlights
+     * the best one and numbers the alternatives, if the board has not changed since. White's first two moves are fixed
+     * by the rules, so they are shown at once without a search.
      */
     private void onHelpButtonClick() {
-       int[] rowCol = _strategy.BestMove(_human.GetColour(), this, _human.GetTotalMoves(), true);
-        int buttonId = (rowCol[0] * 19) + rowCol[1];
-        Button button = findViewById(buttonId);
-        Drawable boardPiece = ResourcesCompat.getDrawable(getResources(), R.drawable.board_suggestion_piece, null);
-        button.setBackground(boardPiece);
+        // the computer's search is using the board, or the moves are already being ranked
+        if (_computerThinking || _analysing) {
+            return;
+        }
+        final char colour = _human.GetColour();
+        if (colour == WHITE_PIECE && _human.GetTotalMoves() < 2) {
+            int[] rowCol = _strategy.BestMove(colour, _human.GetTotalMoves(), true);
+            Button button = findViewById((rowCol[0] * 19) + rowCol[1]);
+            button.setBackground(ResourcesCompat.getDrawable(getResources(), R.drawable.board_suggestion_piece, null));
+            return;
+        }
+        _analysing = true;
+        final long position = _board.GetHash();
+        final Board copy = new Board(_board);
+        _analysisExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final PrincipalVariation[] analysis = _strategy.Analyse(copy, colour, HELP_LINES);
+                runOnUiThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        _analysing = false;
+                        if (isFinishing() || _board.GetHash() != position || analysis.length == 0) {
+                            return;
+                        }
+                        PrincipalVariation best = analysis[0];
+                        ShowMessage("Placing the piece in " + ConvertToLabelledRowColumn(best.GetRow(), best.GetColumn())
+                                + " is the best move found by the analysis");
+                        ShowRankedMoves(analysis);
+                    }
+                });
+            }
+        });
+    }
 
+    /**
+     * Numbers the ranked help moves on the board and writes their lines to the log.
+     *
+     * @param analysis The ranked lines, best first.
+     */
+    private void ShowRankedMoves(PrincipalVariation[] analysis) {
+        StringBuilder ranking = new StringBuilder("Ranked moves:");
+        for (int rank = 0; rank < analysis.length; rank++) {
+            PrincipalVariation line = analysis[rank];
+            Button rankedButton = findViewById((line.GetRow() * 19) + line.GetColumn());
+            rankedButton.setBackground(ResourcesCompat.getDrawable(getResources(), R.drawable.board_suggestion_piece, null));
+            rankedButton.setText(String.valueOf(rank + 1));
+            ranking.append("\n").append(rank + 1).append(". ").append(ConvertToLabelledRowColumn(line.GetRow(), line.GetColumn()))
+                    .append(line.IsWin() ? " wins" : " scores " + line.GetScore()).append(", expecting");
+            for (int move : line.GetMoves()) {
+                ranking.append(" ").append(ConvertToLabelledRowColumn(move / 19, move % 19));
+            }
+        }
+        AddLogMessage(ranking.toString());
     }
     /**
      * onQuitButtonClick method is called when the "Quit" button is clicked.
      * It displays a dialog indicating the winner and prompts to save the game.
      */
     private void onQuitButtonClick() {
+        // the game can be saved once the computer's search has given the board back
+        if (_computerThinking) {
+            return;
+        }
         this.logMessage = "";
+        _strategy.CancelPondering();
         //create a winner dialog box
         int humanTotalGamePoints = _human.GetTotalPoints() + _human.GetCapturePoints() + _human.GetRoundPoints();
         int computerTotalGamePoints = _computer.GetTotalPoints() + _computer.GetCapturePoints() + _computer.GetRoundPoints();
@@ -199,8 +297,8 @@ public class GameActivity extends AppCompatActivity {
      *
      * @param logMessage The message to be added to the log.
      */
-
-    public void AddLogMessage(String logMessage){
+    @Override
+    public synchronized void AddLogMessage(String logMessage){
         this.logMessage += logMessage +"\n";
     }
 
@@ -229,14 +327,92 @@ public class GameActivity extends AppCompatActivity {
         int row = rowColumn[0];
         int column = rowColumn[1];
         if (_tournament.GetNextMover() == TournamentController.humanCode) {
+            // the computer answers at once if it was pondering on this move
+            _strategy.StopPondering(row, column);
             if(_tournament.StartTournament(row, column, this)){
                 // after human makes move then switch to computer
-                _tournament.StartTournament(-1, -1, this);
+                MoveComputer();
+            } else {
+                StartPondering();
+            }
+        }
+    }
+
+    /**
+     * MoveComputer method lets the computer choose its move on a background thread if it is to move, so that its
+     * search does not block the UI, then plays the move on the UI thread and starts pondering on the human's time.
+     * The human cannot move meanwhile, since the tournament waits for the computer.
+     */
+    private void MoveComputer() {
+        if (_tournament.GetNextMover() != TournamentController.computerCode) {
+            StartPondering();
+            return;
+        }
+        _computerThinking = true;
+        _computerExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final int[] rowCol = _computer.ChooseMove(_strategy);
+                runOnUiThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        _computerThinking = false;
+                        if (isFinishing()) {
+                            return;
+                        }
+                        _tournament.StartTournament(rowCol[0], rowCol[1], GameActivity.this);
+                        StartPondering();
+                    }
+                });
             }
+        });
+    }
+
+    /**
+     * LoadOpeningBook method maps the opening book asset of the application, if it has one.
+     *
+     * @return The opening book, or null if there is none.
+     */
+    private OpeningBook LoadOpeningBook() {
+        try (AssetFileDescriptor descriptor = getAssets().openFd(OPENING_BOOK_ASSET);
+             FileInputStream input = descriptor.createInputStream()) {
+            return OpeningBook.Open(input.getChannel(), descriptor.getStartOffset(), descriptor.getLength());
+        } catch (IOException e) {
+            Log.d("TAG", "LoadOpeningBook: There is no opening book");
+            return null;
+        }
+    }
 
+    /**
+     * StartPondering method lets the computer think about its next move while the human is to move, if it is set to ponder.
+     */
+    private void StartPondering() {
+        if (_computer.IsPondering() && _tournament.GetNextMover() == TournamentController.humanCode) {
+            _strategy.StartPondering(_computer.GetColour());
         }
     }
 
+    /**
+     * onDestroy method stops the pondering, the help analysis and the computer's search when the activity goes away.
+     */
+    @Override
+    protected void onDestroy() {
+        _strategy.CancelPondering();
+        _analysisExecutor.shutdownNow();
+        _computerExecutor.shutdownNow();
+        super.onDestroy();
+    }
+
+    /**
+     * ShowMessage method shows a message of the engine, like the answer to a help request, in an information dialog.
+     *
+     * @param message The message to be displayed.
+     */
+    @Override
+    public void ShowMessage(String message) {
+        CreateDialogBox(message);
+    }
+
     /**
      * CreateDialogBox method displays an information dialog with the given message.
      *
@@ -344,6 +520,7 @@ public class GameActivity extends AppCompatActivity {
                     public void onClick(DialogInterface dialog, int which) {
                         // reset the board'
                         dialog.cancel();
+                        _strategy.NewGame();
                         _board.ResetBoard();
                         _human.reset();
                         _computer.reset();
@@ -361,14 +538,14 @@ public class GameActivity extends AppCompatActivity {
                             _computer.SetColour(_board.BLACK_PIECE);
                             CreateDialogBox("You will be white and will be going first, since you have higher score in previous round");
                             _tournament.SetNextMover(TournamentController.humanCode);
-                            _tournament.StartTournament(-1, -1, GameActivity.this);
+                            MoveComputer();
 
                         }else {
                             _computer.SetColour(_board.WHITE_PIECE);
                             _human.SetColour(_board.BLACK_PIECE);
                             CreateDialogBox("You will be black and will be going second, since you had lower score in previous round");
                             _tournament.SetNextMover(TournamentController.computerCode);
-                            _tournament.StartTournament(-1, -1, GameActivity.this);
+                            MoveComputer();
                         }
                     }
                 }).setNegativeButton("No", new DialogInterface.OnClickListener() {
@@ -408,7 +585,8 @@ public class GameActivity extends AppCompatActivity {
                         String nextPlayer =  (_nextMover == TournamentController.humanCode) ?  "Human" : "Computer";
                         char nextPlayerColourCode = (nextPlayer.equals("Human")) ? _human.GetColour() : _computer.GetColour();
                         String nextPlayerColour = (nextPlayerColourCode == 'W') ? "White" : "Black";
-                        Serialization.SaveGame(_board, _human, _computer, nextPlayer, nextPlayerColour);
+                        File directory = new File(Environment.getExternalStorageDirectory().getAbsolutePath() + "/Download");
+                        Serialization.SaveGame(directory, _board, _human, _computer, nextPlayer, nextPlayerColour);
                         finish();
                     }
                 }).setNegativeButton("No", new DialogInterface.OnClickListener() {
@@ -490,13 +668,13 @@ public class GameActivity extends AppCompatActivity {
                     _computer.SetColour(_board.BLACK_PIECE);
                     CreateDialogBox("You will be white and will be going first");
                     _tournament.SetNextMover(TournamentController.humanCode);
-                    _tournament.StartTournament(-1, -1, GameActivity.this);
+                    MoveComputer();
                 } else {
                     _computer.SetColour(_board.WHITE_PIECE);
                     _human.SetColour(_board.BLACK_PIECE);
                     CreateDialogBox("You will be white and will be going second");
                     _tournament.SetNextMover(TournamentController.computerCode);
-                    _tournament.StartTournament(-1, -1, GameActivity.this);
+                    MoveComputer();
                 }
 
             }
@@ -0,0 +1,18 @@
+plugins {
+    application
+}
+
+// Headless engine-against-engine matches: ./gradlew :arena:run --args="alphabeta:3 heuristic --games 1000"
+java {
+    sourceCompatibility = JavaVersion.VERSION_1_8
+    targetCompatibility = JavaVersion.VERSION_1_8
+}
+
+application {
+    mainClass.set("com.example.pente.Arena.Arena")
+}
+
+dependencies {
+    implementation(project(":engine"))
+    testImplementation("junit:junit:4.13.2")
+}
@@ -0,0 +1,220 @@
+package com.example.pente.Arena;
+
+import com.example.pente.Model.Board;
+import com.example.pente.Model.Log;
+import com.example.pente.Model.SearchStats;
+
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Arena plays a match between two player specs on several threads and reports the Elo difference,
+ * optionally stopping early once an SPRT decides between two Elo hypotheses.
+ * Every random opening is played twice with the colours swapped, so neither side profits from moving first.
+ * <p>
+ * Usage: Arena engineA engineB [--games N] [--threads T] [--seed S] [--opening-plies P]
+ * [--sprt elo0 elo1] [--alpha a] [--beta b] [--stats] [--verbose]
+ */
+public class Arena {
+
+    private static final int DEFAULT_GAMES = 100;
+    private static final int DEFAULT_OPENING_PLIES = 4;
+    private static final double DEFAULT_ERROR_RATE = 0.05;
+    // A progress line is printed every this many games
+    private static final int REPORT_INTERVAL = 10;
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            Usage("Two player specs are needed");
+            return;
+        }
+        PlayerSpec first = PlayerSpec.Parse(args[0]);
+        PlayerSpec second = PlayerSpec.Parse(args[1]);
+        if (first == null || second == null) {
+            Usage("Unknown player spec " + (first == null ? args[0] : args[1]));
+            return;
+        }
+
+        int games = DEFAULT_GAMES;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = System.nanoTime();
+        int openingPlies = DEFAULT_OPENING_PLIES;
+        double elo0 = 0;
+        double elo1 = 0;
+        boolean sprt = false;
+        boolean showStats = false;
+        double alpha = DEFAULT_ERROR_RATE;
+        double beta = DEFAULT_ERROR_RATE;
+        try {
+            for (int i = 2; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--games":
+                        games = Integer.parseInt(args[++i]);
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt(args[++i]);
+                        break;
+                    case "--seed":
+                        seed = Long.parseLong(args[++i]);
+                        break;
+                    case "--opening-plies":
+                        openingPlies = Integer.parseInt(args[++i]);
+                        break;
+                    case "--sprt":
+                        elo0 = Double.parseDouble(args[++i]);
+                        elo1 = Double.parseDouble(args[++i]);
+                        sprt = true;
+                        break;
+                    case "--alpha":
+                        alpha = Double.parseDouble(args[++i]);
+                        break;
+                    case "--beta":
+                        beta = Double.parseDouble(args[++i]);
+                        break;
+                    case "--stats":
+                        showStats = true;
+                        break;
+                    case "--verbose":
+                        Log.SetSink(Log.STANDARD_ERROR);
+                        break;
+                    default:
+                        Usage("Unknown option " + args[i]);
+                        return;
+                }
+            }
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            Usage("Bad option value");
+            return;
+        }
+        if (games < 1 || threads < 1 || openingPlies < 1) {
+            Usage("The games, threads and opening plies must be positive");
+            return;
+        }
+
+        Sprt test = null;
+        try {
+            if (sprt) {
+                test = new Sprt(elo0, elo1, alpha, beta);
+            }
+        } catch (IllegalArgumentException e) {
+            Usage(e.getMessage());
+            return;
+        }
+
+        System.out.println(first + " vs " + second + ", " + games + " games on " + threads + " threads, seed " + seed);
+        if (test != null) {
+            System.out.println(test);
+        }
+        MatchStatistics statistics = Play(first, second, games, threads, seed, openingPlies, test);
+        System.out.println(statistics);
+        if (showStats) {
+            System.out.println(first + ": " + statistics.GetSearchStats(true));
+            System.out.println(second + ": " + statistics.GetSearchStats(false));
+        }
+        if (test != null) {
+            int result = test.Test(statistics);
+            System.out.println(String.format("LLR %.2f: %s", statistics.GetLogLikelihoodRatio(elo0, elo1),
+                    result == Sprt.ACCEPT_H1 ? "H1 accepted" : result == Sprt.ACCEPT_H0 ? "H0 accepted" : "inconclusive"));
+        }
+    }
+
+    /**
+     * Plays a match, in pairs of games that share an opening with the colours swapped.
+     *
+     * @param first        The spec of player A.
+     * @param second       The spec of player B.
+     * @param games        The number of games, rounded up to an even number.
+     * @param threads      The number of games played at once.
+     * @param seed         The seed of the random openings.
+     * @param openingPlies The number of moves of each opening.
+     * @param test         The SPRT that may stop the match early, or null to play every game.
+     * @return The statistics of A against B.
+     */
+    public static MatchStatistics Play(final PlayerSpec first, final PlayerSpec second, int games, int threads,
+                                       long seed, int openingPlies, Sprt test) {
+        final MatchStatistics statistics = new MatchStatistics();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "arena");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        CompletionService<Double> completion = new ExecutorCompletionService<Double>(executor);
+
+        Random random = new Random(seed);
+        int pairs = (games + 1) / 2;
+        for (int pair = 0; pair < pairs; pair++) {
+            int[] opening = ArenaGame.RandomOpening(random, openingPlies);
+            completion.submit(Game(first, second, opening, true, statistics));
+            completion.submit(Game(second, first, opening, false, statistics));
+        }
+
+        try {
+            for (int played = 1; played <= 2 * pairs; played++) {
+                try {
+                    statistics.AddResult(completion.take().get());
+                } catch (ExecutionException e) {
+                    // a failed game scores for neither side, the match goes on
+                    statistics.AddFailure();
+                    System.err.println("Arena: game " + played + " failed: " + e.getCause());
+                }
+                if (played % REPORT_INTERVAL == 0) {
+                    System.out.println(statistics);
+                }
+                if (test != null && test.Test(statistics) != Sprt.CONTINUE) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+        return statistics;
+    }
+
+    /**
+     * Builds the task playing one game.
+     *
+     * @param white      The spec playing white.
+     * @param black      The spec playing black.
+     * @param opening    The opening of the game.
+     * @param firstWhite True if player A plays white.
+     * @param statistics The statistics the search statistics of the game are added to.
+     * @return The task, answering A's score.
+     */
+    private static Callable<Double> Game(final PlayerSpec white, final PlayerSpec black, final int[] opening, final boolean firstWhite,
+                                         final MatchStatistics statistics) {
+        return new Callable<Double>() {
+            @Override
+            public Double call() {
+                ArenaGame game = new ArenaGame(white, black, opening);
+                char winner = game.Play();
+                SearchStats whiteStats = game.GetStats(Board.WHITE_PIECE);
+                SearchStats blackStats = game.GetStats(Board.BLACK_PIECE);
+                statistics.AddSearchStats(firstWhite ? whiteStats : blackStats, firstWhite ? blackStats : whiteStats);
+                if (winner == Board.INITIAL_BOARD_PIECE) {
+                    return 0.5;
+                }
+                return ((winner == Board.WHITE_PIECE) == firstWhite) ? 1.0 : 0.0;
+            }
+        };
+    }
+
+    private static void Usage(String message) {
+        System.err.println(message);
+        System.err.println("Usage: Arena engineA engineB [--games N] [--threads T] [--seed S] [--opening-plies P]"
+                + " [--sprt elo0 elo1] [--alpha a] [--beta b] [--stats] [--verbose]");
+        System.err.println("Engines: " + PlayerSpec.HEURISTIC + ", " + PlayerSpec.ALPHA_BETA + ":depth[:ms[:threads]], "
+                + PlayerSpec.MCTS + ":playouts[:ms]");
+        System.exit(2);
+    }
+}
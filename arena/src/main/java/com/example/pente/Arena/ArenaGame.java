@@ -0,0 +1,145 @@
+package com.example.pente.Arena;
+
+import com.example.pente.Model.BitBoard;
+import com.example.pente.Model.Board;
+import com.example.pente.Model.Computer;
+import com.example.pente.Model.MoveListener;
+import com.example.pente.Model.Player;
+import com.example.pente.Model.SearchStats;
+import com.example.pente.Model.Strategy;
+
+import java.util.Random;
+
+/**
+ * ArenaGame plays one game between two player specs without the UI, following the game flow of TournamentController:
+ * each move is made by Computer.makeMove, scored with the strategy, its captured pairs removed,
+ * and the board given the side to move and the capture counts before the next one.
+ * A game is won with five in a row or five captured pairs, and drawn when the board is full.
+ * The search statistics of the moves of each side are added up as the game goes.
+ */
+public class ArenaGame {
+
+    private static final int CAPTURES_TO_WIN = 5;
+    private static final int POINTS_TO_WIN = 5;
+    // Opening moves are drawn this close to the center
+    private static final int OPENING_RADIUS = 4;
+
+    private final PlayerSpec[] _specs;
+    private final int[] _opening;
+    private int _plies;
+    // The statistics of the moves of white and black, only touched by the thread playing the game
+    private final SearchStats[] _stats = {new SearchStats(), new SearchStats()};
+
+    /**
+     * Constructs a game.
+     *
+     * @param white   The spec of the white player, who moves first.
+     * @param black   The spec of the black player.
+     * @param opening The indexes of the first moves, white first, played before the players take over.
+     */
+    public ArenaGame(PlayerSpec white, PlayerSpec black, int[] opening) {
+        _specs = new PlayerSpec[]{white, black};
+        _opening = opening;
+    }
+
+    /**
+     * Plays the game.
+     *
+     * @return The colour of the winner, or Board.INITIAL_BOARD_PIECE for a draw.
+     */
+    public char Play() {
+        Board board = new Board();
+        Computer[] players = {new Computer(Board.WHITE_PIECE), new Computer(Board.BLACK_PIECE)};
+        Strategy[] strategies = new Strategy[2];
+        for (int side = 0; side < 2; side++) {
+            strategies[side] = _specs[side].CreateStrategy(board);
+            players[side].SetMoveTimeBudget(_specs[side].GetMoveTimeBudget());
+            players[side].SetPondering(false);
+            final SearchStats sideStats = _stats[side];
+            strategies[side].SetStatsListener(new SearchStats.Listener() {
+                @Override
+                public void ReportStats(SearchStats stats) {
+                    sideStats.Add(stats);
+                }
+            });
+        }
+
+        int next = 0;
+        for (_plies = 0; _plies < BitBoard.CELLS; _plies++) {
+            Player player = players[next];
+            char colour = player.GetColour();
+            board.SetCapturePoints(Board.WHITE_PIECE, players[0].GetCapturePoints());
+            board.SetCapturePoints(Board.BLACK_PIECE, players[1].GetCapturePoints());
+            board.SetSideToMove(colour);
+
+            int[] rowCol = {-1, -1};
+            if (_plies < _opening.length) {
+                rowCol[0] = _opening[_plies] / Board.BOARD_SIZE;
+                rowCol[1] = _opening[_plies] % Board.BOARD_SIZE;
+                if (!board.InsertPiece(rowCol[0], rowCol[1], colour)) {
+                    throw new IllegalArgumentException("The opening move " + Board.ConvertToLabelledRowColumn(rowCol[0], rowCol[1]) + " cannot be played");
+                }
+            } else if (!player.makeMove(board, strategies[next], rowCol, MoveListener.SILENT)) {
+                // a player that cannot move, or tries an illegal one, loses
+                return players[1 - next].GetColour();
+            }
+
+            int point = strategies[next].CalculatePoint(rowCol[0], rowCol[1], colour);
+            int capturePoint = strategies[next].CalculateTotalCapture(rowCol[0], rowCol[1], colour, true);
+            player.IncreaseRoundPoint(point);
+            player.IncreaseCapturePoints(capturePoint);
+            player.IncreaseTotalMoves();
+            if (point >= POINTS_TO_WIN || player.GetCapturePoints() >= CAPTURES_TO_WIN) {
+                _plies++;
+                return colour;
+            }
+            next = 1 - next;
+        }
+        return Board.INITIAL_BOARD_PIECE;
+    }
+
+    /**
+     * Gets the number of moves played by the last call to Play, the opening included.
+     *
+     * @return The number of moves.
+     */
+    public int GetPlies() {
+        return _plies;
+    }
+
+    /**
+     * Gets the search statistics of every move a side chose in the last call to Play, the opening excluded.
+     *
+     * @param colour The colour of the side.
+     * @return The statistics of the side.
+     */
+    public SearchStats GetStats(char colour) {
+        return _stats[(colour == Board.WHITE_PIECE) ? 0 : 1];
+    }
+
+    /**
+     * Draws a random opening that follows the rules: the center first, white's second move three intersections
+     * away from it, and every other move near the center.
+     *
+     * @param random The random numbers.
+     * @param plies  The number of moves of the opening.
+     * @return The indexes of the moves, white first.
+     */
+    public static int[] RandomOpening(Random random, int plies) {
+        Board board = new Board();
+        int[] opening = new int[plies];
+        char colour = Board.WHITE_PIECE;
+        for (int ply = 0; ply < plies; ply++) {
+            int row = Board.CENTER_BOARD;
+            int column = Board.CENTER_BOARD;
+            while (ply > 0 && (!board.isPositionEmpty(row, column) || (ply == 2 && !board.IsSecondPieceValid(row, column)))) {
+                row = Board.CENTER_BOARD - OPENING_RADIUS + random.nextInt(2 * OPENING_RADIUS + 1);
+                column = Board.CENTER_BOARD - OPENING_RADIUS + random.nextInt(2 * OPENING_RADIUS + 1);
+            }
+            board.InsertPiece(row, column, colour);
+            opening[ply] = BitBoard.Index(row, column);
+            colour = Board.GetOppositeColour(colour);
+        }
+        return opening;
+    }
+}
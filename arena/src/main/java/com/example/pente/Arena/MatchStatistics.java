@@ -0,0 +1,194 @@
+package com.example.pente.Arena;
+
+import com.example.pente.Model.SearchStats;
+
+/**
+ * MatchStatistics keeps the wins, draws and losses of player A against player B and estimates the Elo difference.
+ * Each game scores 1, 0.5 or 0 for A; the score mean and variance come from the trinomial frequencies of the games,
+ * which gives the error of the Elo estimate and the log-likelihood ratio used by the SPRT.
+ * The error and the log-likelihood ratio use a variance of at least MIN_VARIANCE, so that a match one side wins
+ * every game, or one of only draws, still has a finite margin and ends the SPRT.
+ * The search statistics of both players are added up over the games too, and games that failed are counted apart.
+ */
+public class MatchStatistics {
+
+    // Two-sided 95% quantile of the normal distribution
+    private static final double Z_95 = 1.959964;
+    // Smallest variance of the score of one game used for the error and the SPRT, a standard deviation of 0.1
+    public static final double MIN_VARIANCE = 0.01;
+
+    private int _wins;
+    private int _draws;
+    private int _losses;
+    private int _failures;
+    private final SearchStats _firstStats = new SearchStats();
+    private final SearchStats _secondStats = new SearchStats();
+
+    /**
+     * Records the result of one game from A's side.
+     *
+     * @param score 1 for a win of A, 0.5 for a draw, 0 for a loss.
+     */
+    public synchronized void AddResult(double score) {
+        if (score > 0.5) {
+            _wins++;
+        } else if (score < 0.5) {
+            _losses++;
+        } else {
+            _draws++;
+        }
+    }
+
+    /**
+     * Records a game that failed before it had a result. It is not counted in the games.
+     */
+    public synchronized void AddFailure() {
+        _failures++;
+    }
+
+    /**
+     * Adds the search statistics of one game.
+     *
+     * @param first  The statistics of player A.
+     * @param second The statistics of player B.
+     */
+    public synchronized void AddSearchStats(SearchStats first, SearchStats second) {
+        _firstStats.Add(first);
+        _secondStats.Add(second);
+    }
+
+    /**
+     * Gets the search statistics of a player over the games played so far.
+     *
+     * @param first True for player A, false for player B.
+     * @return A copy of the statistics.
+     */
+    public synchronized SearchStats GetSearchStats(boolean first) {
+        SearchStats stats = new SearchStats();
+        stats.Add(first ? _firstStats : _secondStats);
+        return stats;
+    }
+
+    public synchronized int GetWins() {
+        return _wins;
+    }
+
+    public synchronized int GetDraws() {
+        return _draws;
+    }
+
+    public synchronized int GetLosses() {
+        return _losses;
+    }
+
+    public synchronized int GetFailures() {
+        return _failures;
+    }
+
+    public synchronized int GetGames() {
+        return _wins + _draws + _losses;
+    }
+
+    /**
+     * Gets the mean score of A per game.
+     *
+     * @return The score between 0 and 1, 0.5 before any game.
+     */
+    public synchronized double GetScore() {
+        int games = GetGames();
+        return (games == 0) ? 0.5 : (_wins + 0.5 * _draws) / games;
+    }
+
+    /**
+     * Gets the variance of the score of one game.
+     *
+     * @return The variance, 0 before any game.
+     */
+    public synchronized double GetVariance() {
+        int games = GetGames();
+        if (games == 0) {
+            return 0;
+        }
+        double score = GetScore();
+        double win = (double) _wins / games;
+        double draw = (double) _draws / games;
+        double loss = (double) _losses / games;
+        return win * (1 - score) * (1 - score) + draw * (0.5 - score) * (0.5 - score) + loss * score * score;
+    }
+
+    /**
+     * Gets the Elo difference of A over B.
+     *
+     * @return The Elo difference, infinite if one side won every game.
+     */
+    public synchronized double GetElo() {
+        return ScoreToElo(GetScore());
+    }
+
+    /**
+     * Gets the half width of the 95% confidence interval of the Elo difference.
+     *
+     * @return The margin in Elo, infinite while the interval reaches a score of 0 or 1.
+     */
+    public synchronized double GetEloMargin() {
+        int games = GetGames();
+        if (games == 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double score = GetScore();
+        double error = Z_95 * Math.sqrt(Math.max(GetVariance(), MIN_VARIANCE) / games);
+        return (ScoreToElo(score + error) - ScoreToElo(score - error)) / 2;
+    }
+
+    /**
+     * Gets the log-likelihood ratio of elo1 against elo0, with the score normally distributed around its mean.
+     *
+     * @param elo0 The Elo difference of the null hypothesis.
+     * @param elo1 The Elo difference of the alternative hypothesis.
+     * @return The log-likelihood ratio, 0 before any game.
+     */
+    public synchronized double GetLogLikelihoodRatio(double elo0, double elo1) {
+        int games = GetGames();
+        if (games == 0) {
+            return 0;
+        }
+        double variance = Math.max(GetVariance(), MIN_VARIANCE);
+        double score0 = EloToScore(elo0);
+        double score1 = EloToScore(elo1);
+        double total = GetScore() * games;
+        return (score1 - score0) * (2 * total - games * (score0 + score1)) / (2 * variance);
+    }
+
+    /**
+     * Converts a mean score to an Elo difference.
+     *
+     * @param score The mean score.
+     * @return The Elo difference, infinite at a score of 0 or 1.
+     */
+    public static double ScoreToElo(double score) {
+        if (score <= 0) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        if (score >= 1) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return -400 * Math.log10(1 / score - 1);
+    }
+
+    /**
+     * Converts an Elo difference to the expected mean score.
+     *
+     * @param elo The Elo difference.
+     * @return The mean score.
+     */
+    public static double EloToScore(double elo) {
+        return 1 / (1 + Math.pow(10, -elo / 400));
+    }
+
+    @Override
+    public synchronized String toString() {
+        String result = String.format("Games %d: +%d =%d -%d, score %.3f, Elo %+.1f +/- %.1f",
+                GetGames(), _wins, _draws, _losses, GetScore(), GetElo(), GetEloMargin());
+        return (_failures == 0) ? result : result + ", " + _failures + " failed";
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.pente.Arena;
+
+import com.example.pente.Model.AlphaBetaEngine;
+import com.example.pente.Model.Board;
+import com.example.pente.Model.MctsEngine;
+import com.example.pente.Model.MoveListener;
+import com.example.pente.Model.Strategy;
+
+/**
+ * PlayerSpec describes one side of an arena match and builds its strategy for each game.
+ * A spec is one of:
+ * heuristic, the BestMove cascade;
+ * alphabeta:depth[:milliseconds[:threads]], the alpha-beta engine to a depth, deepening within a time per move if one
+ * is given (0 for none), on several search threads if a count is given;
+ * mcts:playouts[:milliseconds], the Monte Carlo tree search with a playout budget, and a time per move if one is given.
+ */
+public class PlayerSpec {
+
+    public static final String HEURISTIC = "heuristic";
+    public static final String ALPHA_BETA = "alphabeta";
+    public static final String MCTS = "mcts";
+
+    private final String _spec;
+    private final String _kind;
+    private final int _budget;
+    private final long _moveTimeBudget;
+    private final int _threads;
+
+    private PlayerSpec(String spec, String kind, int budget, long moveTimeBudget, int threads) {
+        _spec = spec;
+        _kind = kind;
+        _budget = budget;
+        _moveTimeBudget = moveTimeBudget;
+        _threads = threads;
+    }
+
+    /**
+     * Reads a spec.
+     *
+     * @param spec The spec, like alphabeta:4:500 or alphabeta:6:1000:4.
+     * @return The player spec, or null if the spec is not valid.
+     */
+    public static PlayerSpec Parse(String spec) {
+        String[] parts = spec.split(":");
+        try {
+            if (parts[0].equals(HEURISTIC) && parts.length == 1) {
+                return new PlayerSpec(spec, HEURISTIC, 0, 0, 1);
+            }
+            int maxParts = parts[0].equals(ALPHA_BETA) ? 4 : 3;
+            if ((parts[0].equals(ALPHA_BETA) || parts[0].equals(MCTS)) && parts.length >= 2 && parts.length <= maxParts) {
+                int budget = Integer.parseInt(parts[1]);
+                long moveTimeBudget = (parts.length >= 3) ? Long.parseLong(parts[2]) : 0;
+                int threads = (parts.length == 4) ? Integer.parseInt(parts[3]) : 1;
+                if (budget < 1 || moveTimeBudget < 0 || (parts[0].equals(ALPHA_BETA) && budget > AlphaBetaEngine.MAX_DEPTH)
+                        || threads < 1 || threads > AlphaBetaEngine.MAX_THREADS) {
+                    return null;
+                }
+                return new PlayerSpec(spec, parts[0], budget, moveTimeBudget, threads);
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return null;
+    }
+
+    /**
+     * Builds the strategy of this side for a game on the given board.
+     *
+     * @param board The board of the game.
+     * @return The strategy, with its engine set.
+     */
+    public Strategy CreateStrategy(Board board) {
+        Strategy strategy = new Strategy(board, MoveListener.SILENT);
+        if (_kind.equals(ALPHA_BETA)) {
+            AlphaBetaEngine engine = new AlphaBetaEngine(board, _budget);
+            engine.SetThreadCount(_threads);
+            strategy.SetEngine(engine);
+        } else if (_kind.equals(MCTS)) {
+            MctsEngine engine = new MctsEngine(board);
+            engine.SetPlayoutBudget(_budget);
+            strategy.SetEngine(engine);
+        }
+        return strategy;
+    }
+
+    /**
+     * Gets the time per move given to the computer player, 0 to search the full depth or playout budget.
+     *
+     * @return The time budget per move in milliseconds.
+     */
+    public long GetMoveTimeBudget() {
+        return _moveTimeBudget;
+    }
+
+    /**
+     * Gets the number of threads the alpha-beta engine searches each move on.
+     *
+     * @return The thread count, 1 for the other players.
+     */
+    public int GetThreads() {
+        return _threads;
+    }
+
+    @Override
+    public String toString() {
+        return _spec;
+    }
+}
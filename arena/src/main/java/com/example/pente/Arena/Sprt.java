@@ -0,0 +1,65 @@
+package com.example.pente.Arena;
+
+/**
+ * Sprt is the sequential probability ratio test deciding whether A is elo1 rather than elo0 stronger than B,
+ * stopping a match as soon as the log-likelihood ratio leaves the bounds set by the error rates.
+ */
+public class Sprt {
+
+    public static final int CONTINUE = 0;
+    public static final int ACCEPT_H0 = -1;
+    public static final int ACCEPT_H1 = 1;
+
+    private final double _elo0;
+    private final double _elo1;
+    private final double _lowerBound;
+    private final double _upperBound;
+
+    /**
+     * Constructs a test.
+     *
+     * @param elo0  The Elo difference of the null hypothesis.
+     * @param elo1  The Elo difference of the alternative hypothesis, above elo0.
+     * @param alpha The chance of accepting H1 when H0 holds.
+     * @param beta  The chance of accepting H0 when H1 holds.
+     */
+    public Sprt(double elo0, double elo1, double alpha, double beta) {
+        if (elo1 <= elo0 || alpha <= 0 || alpha >= 1 || beta <= 0 || beta >= 1) {
+            throw new IllegalArgumentException("The SPRT needs elo0 < elo1 and error rates between 0 and 1");
+        }
+        _elo0 = elo0;
+        _elo1 = elo1;
+        _lowerBound = Math.log(beta / (1 - alpha));
+        _upperBound = Math.log((1 - beta) / alpha);
+    }
+
+    /**
+     * Tests the games played so far.
+     *
+     * @param statistics The statistics of the match.
+     * @return ACCEPT_H1, ACCEPT_H0, or CONTINUE if more games are needed.
+     */
+    public int Test(MatchStatistics statistics) {
+        double llr = statistics.GetLogLikelihoodRatio(_elo0, _elo1);
+        if (llr >= _upperBound) {
+            return ACCEPT_H1;
+        }
+        if (llr <= _lowerBound) {
+            return ACCEPT_H0;
+        }
+        return CONTINUE;
+    }
+
+    public double GetLowerBound() {
+        return _lowerBound;
+    }
+
+    public double GetUpperBound() {
+        return _upperBound;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SPRT elo0 %.1f elo1 %.1f, bounds [%.2f, %.2f]", _elo0, _elo1, _lowerBound, _upperBound);
+    }
+}
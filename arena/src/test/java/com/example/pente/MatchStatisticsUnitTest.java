@@ -0,0 +1,100 @@
+package com.example.pente;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.example.pente.Arena.ArenaGame;
+import com.example.pente.Arena.MatchStatistics;
+import com.example.pente.Arena.PlayerSpec;
+import com.example.pente.Arena.Sprt;
+import com.example.pente.Model.Board;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+
+/**
+ * Local unit tests for the match statistics and the SPRT of the arena.
+ */
+public class MatchStatisticsUnitTest {
+
+    private static MatchStatistics Results(int wins, int draws, int losses) {
+        MatchStatistics statistics = new MatchStatistics();
+        for (int i = 0; i < wins; i++) {
+            statistics.AddResult(1);
+        }
+        for (int i = 0; i < draws; i++) {
+            statistics.AddResult(0.5);
+        }
+        for (int i = 0; i < losses; i++) {
+            statistics.AddResult(0);
+        }
+        return statistics;
+    }
+
+    @Test
+    public void elo_followsTheScore() {
+        assertEquals(0, Results(10, 5, 10).GetElo(), 1e-9);
+        // a 3 to 1 score is 190.8 Elo
+        assertEquals(190.85, Results(30, 0, 10).GetElo(), 0.01);
+        assertEquals(-190.85, Results(10, 0, 30).GetElo(), 0.01);
+        assertEquals(100, MatchStatistics.ScoreToElo(MatchStatistics.EloToScore(100)), 1e-9);
+    }
+
+    @Test
+    public void eloMargin_shrinksWithMoreGames() {
+        double few = Results(6, 4, 4).GetEloMargin();
+        double many = Results(600, 400, 400).GetEloMargin();
+        assertTrue(many < few);
+        // the margin of 1400 games scoring 0.571 is about 15 Elo
+        assertEquals(15.3, many, 0.5);
+    }
+
+    @Test
+    public void sprt_acceptsTheHypothesisTheResultsSupport() {
+        Sprt test = new Sprt(0, 50, 0.05, 0.05);
+        assertEquals(Sprt.CONTINUE, test.Test(Results(3, 2, 3)));
+        assertEquals(Sprt.ACCEPT_H1, test.Test(Results(300, 100, 150)));
+        assertEquals(Sprt.ACCEPT_H0, test.Test(Results(150, 100, 300)));
+        assertEquals(Math.log(0.05 / 0.95), test.GetLowerBound(), 1e-12);
+        assertEquals(-test.GetLowerBound(), test.GetUpperBound(), 1e-12);
+    }
+
+    @Test
+    public void sprt_endsOneSidedMatches() {
+        Sprt test = new Sprt(0, 5, 0.05, 0.05);
+        assertEquals(Sprt.ACCEPT_H1, test.Test(Results(500, 0, 0)));
+        assertEquals(Sprt.ACCEPT_H0, test.Test(Results(0, 0, 500)));
+        assertEquals(Sprt.CONTINUE, test.Test(Results(0, 500, 0)));
+        assertEquals(Sprt.ACCEPT_H0, test.Test(Results(0, 5000, 0)));
+        assertFalse(Double.isNaN(Results(500, 0, 0).GetEloMargin()));
+        assertEquals(6.1, Results(0, 500, 0).GetEloMargin(), 0.1);
+    }
+
+    @Test
+    public void playerSpec_readsTheSearchThreads() {
+        assertEquals(1, PlayerSpec.Parse("alphabeta:4:500").GetThreads());
+        assertEquals(4, PlayerSpec.Parse("alphabeta:6:0:4").GetThreads());
+        assertNull(PlayerSpec.Parse("alphabeta:6:0:0"));
+        assertNull(PlayerSpec.Parse("mcts:500:0:4"));
+    }
+
+    @Test
+    public void randomOpening_followsTheRulesAndTheSeed() {
+        for (int seed = 0; seed < 20; seed++) {
+            int[] opening = ArenaGame.RandomOpening(new Random(seed), 4);
+            assertEquals(Board.CENTER_BOARD * Board.BOARD_SIZE + Board.CENTER_BOARD, opening[0]);
+            // white's second move keeps three intersections from the center
+            Board board = new Board();
+            board.InsertPiece(Board.CENTER_BOARD, Board.CENTER_BOARD, Board.WHITE_PIECE);
+            assertTrue(board.IsSecondPieceValid(opening[2] / Board.BOARD_SIZE, opening[2] % Board.BOARD_SIZE));
+            assertEquals(4, new HashSet<Integer>(Arrays.asList(opening[0], opening[1], opening[2], opening[3])).size());
+            int[] again = ArenaGame.RandomOpening(new Random(seed), 4);
+            assertEquals(Arrays.toString(opening), Arrays.toString(again));
+        }
+    }
+}
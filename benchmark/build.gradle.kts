@@ -0,0 +1,34 @@
+plugins {
+    java
+    id("me.champeau.jmh") version "0.7.2"
+}
+
+// Engine microbenchmarks over the position corpus of the engine test fixtures:
+// ./gradlew :benchmark:jmh writes build/results/jmh/results.json, with the allocation rate from the gc profiler.
+// A subset runs with ./gradlew :benchmark:jmh -PjmhIncludes=BoardBenchmark
+java {
+    sourceCompatibility = JavaVersion.VERSION_1_8
+    targetCompatibility = JavaVersion.VERSION_1_8
+}
+
+dependencies {
+    jmh(project(":engine"))
+    jmh(testFixtures(project(":engine")))
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    benchmarkMode.set(listOf("thrpt", "avgt"))
+    timeUnit.set("us")
+    fork.set(1)
+    warmupIterations.set(3)
+    warmup.set("2s")
+    iterations.set(5)
+    timeOnIteration.set("2s")
+    profilers.set(listOf("gc"))
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+    if (project.hasProperty("jmhIncludes")) {
+        includes.set(listOf(project.property("jmhIncludes").toString()))
+    }
+}
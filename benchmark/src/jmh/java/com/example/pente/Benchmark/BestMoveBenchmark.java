@@ -0,0 +1,106 @@
+package com.example.pente.Benchmark;
+
+import com.example.pente.Model.AlphaBetaEngine;
+import com.example.pente.Model.Board;
+import com.example.pente.Model.MctsEngine;
+import com.example.pente.Model.MoveListener;
+import com.example.pente.Model.Strategy;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BestMoveBenchmark measures a whole move choice through Strategy.BestMove, with the heuristic cascade
+ * or with a search engine behind it. One operation answers one position, taking the positions of the phase in turn,
+ * and every engine starts from an empty transposition table so that the positions do not help each other.
+ * alphaBetaThreads runs the alpha-beta engine on 1 to 8 search threads, to show how the Lazy SMP search scales.
+ */
+@BenchmarkMode({Mode.AverageTime, Mode.Throughput})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BestMoveBenchmark {
+
+    public static final String HEURISTIC = "heuristic";
+    public static final String ALPHA_BETA = "alphabeta";
+    public static final String MCTS = "mcts";
+
+    // The total move count handed to BestMove, past the opening rules of the first moves
+    private static final int TOTAL_MOVES = 5;
+    private static final int SEARCH_DEPTH = 3;
+    private static final int PLAYOUTS = 500;
+
+    @State(Scope.Thread)
+    public static class Engines {
+        @Param({HEURISTIC, ALPHA_BETA, MCTS})
+        public String engine;
+
+        public Strategy[] strategies;
+        public int next;
+
+        @Setup(Level.Trial)
+        public void Create(CorpusState corpus) {
+            strategies = new Strategy[corpus.boards.length];
+            for (int i = 0; i < strategies.length; i++) {
+                strategies[i] = new Strategy(corpus.boards[i], MoveListener.SILENT);
+                if (engine.equals(ALPHA_BETA)) {
+                    strategies[i].SetEngine(new AlphaBetaEngine(corpus.boards[i], SEARCH_DEPTH));
+                } else if (engine.equals(MCTS)) {
+                    MctsEngine mcts = new MctsEngine(corpus.boards[i]);
+                    mcts.SetPlayoutBudget(PLAYOUTS);
+                    strategies[i].SetEngine(mcts);
+                }
+            }
+        }
+
+        @Setup(Level.Invocation)
+        public void NextPosition() {
+            next = (next + 1) % strategies.length;
+            strategies[next].NewGame();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class SearchThreads {
+        @Param({"1", "2", "4", "8"})
+        public int threads;
+
+        // One board and engine for every position, so that the helper threads are made once per trial
+        public Board board;
+        public Strategy strategy;
+        public int next;
+
+        @Setup(Level.Trial)
+        public void Create() {
+            board = new Board();
+            AlphaBetaEngine engine = new AlphaBetaEngine(board, SEARCH_DEPTH);
+            engine.SetThreadCount(threads);
+            strategy = new Strategy(board, MoveListener.SILENT);
+            strategy.SetEngine(engine);
+        }
+
+        @Setup(Level.Invocation)
+        public void NextPosition(CorpusState corpus) {
+            next = (next + 1) % corpus.boards.length;
+            board.CopyFrom(corpus.boards[next]);
+            strategy.NewGame();
+        }
+    }
+
+    @Benchmark
+    public int[] bestMove(CorpusState corpus, Engines engines) {
+        return engines.strategies[engines.next].BestMove(corpus.sideToMove[engines.next], TOTAL_MOVES, false);
+    }
+
+    @Benchmark
+    public int[] alphaBetaThreads(CorpusState corpus, SearchThreads search) {
+        return search.strategy.BestMove(corpus.sideToMove[search.next], TOTAL_MOVES, false);
+    }
+}
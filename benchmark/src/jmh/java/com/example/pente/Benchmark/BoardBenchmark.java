@@ -0,0 +1,63 @@
+package com.example.pente.Benchmark;
+
+import com.example.pente.Model.Board;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+
+/**
+ * BoardBenchmark measures placing and lifting a piece, the update every search node pays for:
+ * one operation inserts and removes a piece on every empty intersection next to the last move of each position.
+ */
+public class BoardBenchmark {
+
+    @State(Scope.Thread)
+    public static class Targets {
+        // The empty intersections around the last move of each position
+        public int[][] rows;
+        public int[][] columns;
+
+        @Setup(Level.Trial)
+        public void Find(CorpusState corpus) {
+            int count = corpus.boards.length;
+            rows = new int[count][];
+            columns = new int[count][];
+            for (int i = 0; i < count; i++) {
+                int[] row = new int[8];
+                int[] column = new int[8];
+                int found = 0;
+                for (int dRow = -1; dRow <= 1; dRow++) {
+                    for (int dColumn = -1; dColumn <= 1; dColumn++) {
+                        int r = corpus.lastRow[i] + dRow;
+                        int c = corpus.lastColumn[i] + dColumn;
+                        if (r >= 0 && r < Board.BOARD_SIZE && c >= 0 && c < Board.BOARD_SIZE && corpus.boards[i].isPositionEmpty(r, c)) {
+                            row[found] = r;
+                            column[found] = c;
+                            found++;
+                        }
+                    }
+                }
+                rows[i] = Arrays.copyOf(row, found);
+                columns[i] = Arrays.copyOf(column, found);
+            }
+        }
+    }
+
+    @Benchmark
+    public void insertAndRemovePiece(CorpusState corpus, Targets targets, Blackhole blackhole) {
+        for (int i = 0; i < corpus.boards.length; i++) {
+            Board board = corpus.boards[i];
+            char colour = corpus.sideToMove[i];
+            for (int j = 0; j < targets.rows[i].length; j++) {
+                blackhole.consume(board.InsertPiece(targets.rows[i][j], targets.columns[i][j], colour));
+                blackhole.consume(board.RemovePiece(targets.rows[i][j], targets.columns[i][j]));
+            }
+        }
+    }
+}
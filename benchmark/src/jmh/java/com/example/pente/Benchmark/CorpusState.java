@@ -0,0 +1,55 @@
+package com.example.pente.Benchmark;
+
+import com.example.pente.Model.Board;
+import com.example.pente.Model.MoveListener;
+import com.example.pente.Model.Strategy;
+import com.example.pente.PositionCorpus;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * CorpusState holds the boards of one phase of the position corpus, each with its strategy,
+ * the colour to move and the last move played, for the benchmarks to run over.
+ */
+@State(Scope.Thread)
+public class CorpusState {
+
+    @Param({PositionCorpus.OPENING, PositionCorpus.MIDGAME, PositionCorpus.ENDGAME})
+    public String phase;
+
+    public Board[] boards;
+    public Strategy[] strategies;
+    public char[] sideToMove;
+    // The row and column of the last move of each position, and the colour that played it
+    public int[] lastRow;
+    public int[] lastColumn;
+    public char[] lastColour;
+
+    @Setup(Level.Trial)
+    public void Load() {
+        List<PositionCorpus.Position> positions = PositionCorpus.Load(phase);
+        int count = positions.size();
+        boards = new Board[count];
+        strategies = new Strategy[count];
+        sideToMove = new char[count];
+        lastRow = new int[count];
+        lastColumn = new int[count];
+        lastColour = new char[count];
+        for (int i = 0; i < count; i++) {
+            PositionCorpus.Position position = positions.get(i);
+            int[] moves = position.GetMoves();
+            boards[i] = position.ToBoard();
+            strategies[i] = new Strategy(boards[i], MoveListener.SILENT);
+            sideToMove[i] = position.GetSideToMove();
+            lastRow[i] = moves[moves.length - 1] / Board.BOARD_SIZE;
+            lastColumn[i] = moves[moves.length - 1] % Board.BOARD_SIZE;
+            lastColour[i] = Board.GetOppositeColour(sideToMove[i]);
+        }
+    }
+}
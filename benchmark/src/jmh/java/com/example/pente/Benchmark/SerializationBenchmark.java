@@ -0,0 +1,64 @@
+package com.example.pente.Benchmark;
+
+import com.example.pente.Helper.Serialization;
+import com.example.pente.Model.Board;
+import com.example.pente.Model.Computer;
+import com.example.pente.Model.Human;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * SerializationBenchmark measures loading a saved game: one operation parses the save file of every position
+ * of the phase, written once with Serialization.SaveGame before the trial.
+ */
+public class SerializationBenchmark {
+
+    @State(Scope.Thread)
+    public static class SaveFiles {
+        public File[] directories;
+        public String[] paths;
+
+        @Setup(Level.Trial)
+        public void Write(CorpusState corpus) throws IOException {
+            directories = new File[corpus.boards.length];
+            paths = new String[corpus.boards.length];
+            for (int i = 0; i < corpus.boards.length; i++) {
+                directories[i] = File.createTempFile("pente", "");
+                if (!directories[i].delete() || !directories[i].mkdir()) {
+                    throw new IOException("Could not create " + directories[i]);
+                }
+                Human human = new Human(corpus.sideToMove[i]);
+                Computer computer = new Computer(corpus.lastColour[i]);
+                String colour = (corpus.sideToMove[i] == Board.WHITE_PIECE) ? "White" : "Black";
+                Serialization.SaveGame(directories[i], corpus.boards[i], human, computer, "Human", colour);
+                paths[i] = new File(directories[i], "Game.txt").getPath();
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void Delete() {
+            for (int i = 0; i < directories.length; i++) {
+                new File(paths[i]).delete();
+                directories[i].delete();
+            }
+        }
+    }
+
+    @Benchmark
+    public void parseFile(SaveFiles files, Blackhole blackhole) {
+        for (String path : files.paths) {
+            Serialization serialization = new Serialization();
+            blackhole.consume(serialization.parseFile(path));
+            blackhole.consume(serialization.GetBoard());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.pente.Benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * StrategyBenchmark measures the scanners behind the heuristic cascade.
+ * One operation runs the scanner once on every position of the phase.
+ */
+public class StrategyBenchmark {
+
+    @Benchmark
+    public void calculatePoint(CorpusState corpus, Blackhole blackhole) {
+        for (int i = 0; i < corpus.strategies.length; i++) {
+            blackhole.consume(corpus.strategies[i].CalculatePoint(corpus.lastRow[i], corpus.lastColumn[i], corpus.lastColour[i]));
+        }
+    }
+
+    @Benchmark
+    public void calculateTotalCapture(CorpusState corpus, Blackhole blackhole) {
+        for (int i = 0; i < corpus.strategies.length; i++) {
+            // counting only, so the position is left as it is
+            blackhole.consume(corpus.strategies[i].CalculateTotalCapture(corpus.lastRow[i], corpus.lastColumn[i], corpus.sideToMove[i], false));
+        }
+    }
+
+    @Benchmark
+    public void calculateSequenceInRow(CorpusState corpus, Blackhole blackhole) {
+        for (int i = 0; i < corpus.strategies.length; i++) {
+            blackhole.consume(corpus.strategies[i].CalculateSequenceInRow(corpus.sideToMove[i]));
+        }
+    }
+}
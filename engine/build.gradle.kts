@@ -0,0 +1,44 @@
+plugins {
+    `java-library`
+    `java-test-fixtures`
+}
+
+// The board, the rules and the engines, free of Android so that they also run on a plain JVM
+java {
+    sourceCompatibility = JavaVersion.VERSION_1_8
+    targetCompatibility = JavaVersion.VERSION_1_8
+}
+
+dependencies {
+    testImplementation("junit:junit:4.13.2")
+}
+
+// ./gradlew :engine:perfTest replays the position corpus through the engines and fails when a metric is more than
+// -PperfThreshold (0.25 by default) worse than src/perfTest/perf-baseline.properties.
+// It is left out of check, since the timings depend on the machine: run it on purpose, on a quiet one.
+// -PperfUpdateBaseline=true records the current run as the new baseline.
+testing {
+    suites {
+        register<JvmTestSuite>("perfTest") {
+            useJUnit("4.13.2")
+            dependencies {
+                implementation(project())
+                implementation(testFixtures(project()))
+            }
+            targets.all {
+                testTask.configure {
+                    shouldRunAfter(tasks.named("test"))
+                    // the timings are only comparable with the same heap and nothing else running in the JVM
+                    maxHeapSize = "512m"
+                    maxParallelForks = 1
+                    testLogging.showStandardStreams = true
+                    outputs.upToDateWhen { false }
+                    systemProperty("perf.baseline", file("src/perfTest/perf-baseline.properties").absolutePath)
+                    systemProperty("perf.report", layout.buildDirectory.file("perf/current.properties").get().asFile.absolutePath)
+                    systemProperty("perf.threshold", providers.gradleProperty("perfThreshold").getOrElse("0.25"))
+                    systemProperty("perf.updateBaseline", providers.gradleProperty("perfUpdateBaseline").getOrElse("false"))
+                }
+            }
+        }
+    }
+}
@@ -1,17 +1,8 @@
 package com.example.pente.Helper;
 
-import static com.example.pente.Controller.TournamentController.computerCode;
-import static com.example.pente.Controller.TournamentController.humanCode;
-
-import android.content.Context;
-import android.content.ContextWrapper;
-import android.os.Environment;
-import android.util.Log;
-
 import com.example.pente.Model.Board;
+import com.example.pente.Model.Log;
 import com.example.pente.Model.Player;
-import com.example.pente.View.GameActivity;
-import com.example.pente.View.MainActivity;
 
 import java.io.BufferedReader;
 import java.io.File;
@@ -32,6 +23,10 @@ import java.util.List;
  */
 public class Serialization {
 
+    // The codes of the next mover, shared with the tournament
+    public static final int humanCode = 0;
+    public static final int computerCode = 1;
+
     private char[][] board;
     private int humanCapturePoint;
     private int computerCapturePoint;
@@ -192,15 +187,14 @@ public class Serialization {
     /**
      * Saves the current game state to a file.
      *
+     * @param directory        The directory the Game.txt file is written to.
      * @param board            The game board.
      * @param human            The human player.
      * @param computer         The computer player.
      * @param nextPlayer       The next player.
      * @param nextPlayerColour The colour of the next player.
      */
-    public static void SaveGame(Board board, Player human, Player computer, String nextPlayer, String nextPlayerColour) {
-        String serializeDirectory = Environment.getExternalStorageDirectory().getAbsolutePath() + "/Download";
-        final File directory = new File(serializeDirectory);
+    public static void SaveGame(File directory, Board board, Player human, Player computer, String nextPlayer, String nextPlayerColour) {
         File txtFile = new File(directory, "Game" + ".txt");
         // creating a text file.
         FileOutputStream fos = null;
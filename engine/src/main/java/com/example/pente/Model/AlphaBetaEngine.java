@@ -0,0 +1,963 @@
+package com.example.pente.Model;
+
+import static com.example.pente.Model.Board.GetOppositeColour;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AlphaBetaEngine looks ahead with a principal variation search, a negamax search with alpha-beta pruning
+ * that searches every move after the first with a null window and only searches again the ones that beat it.
+ * Moves are played on the game board with Board.MakeMove and rolled back afterwards with Board.UnmakeMove.
+ * With a time budget the search deepens one ply at a time and answers with the last depth it completed.
+ * Each depth starts with an aspiration window around the scores of the previous one.
+ * Analyse keeps the best few root moves of one search instead of only the best, for the help hints.
+ * With more than one thread the search runs Lazy SMP: helper engines search copies of the board at staggered depths
+ * alongside it, filling the shared transposition table, and the calling thread reports its own result.
+ * The helpers and their threads are kept from one move to the next.
+ */
+public class AlphaBetaEngine implements Engine {
+
+    public static final int DEFAULT_DEPTH = 3;
+    public static final int MAX_DEPTH = 10;
+    public static final int WIN_SCORE = 1000000;
+    // Scores above this are wins found by the search
+    public static final int WIN_THRESHOLD = WIN_SCORE - 1000;
+    private static final int INFINITY = WIN_SCORE + 1;
+    // How many nodes are searched between two looks at the clock
+    private static final int CLOCK_CHECK_INTERVAL = 128;
+    public static final int MAX_THREADS = 64;
+    // How long the helper threads wait idle for the next move before they end
+    private static final long HELPER_KEEP_ALIVE_SECONDS = 60;
+    // Plies the quiescence search may add below the depth
+    public static final int MAX_QUIESCENCE_PLY = 6;
+
+    private static final int CAPTURES_TO_WIN = 5;
+    // Evaluation weights
+    private static final int[] CAPTURE_VALUE = {0, 300, 700, 1500, 5000, 5000};
+    // Rank of a block of a five in the quiescence move list, above any capture count
+    private static final int BLOCK_SCORE = 100;
+    // Largest static move score passed to the move ordering
+    private static final int MAX_STATIC_SCORE = 255;
+    // Most root moves Analyse ranks
+    public static final int MAX_LINES = 8;
+    // Half width of the window a depth is first searched with around the scores of the previous depth
+    // Scores swing by a few hundred between odd and even depths, so narrower windows fail too often to pay off
+    private static final int ASPIRATION_WINDOW = 1500;
+
+    private final Board _board;
+    private int _depth;
+    private TranspositionTable _table;
+    private final MoveOrdering _ordering = new MoveOrdering(MAX_DEPTH + 1);
+    private int _threadCount = 1;
+    // Set when the search of the calling thread is over, to stop the helpers, or by Stop
+    private volatile boolean _stopped;
+    // The engine a helper works for, null for the engine called by BestMove
+    private AlphaBetaEngine _master;
+    // The helpers and the threads running them, made by the first search with more than one thread
+    private AlphaBetaEngine[] _helpers = new AlphaBetaEngine[0];
+    private Future<?>[] _helperSearches = new Future<?>[0];
+    private ThreadPoolExecutor _helperPool;
+    // The counters of the helpers of the last search, added up once they are done
+    private long _helperNodes;
+    private long _helperEvaluations;
+    private long _helperTableProbes;
+    private long _helperTableHits;
+
+    // Move lists per ply, the quiescence plies included
+    private final int[][] _moves = new int[MAX_DEPTH + MAX_QUIESCENCE_PLY + 1][BitBoard.CELLS];
+    private final int[][] _moveScores = new int[MAX_DEPTH + MAX_QUIESCENCE_PLY + 1][BitBoard.CELLS];
+    private final long[] _tactical = new long[BitBoard.WORDS];
+    // Set by GenerateTacticalMoves when the opponent threatens to complete a five
+    private boolean _fiveThreatened;
+    private final long[] _adjacent = new long[BitBoard.WORDS];
+    private final long[] _blackAdjacent = new long[BitBoard.WORDS];
+
+    private int _bestMove = -1;
+    private int _iterationBestMove = -1;
+    // Root moves ranked by the search, best first: _lines of them, from the last completed depth and the running one
+    private int _lines = 1;
+    private final int[] _lineMoves = new int[MAX_LINES];
+    private final int[] _lineScores = new int[MAX_LINES];
+    private int _lineCount;
+    private final int[] _iterationLineMoves = new int[MAX_LINES];
+    private final int[] _iterationLineScores = new int[MAX_LINES];
+    private int _iterationLineCount;
+    private int _researches;
+    private long _nodes;
+    private long _quiescenceNodes;
+    // Counted here rather than by the table, whose counters are shared between the threads
+    private long _evaluations;
+    private long _tableProbes;
+    private long _tableHits;
+    // Time budget per move in milliseconds, 0 for a fixed depth search
+    private long _timeBudget;
+    private long _deadline;
+    private boolean _aborted;
+    // Read by other threads while the search runs, like a ponderer telling whether its answer is ready
+    private volatile int _completedDepth;
+
+    /**
+     * Constructs an engine that searches the given board to the default depth.
+     *
+     * @param board The game board.
+     */
+    public AlphaBetaEngine(Board board) {
+        this(board, DEFAULT_DEPTH);
+    }
+
+    /**
+     * Constructs an engine that searches the given board to the given depth.
+     *
+     * @param board The game board.
+     * @param depth The number of plies to look ahead.
+     */
+    public AlphaBetaEngine(Board board, int depth) {
+        this(board, depth, new TranspositionTable());
+    }
+
+    /**
+     * Constructs an engine that searches the given board to the given depth with a table it shares,
+     * for searches working for another engine, like the pondering.
+     *
+     * @param board The game board.
+     * @param depth The number of plies to look ahead.
+     * @param table The transposition table to search with.
+     */
+    public AlphaBetaEngine(Board board, int depth, TranspositionTable table) {
+        _board = board;
+        _table = table;
+        SetDepth(depth);
+    }
+
+    /**
+     * Sets the number of plies to look ahead.
+     *
+     * @param depth The search depth, between 1 and MAX_DEPTH.
+     * @return True if the depth is valid and set, false otherwise.
+     */
+    public boolean SetDepth(int depth) {
+        if (depth < 1 || depth > MAX_DEPTH) {
+            return false;
+        }
+        _depth = depth;
+        return true;
+    }
+
+    public int GetDepth() {
+        return _depth;
+    }
+
+    /**
+     * Sets the transposition table used by the search, for example one sized for the device.
+     *
+     * @param table The transposition table.
+     * @return True if the table is set, false otherwise.
+     */
+    public boolean SetTranspositionTable(TranspositionTable table) {
+        if (table == null) {
+            return false;
+        }
+        _table = table;
+        return true;
+    }
+
+    public TranspositionTable GetTranspositionTable() {
+        return _table;
+    }
+
+    public MoveOrdering GetMoveOrdering() {
+        return _ordering;
+    }
+
+    /**
+     * Forgets the positions and the move ordering statistics of the previous game.
+     */
+    @Override
+    public void NewGame() {
+        _table.Clear();
+        _ordering.Reset();
+        for (AlphaBetaEngine helper : _helpers) {
+            helper._ordering.Reset();
+        }
+    }
+
+    /**
+     * Sets the number of threads searching each move, the calling thread included.
+     *
+     * @param threads The thread count, between 1 and MAX_THREADS.
+     * @return True if the count is valid and set, false otherwise.
+     */
+    public boolean SetThreadCount(int threads) {
+        if (threads < 1 || threads > MAX_THREADS) {
+            return false;
+        }
+        if (threads != _threadCount && _helperPool != null) {
+            _helperPool.shutdown();
+            _helperPool = null;
+        }
+        _threadCount = threads;
+        return true;
+    }
+
+    public int GetThreadCount() {
+        return _threadCount;
+    }
+
+    /**
+     * Sets the time allowed for each move. The search then deepens iteratively up to the depth,
+     * and stops as soon as the time is up.
+     *
+     * @param milliseconds The time budget per move, or 0 to always search the full depth.
+     * @return True if the budget is valid and set, false otherwise.
+     */
+    @Override
+    public boolean SetTimeBudget(long milliseconds) {
+        if (milliseconds < 0) {
+            return false;
+        }
+        _timeBudget = milliseconds;
+        return true;
+    }
+
+    public long GetTimeBudget() {
+        return _timeBudget;
+    }
+
+    /**
+     * Gets the deepest search completed during the last move.
+     *
+     * @return The completed depth.
+     */
+    public int GetCompletedDepth() {
+        return _completedDepth;
+    }
+
+    /**
+     * Gets the number of positions visited by the quiescence search of the calling thread during the last search.
+     *
+     * @return The number of quiescence nodes, included in GetNodes.
+     */
+    public long GetQuiescenceNodes() {
+        return _quiescenceNodes;
+    }
+
+    /**
+     * Gets the number of times the last search had to search a depth again because the score fell outside its aspiration window.
+     *
+     * @return The number of searches repeated with a wider window.
+     */
+    public int GetResearches() {
+        return _researches;
+    }
+
+    /**
+     * Gets the number of positions visited by the last search, by every thread.
+     *
+     * @return The number of nodes.
+     */
+    public long GetNodes() {
+        return _nodes + _helperNodes;
+    }
+
+    /**
+     * Gets the number of positions evaluated by the last search, by every thread.
+     *
+     * @return The number of evaluations.
+     */
+    public long GetEvaluations() {
+        return _evaluations + _helperEvaluations;
+    }
+
+    /**
+     * Gets the number of transposition table lookups of the last search, by every thread.
+     *
+     * @return The number of probes.
+     */
+    public long GetTableProbes() {
+        return _tableProbes + _helperTableProbes;
+    }
+
+    /**
+     * Gets the number of transposition table lookups of the last search that found the position, by every thread.
+     *
+     * @return The number of hits.
+     */
+    public long GetTableHits() {
+        return _tableHits + _helperTableHits;
+    }
+
+    @Override
+    public void CollectStats(SearchStats stats) {
+        stats.AddSearch(GetNodes(), GetEvaluations(), GetTableProbes(), GetTableHits(), _completedDepth);
+    }
+
+    @Override
+    public String GetName() {
+        return "alpha-beta search to depth " + _depth;
+    }
+
+    /**
+     * Stops the running search from another thread: BestMove then answers with the best move of the last completed depth.
+     * If no search is running, the next one stops right away, so a search started on another thread can be stopped
+     * before it gets going.
+     */
+    public void Stop() {
+        _stopped = true;
+    }
+
+    @Override
+    public int[] BestMove(char colour) {
+        ResetCounters();
+        _helperNodes = 0;
+        _helperEvaluations = 0;
+        _helperTableProbes = 0;
+        _helperTableHits = 0;
+        _deadline = (_timeBudget > 0) ? System.nanoTime() + _timeBudget * 1000000L : 0;
+
+        if (_threadCount > 1 && _helperPool == null) {
+            StartHelperPool();
+        }
+        for (int i = 0; i < _helpers.length; i++) {
+            _helperSearches[i] = StartHelper(colour, i + 1);
+        }
+        // without a budget only the full depth is searched
+        Deepen(colour, (_timeBudget > 0) ? 1 : _depth);
+        _stopped = true;
+        for (int i = 0; i < _helpers.length; i++) {
+            try {
+                _helperSearches[i].get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                Log.d("TAG", "Search helper " + (i + 1) + " failed: " + e.getCause());
+            }
+            _helperSearches[i] = null;
+            _helperNodes += _helpers[i]._nodes;
+            _helperEvaluations += _helpers[i]._evaluations;
+            _helperTableProbes += _helpers[i]._tableProbes;
+            _helperTableHits += _helpers[i]._tableHits;
+        }
+        _stopped = false;
+
+        if (_bestMove == -1) {
+            // not even one ply fitted in the budget, fall back to the best ordered move
+            _bestMove = (GenerateMoves(colour, 0, -1) > 0) ? _moves[0][0] : -1;
+        }
+        return (_bestMove == -1) ? new int[]{-1, -1} : new int[]{_bestMove / Board.BOARD_SIZE, _bestMove % Board.BOARD_SIZE};
+    }
+
+    /**
+     * Ranks the best root moves with one search. Only the first moves are searched with a full window;
+     * every other move is tested with a null window against the score of the last ranked move
+     * and searched again only if it beats it, so that ranking several moves costs little more than finding the best.
+     *
+     * @param colour The colour to move.
+     * @param lines  The number of moves to rank, between 1 and MAX_LINES.
+     * @return The lines of the last completed depth, best first, or an empty array if no depth was completed.
+     */
+    public PrincipalVariation[] Analyse(char colour, int lines) {
+        _lines = Math.max(1, Math.min(lines, MAX_LINES));
+        try {
+            BestMove(colour);
+        } finally {
+            _lines = 1;
+        }
+        PrincipalVariation[] analysis = new PrincipalVariation[_lineCount];
+        for (int i = 0; i < _lineCount; i++) {
+            analysis[i] = new PrincipalVariation(ReadLine(_lineMoves[i], colour), _lineScores[i], _completedDepth);
+        }
+        return analysis;
+    }
+
+    /**
+     * Reads the moves expected after a root move from the best moves stored in the transposition table.
+     *
+     * @param move   The index of the root move.
+     * @param colour The colour playing it.
+     * @return The indexes of the moves, the root move first, at most the completed depth long.
+     */
+    private int[] ReadLine(int move, char colour) {
+        int[] line = new int[Math.max(1, _completedDepth)];
+        int length = 0;
+        line[length++] = move;
+        boolean over = MakeMove(move, colour);
+        for (char side = GetOppositeColour(colour); !over && length < line.length; side = GetOppositeColour(side)) {
+            long entry = _table.Probe(_board.GetHash());
+            int next = (entry == TranspositionTable.MISS) ? -1 : TranspositionTable.GetMove(entry);
+            if (next < 0 || next >= BitBoard.CELLS || !_board.isPositionEmpty(next / Board.BOARD_SIZE, next % Board.BOARD_SIZE)) {
+                break;
+            }
+            line[length++] = next;
+            over = MakeMove(next, side);
+        }
+        for (int i = 0; i < length; i++) {
+            _board.UnmakeMove();
+        }
+        int[] moves = new int[length];
+        System.arraycopy(line, 0, moves, 0, length);
+        return moves;
+    }
+
+    /**
+     * Deepens the search one ply at a time from the given depth, keeping the best move of the last completed depth.
+     *
+     * @param colour     The colour to move.
+     * @param firstDepth The depth of the first iteration.
+     */
+    private void Deepen(char colour, int firstDepth) {
+        _completedDepth = 0;
+        _bestMove = -1;
+        _lineCount = 0;
+        for (int depth = firstDepth; depth <= _depth; depth++) {
+            // expect the best score and the score of the last ranked move to stay near the previous depth's
+            int alpha = -INFINITY;
+            int beta = INFINITY;
+            if (_lineCount > 0) {
+                alpha = Math.max(-INFINITY, _lineScores[_lineCount - 1] - ASPIRATION_WINDOW);
+                beta = Math.min(INFINITY, _lineScores[0] + ASPIRATION_WINDOW);
+            }
+            int score = SearchRoot(depth, alpha, beta, colour);
+            while (!_aborted && _iterationLineCount > 0) {
+                // outside the window the scores are only bounds, so open that side and search again
+                if (alpha > -INFINITY && _iterationLineScores[_iterationLineCount - 1] <= alpha) {
+                    alpha = -INFINITY;
+                } else if (beta < INFINITY && score >= beta) {
+                    beta = INFINITY;
+                } else {
+                    break;
+                }
+                _researches++;
+                score = SearchRoot(depth, alpha, beta, colour);
+            }
+            if (_aborted || _iterationLineCount == 0) {
+                break;
+            }
+            _bestMove = _iterationBestMove;
+            _lineCount = _iterationLineCount;
+            System.arraycopy(_iterationLineMoves, 0, _lineMoves, 0, _lineCount);
+            System.arraycopy(_iterationLineScores, 0, _lineScores, 0, _lineCount);
+            _completedDepth = depth;
+            // a forced win or loss will not change with more depth
+            if (score >= WIN_THRESHOLD || score <= -WIN_THRESHOLD) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Searches the root moves, ranking the best _lines of them. A move is searched with a full window
+     * while fewer than _lines moves are ranked, and otherwise with a null window against the last ranked score,
+     * and again with a full window only if it beats it.
+     *
+     * @param depth  The depth of the search.
+     * @param alpha  The lower bound of the window.
+     * @param beta   The upper bound of the window.
+     * @param colour The colour to move.
+     * @return The score of the best move.
+     */
+    private int SearchRoot(int depth, int alpha, int beta, char colour) {
+        _iterationLineCount = 0;
+        int hashMove = -1;
+        long entry = ProbeTable();
+        if (entry != TranspositionTable.MISS) {
+            hashMove = TranspositionTable.GetMove(entry);
+        }
+        // the previous iteration's choice goes first, then the rest of its ranking
+        int moveCount = GenerateMoves(colour, 0, (_bestMove != -1) ? _bestMove : hashMove);
+        int[] moves = _moves[0];
+        for (int line = 1; line < _lineCount; line++) {
+            for (int i = line; i < moveCount; i++) {
+                if (moves[i] == _lineMoves[line]) {
+                    System.arraycopy(moves, line, moves, line + 1, i - line);
+                    moves[line] = _lineMoves[line];
+                    break;
+                }
+            }
+        }
+        if (moveCount == 0) {
+            return 0;
+        }
+        char opponent = GetOppositeColour(colour);
+        int best = -INFINITY;
+        int bestMove = -1;
+        for (int i = 0; i < moveCount; i++) {
+            int move = moves[i];
+            boolean ranking = _iterationLineCount < _lines;
+            int bound = ranking ? alpha : Math.max(alpha, _iterationLineScores[_lines - 1]);
+            int score;
+            boolean win = MakeMove(move, colour);
+            boolean capture = _board.GetLastMoveCaptures() > 0;
+            if (win) {
+                score = WIN_SCORE;
+            } else if (ranking) {
+                score = -Search(depth - 1, -beta, -bound, opponent, 1);
+            } else {
+                score = -Search(depth - 1, -bound - 1, -bound, opponent, 1);
+                if (score > bound && score < beta) {
+                    score = -Search(depth - 1, -beta, -bound, opponent, 1);
+                }
+            }
+            _board.UnmakeMove();
+            if (_aborted) {
+                return 0;
+            }
+
+            if (ranking || score > bound) {
+                AddLine(move, score);
+            }
+            if (score > best) {
+                best = score;
+                bestMove = move;
+                _iterationBestMove = move;
+            }
+            if (best >= beta) {
+                _ordering.RecordCutoff(move, colour, 0, depth, capture);
+                break;
+            }
+        }
+        int bound = (best <= alpha) ? TranspositionTable.UPPER_BOUND
+                : (best >= beta) ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT;
+        _table.Store(_board.GetHash(), depth, bound, ScoreToTable(best, 0), bestMove);
+        return best;
+    }
+
+    /**
+     * Inserts a root move in the ranking of the running depth, dropping the last one when it is full.
+     */
+    private void AddLine(int move, int score) {
+        int position = Math.min(_iterationLineCount, _lines - 1);
+        if (_iterationLineCount < _lines) {
+            _iterationLineCount++;
+        }
+        while (position > 0 && _iterationLineScores[position - 1] < score) {
+            _iterationLineMoves[position] = _iterationLineMoves[position - 1];
+            _iterationLineScores[position] = _iterationLineScores[position - 1];
+            position--;
+        }
+        _iterationLineMoves[position] = move;
+        _iterationLineScores[position] = score;
+    }
+
+    /**
+     * Resets the counters and the abort flag for a new search and ages the move ordering.
+     */
+    private void ResetCounters() {
+        _nodes = 0;
+        _quiescenceNodes = 0;
+        _evaluations = 0;
+        _tableProbes = 0;
+        _tableHits = 0;
+        _researches = 0;
+        _aborted = false;
+        _ordering.Age();
+    }
+
+    /**
+     * Makes the helpers, which share the transposition table of this engine, and the daemon threads that run them.
+     * Idle threads end after HELPER_KEEP_ALIVE_SECONDS, so an engine that is dropped does not keep them.
+     */
+    private void StartHelperPool() {
+        int count = _threadCount - 1;
+        _helpers = new AlphaBetaEngine[count];
+        _helperSearches = new Future<?>[count];
+        for (int i = 0; i < count; i++) {
+            _helpers[i] = new AlphaBetaEngine(new Board(_board), _depth, _table);
+            _helpers[i]._master = this;
+        }
+        _helperPool = new ThreadPoolExecutor(count, count, HELPER_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+                    private int _created;
+
+                    @Override
+                    public Thread newThread(Runnable runnable) {
+                        Thread thread = new Thread(runnable, "search-helper-" + (++_created));
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+        _helperPool.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Starts a helper searching its copy of the board, brought up to date, with the shared table.
+     * The helpers start one or two plies deeper than the calling thread, alternately, so that the first depths
+     * are not all searched twice.
+     *
+     * @param colour The colour to move.
+     * @param number The number of the helper, from 1.
+     * @return The running search of the helper.
+     */
+    private Future<?> StartHelper(final char colour, int number) {
+        final AlphaBetaEngine helper = _helpers[number - 1];
+        helper._board.CopyFrom(_board);
+        helper._table = _table;
+        helper._depth = _depth;
+        helper._deadline = _deadline;
+        helper.ResetCounters();
+        final int firstDepth = Math.min(2 + number % 2, _depth);
+        return _helperPool.submit(new Runnable() {
+            @Override
+            public void run() {
+                helper.Deepen(colour, firstDepth);
+            }
+        });
+    }
+
+    /**
+     * Looks the position on the board up in the transposition table, counting the probe for the statistics.
+     *
+     * @return The entry, or TranspositionTable.MISS.
+     */
+    private long ProbeTable() {
+        _tableProbes++;
+        long entry = _table.Probe(_board.GetHash());
+        if (entry != TranspositionTable.MISS) {
+            _tableHits++;
+        }
+        return entry;
+    }
+
+    /**
+     * Principal variation search below the root: the first move gets the full window and the others a null window,
+     * searched again with the full window when they turn out better than the best so far.
+     *
+     * @param depth  The remaining depth.
+     * @param alpha  The lower bound of the window.
+     * @param beta   The upper bound of the window.
+     * @param colour The colour to move.
+     * @param ply    The distance from the root.
+     * @return The score of the position for the colour to move.
+     */
+    private int Search(int depth, int alpha, int beta, char colour, int ply) {
+        if (++_nodes % CLOCK_CHECK_INTERVAL == 0
+                && ((_deadline != 0 && System.nanoTime() > _deadline) || _stopped || (_master != null && _master._stopped))) {
+            _aborted = true;
+        }
+        if (_aborted) {
+            return 0;
+        }
+        if (depth == 0) {
+            return Quiesce(alpha, beta, colour, ply, 0);
+        }
+        // look the position up, and take its score if it was searched deep enough
+        int originalAlpha = alpha;
+        int hashMove = -1;
+        long entry = ProbeTable();
+        if (entry != TranspositionTable.MISS) {
+            hashMove = TranspositionTable.GetMove(entry);
+            if (TranspositionTable.GetDepth(entry) >= depth) {
+                int storedScore = ScoreFromTable(TranspositionTable.GetScore(entry), ply);
+                int bound = TranspositionTable.GetBound(entry);
+                if (bound == TranspositionTable.EXACT) {
+                    return storedScore;
+                }
+                if (bound == TranspositionTable.LOWER_BOUND && storedScore > alpha) {
+                    alpha = storedScore;
+                } else if (bound == TranspositionTable.UPPER_BOUND && storedScore < beta) {
+                    beta = storedScore;
+                }
+                if (alpha >= beta) {
+                    return storedScore;
+                }
+            }
+        }
+
+        int moveCount = GenerateMoves(colour, ply, hashMove);
+        if (moveCount == 0) {
+            return 0;
+        }
+        int best = -INFINITY;
+        int bestMove = -1;
+        for (int i = 0; i < moveCount; i++) {
+            int move = _moves[ply][i];
+            int score;
+            boolean win = MakeMove(move, colour);
+            boolean capture = _board.GetLastMoveCaptures() > 0;
+            if (win) {
+                score = WIN_SCORE - ply;
+            } else if (i == 0) {
+                score = -Search(depth - 1, -beta, -alpha, GetOppositeColour(colour), ply + 1);
+            } else {
+                score = -Search(depth - 1, -alpha - 1, -alpha, GetOppositeColour(colour), ply + 1);
+                if (score > alpha && score < beta) {
+                    score = -Search(depth - 1, -beta, -alpha, GetOppositeColour(colour), ply + 1);
+                }
+            }
+            _board.UnmakeMove();
+            if (_aborted) {
+                return 0;
+            }
+
+            if (score > best) {
+                best = score;
+                bestMove = move;
+            }
+            if (score > alpha) {
+                alpha = score;
+            }
+            if (alpha >= beta) {
+                _ordering.RecordCutoff(move, colour, ply, depth, capture);
+                break;
+            }
+        }
+        int bound = (best <= originalAlpha) ? TranspositionTable.UPPER_BOUND
+                : (best >= beta) ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT;
+        _table.Store(_board.GetHash(), depth, bound, ScoreToTable(best, ply), bestMove);
+        return best;
+    }
+
+    /**
+     * Searches the captures, and the answers to a five threat, until the position is quiet, so that the evaluation
+     * is not taken while a pair is about to go. Unless a five is threatened the side to move may also stand pat
+     * on the static evaluation. The search stops MAX_QUIESCENCE_PLY plies below the depth.
+     *
+     * @param alpha          The lower bound of the window.
+     * @param beta           The upper bound of the window.
+     * @param colour         The colour to move.
+     * @param ply            The distance from the root.
+     * @param quiescencePly  The distance from the depth of the main search.
+     * @return The score of the position for the colour to move.
+     */
+    private int Quiesce(int alpha, int beta, char colour, int ply, int quiescencePly) {
+        _quiescenceNodes++;
+        if (quiescencePly > 0 && ++_nodes % CLOCK_CHECK_INTERVAL == 0
+                && ((_deadline != 0 && System.nanoTime() > _deadline) || _stopped || (_master != null && _master._stopped))) {
+            _aborted = true;
+        }
+        if (_aborted) {
+            return 0;
+        }
+        _evaluations++;
+        int standPat = Evaluate(colour);
+        if (standPat >= WIN_THRESHOLD - 1 || quiescencePly == MAX_QUIESCENCE_PLY) {
+            return standPat;
+        }
+        int moveCount = GenerateTacticalMoves(colour, ply);
+        int best;
+        // a threatened five must be answered, so standing pat is only allowed when there is none
+        if (_fiveThreatened) {
+            // the opponent completes the five if no answer works
+            best = -(WIN_SCORE - ply - 1);
+        } else {
+            if (standPat >= beta) {
+                return standPat;
+            }
+            best = standPat;
+            if (standPat > alpha) {
+                alpha = standPat;
+            }
+        }
+        for (int i = 0; i < moveCount; i++) {
+            int move = _moves[ply][i];
+            int score;
+            if (MakeMove(move, colour)) {
+                score = WIN_SCORE - ply;
+            } else {
+                score = -Quiesce(-beta, -alpha, GetOppositeColour(colour), ply + 1, quiescencePly + 1);
+            }
+            _board.UnmakeMove();
+            if (_aborted) {
+                return 0;
+            }
+            if (score > best) {
+                best = score;
+            }
+            if (score > alpha) {
+                alpha = score;
+            }
+            if (alpha >= beta) {
+                break;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Generates the moves of the quiescence search: every capture, and when the opponent threatens a five,
+     * every position blocking it, ordered by the pairs they capture with the blocks first.
+     * The captures come from the capture geometry of the board and the pattern table, so nothing is allocated.
+     *
+     * @param colour The colour to move.
+     * @param ply    The distance from the root.
+     * @return The number of moves generated. _fiveThreatened tells if the opponent threatens a five.
+     */
+    private int GenerateTacticalMoves(char colour, int ply) {
+        int[] moves = _moves[ply];
+        int[] scores = _moveScores[ply];
+        char opponent = GetOppositeColour(colour);
+        int count = 0;
+        _fiveThreatened = false;
+        // positions where the opponent would complete a five
+        _board.GetAdjacentMoves(opponent, _tactical);
+        for (int index = BitBoard.NextSetBit(_tactical, 0); index >= 0; index = BitBoard.NextSetBit(_tactical, index + 1)) {
+            for (int axis = 0; axis < 4; axis++) {
+                if (PatternTable.ThreatClass(PatternTable.Get(_board.GetWindow(index, axis), opponent)) == PatternTable.FIVE) {
+                    _fiveThreatened = true;
+                    count = AddTacticalMove(moves, scores, count, index, BLOCK_SCORE + CountCaptures(index, colour));
+                    break;
+                }
+            }
+        }
+        _board.GetCaptureMoves(colour, _tactical);
+        for (int index = BitBoard.NextSetBit(_tactical, 0); index >= 0; index = BitBoard.NextSetBit(_tactical, index + 1)) {
+            int captures = CountCaptures(index, colour);
+            if (captures > 0 && !IsListed(moves, count, index)) {
+                count = AddTacticalMove(moves, scores, count, index, captures);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Inserts a move in a move list kept best first.
+     *
+     * @return The new size of the list.
+     */
+    private static int AddTacticalMove(int[] moves, int[] scores, int count, int move, int score) {
+        int position = count;
+        while (position > 0 && scores[position - 1] < score) {
+            moves[position] = moves[position - 1];
+            scores[position] = scores[position - 1];
+            position--;
+        }
+        moves[position] = move;
+        scores[position] = score;
+        return count + 1;
+    }
+
+    private static boolean IsListed(int[] moves, int count, int move) {
+        for (int i = 0; i < count; i++) {
+            if (moves[i] == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Wins are stored as distances from the stored position rather than from the root,
+     * so that they stay correct when the position is reached at another ply.
+     */
+    private static int ScoreToTable(int score, int ply) {
+        if (score >= WIN_THRESHOLD) {
+            return score + ply;
+        }
+        if (score <= -WIN_THRESHOLD) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    private static int ScoreFromTable(int score, int ply) {
+        if (score >= WIN_THRESHOLD) {
+            return score - ply;
+        }
+        if (score <= -WIN_THRESHOLD) {
+            return score + ply;
+        }
+        return score;
+    }
+
+    /**
+     * Plays a move on the board, removing any captured pairs.
+     *
+     * @param move   The index of the position.
+     * @param colour The colour of the piece.
+     * @return True if the move wins the game, false otherwise.
+     */
+    private boolean MakeMove(int move, char colour) {
+        _board.MakeMove(move / Board.BOARD_SIZE, move % Board.BOARD_SIZE, colour);
+        return _board.GetLastMovePoints() >= 5 || _board.GetCapturePoints(colour) >= CAPTURES_TO_WIN;
+    }
+
+    /**
+     * Generates the candidate moves of the board, in the order given by the MoveOrdering.
+     *
+     * @param colour   The colour to move.
+     * @param ply      The distance from the root.
+     * @param hashMove The move to search first, or -1.
+     * @return The number of moves generated.
+     */
+    private int GenerateMoves(char colour, int ply, int hashMove) {
+        long[] candidates = _board.GetCandidateMoves();
+        int[] moves = _moves[ply];
+        int[] scores = _moveScores[ply];
+        char opponent = GetOppositeColour(colour);
+        if (BitBoard.IsEmpty(candidates)) {
+            // nothing is placed yet, so the only sensible move is the center
+            moves[0] = BitBoard.Index(Board.CENTER_BOARD, Board.CENTER_BOARD);
+            return _board.isPositionEmpty(Board.CENTER_BOARD, Board.CENTER_BOARD) ? 1 : 0;
+        }
+        int count = 0;
+        for (int index = BitBoard.NextSetBit(candidates, 0); index >= 0; index = BitBoard.NextSetBit(candidates, index + 1)) {
+            int row = index / Board.BOARD_SIZE;
+            int column = index % Board.BOARD_SIZE;
+            int captures = CountCaptures(index, colour);
+            int staticScore = 4 * _board.CalculatePoint(row, column, colour) + 3 * _board.CalculatePoint(row, column, opponent)
+                    + 2 * captures + CountCaptures(index, opponent);
+            int score = _ordering.Rank(index, colour, ply, hashMove, captures, Math.min(staticScore, MAX_STATIC_SCORE));
+            // insertion sort, best first
+            int position = count++;
+            while (position > 0 && scores[position - 1] < score) {
+                moves[position] = moves[position - 1];
+                scores[position] = scores[position - 1];
+                position--;
+            }
+            moves[position] = index;
+            scores[position] = score;
+        }
+        return count;
+    }
+
+    /**
+     * Counts the pairs a piece of the given colour would capture at a position.
+     */
+    private int CountCaptures(int index, char colour) {
+        int captures = 0;
+        for (int axis = 0; axis < 4; axis++) {
+            captures += PatternTable.Captures(PatternTable.Get(_board.GetWindow(index, axis), colour));
+        }
+        return captures;
+    }
+
+    /**
+     * Evaluates the position from the point of view of the colour to move.
+     * Every empty position next to a piece is scored from the PatternTable patterns of its four axes.
+     *
+     * @param colour The colour to move.
+     * @return The score of the position.
+     */
+    private int Evaluate(char colour) {
+        char opponent = GetOppositeColour(colour);
+        int ownCaptures = _board.GetCapturePoints(colour);
+        int score = CAPTURE_VALUE[Math.min(ownCaptures, CAPTURES_TO_WIN)]
+                - CAPTURE_VALUE[Math.min(_board.GetCapturePoints(opponent), CAPTURES_TO_WIN)];
+
+        // only positions right next to a piece can extend a row or capture
+        _board.GetAdjacentMoves(Board.WHITE_PIECE, _adjacent);
+        _board.GetAdjacentMoves(Board.BLACK_PIECE, _blackAdjacent);
+        BitBoard.Or(_adjacent, _blackAdjacent, _adjacent);
+        for (int index = BitBoard.NextSetBit(_adjacent, 0); index >= 0; index = BitBoard.NextSetBit(_adjacent, index + 1)) {
+            int captures = 0;
+            for (int axis = 0; axis < 4; axis++) {
+                int window = _board.GetWindow(index, axis);
+                int own = PatternTable.Get(window, colour);
+                // the side to move gets to complete a five first
+                if (PatternTable.ThreatClass(own) == PatternTable.FIVE) {
+                    return WIN_THRESHOLD - 1;
+                }
+                captures += PatternTable.Captures(own);
+                score += PatternTable.Value(own) - PatternTable.Value(PatternTable.Get(window, opponent));
+            }
+            if (ownCaptures + captures >= CAPTURES_TO_WIN) {
+                return WIN_THRESHOLD - 1;
+            }
+        }
+        return score;
+    }
+}
@@ -0,0 +1,241 @@
+package com.example.pente.Model;
+
+/**
+ * The BitBoard class holds the packed representation helpers used by the Board.
+ * Every colour is stored as one bitset of 361 bits (index = row * 19 + column) spread over six longs,
+ * so that whole lines can be shifted and combined with a handful of word-wide operations.
+ */
+public final class BitBoard {
+
+    public static final int SIZE = 19;
+    public static final int CELLS = SIZE * SIZE;
+    public static final int WORDS = (CELLS + 63) / 64;
+
+    // Axis codes, matching the direction codes used by the Strategy
+    public static final int HORIZONTAL = 0;
+    public static final int VERTICAL = 1;
+    public static final int RIGHT_DIAGONAL = 2;
+    public static final int LEFT_DIAGONAL = 3;
+    public static final int[][] AXIS_CODE = {{0, 1}, {1, 0}, {-1, 1}, {1, 1}};
+
+    // Longest shift (in cells) supported by the precomputed shift masks
+    public static final int MAX_SHIFT = 4;
+
+    /**
+     * Precomputed line masks. Right diagonals are indexed by row + column and
+     * left diagonals by row - column + 18.
+     */
+    public static final long[][] ROW_MASK = new long[SIZE][WORDS];
+    public static final long[][] COLUMN_MASK = new long[SIZE][WORDS];
+    public static final long[][] RIGHT_DIAGONAL_MASK = new long[2 * SIZE - 1][WORDS];
+    public static final long[][] LEFT_DIAGONAL_MASK = new long[2 * SIZE - 1][WORDS];
+    public static final long[] FULL_MASK = new long[WORDS];
+
+    // SHIFT_MASK[axis][k + MAX_SHIFT] keeps the cells whose k-th neighbour along the axis is on the board
+    private static final long[][][] SHIFT_MASK = new long[4][2 * MAX_SHIFT + 1][];
+
+    static {
+        for (int row = 0; row < SIZE; row++) {
+            for (int column = 0; column < SIZE; column++) {
+                int index = Index(row, column);
+                Set(FULL_MASK, index);
+                Set(ROW_MASK[row], index);
+                Set(COLUMN_MASK[column], index);
+                Set(RIGHT_DIAGONAL_MASK[row + column], index);
+                Set(LEFT_DIAGONAL_MASK[row - column + SIZE - 1], index);
+            }
+        }
+        // build the shift masks out of the row and column masks
+        for (int axis = 0; axis < 4; axis++) {
+            for (int k = -MAX_SHIFT; k <= MAX_SHIFT; k++) {
+                long[] mask = new long[WORDS];
+                for (int row = 0; row < SIZE; row++) {
+                    int newRow = row + k * AXIS_CODE[axis][0];
+                    if (newRow < 0 || newRow >= SIZE) {
+                        continue;
+                    }
+                    Or(mask, ROW_MASK[row], mask);
+                }
+                long[] columns = new long[WORDS];
+                for (int column = 0; column < SIZE; column++) {
+                    int newColumn = column + k * AXIS_CODE[axis][1];
+                    if (newColumn < 0 || newColumn >= SIZE) {
+                        continue;
+                    }
+                    Or(columns, COLUMN_MASK[column], columns);
+                }
+                And(mask, columns, mask);
+                SHIFT_MASK[axis][k + MAX_SHIFT] = mask;
+            }
+        }
+    }
+
+    private BitBoard() {
+    }
+
+    /**
+     * Converts a row and column to the bit index.
+     *
+     * @param row    The row index.
+     * @param column The column index.
+     * @return The index of the intersection.
+     */
+    public static int Index(int row, int column) {
+        return row * SIZE + column;
+    }
+
+    /**
+     * Gets the line mask for the line going through a position along an axis.
+     *
+     * @param axis   The axis code.
+     * @param row    The row index.
+     * @param column The column index.
+     * @return The mask of every intersection on that line.
+     */
+    public static long[] LineMask(int axis, int row, int column) {
+        switch (axis) {
+            case HORIZONTAL:
+                return ROW_MASK[row];
+            case VERTICAL:
+                return COLUMN_MASK[column];
+            case RIGHT_DIAGONAL:
+                return RIGHT_DIAGONAL_MASK[row + column];
+            default:
+                return LEFT_DIAGONAL_MASK[row - column + SIZE - 1];
+        }
+    }
+
+    public static boolean Get(long[] bits, int index) {
+        return ((bits[index >>> 6] >>> (index & 63)) & 1L) != 0;
+    }
+
+    public static void Set(long[] bits, int index) {
+        bits[index >>> 6] |= 1L << (index & 63);
+    }
+
+    public static void Clear(long[] bits, int index) {
+        bits[index >>> 6] &= ~(1L << (index & 63));
+    }
+
+    public static void Clear(long[] bits) {
+        for (int word = 0; word < WORDS; word++) {
+            bits[word] = 0;
+        }
+    }
+
+    public static void Copy(long[] source, long[] destination) {
+        System.arraycopy(source, 0, destination, 0, WORDS);
+    }
+
+    public static void And(long[] a, long[] b, long[] destination) {
+        for (int word = 0; word < WORDS; word++) {
+            destination[word] = a[word] & b[word];
+        }
+    }
+
+    public static void Or(long[] a, long[] b, long[] destination) {
+        for (int word = 0; word < WORDS; word++) {
+            destination[word] = a[word] | b[word];
+        }
+    }
+
+    /**
+     * Stores every on-board intersection that is in neither of the two sets.
+     */
+    public static void Empty(long[] a, long[] b, long[] destination) {
+        for (int word = 0; word < WORDS; word++) {
+            destination[word] = ~(a[word] | b[word]) & FULL_MASK[word];
+        }
+    }
+
+    public static boolean IsEmpty(long[] bits) {
+        for (int word = 0; word < WORDS; word++) {
+            if (bits[word] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static int Count(long[] bits) {
+        int total = 0;
+        for (int word = 0; word < WORDS; word++) {
+            total += Long.bitCount(bits[word]);
+        }
+        return total;
+    }
+
+    /**
+     * Returns the index of the first set bit at or after the given index, or -1 if there is none.
+     * Iterating with this walks the set in row major order.
+     */
+    public static int NextSetBit(long[] bits, int from) {
+        int word = from >>> 6;
+        if (word >= WORDS) {
+            return -1;
+        }
+        long current = bits[word] & (-1L << (from & 63));
+        while (true) {
+            if (current != 0) {
+                return (word << 6) + Long.numberOfTrailingZeros(current);
+            }
+            if (++word == WORDS) {
+                return -1;
+            }
+            current = bits[word];
+        }
+    }
+
+    /**
+     * Returns the index of the n-th set bit in row major order, counting from 0, or -1 if the set has fewer bits.
+     * Together with Count it picks a uniformly random member of a set.
+     */
+    public static int NthSetBit(long[] bits, int n) {
+        for (int word = 0; word < WORDS; word++) {
+            long current = bits[word];
+            int count = Long.bitCount(current);
+            if (n >= count) {
+                n -= count;
+                continue;
+            }
+            for (; n > 0; n--) {
+                current &= current - 1;
+            }
+            return (word << 6) + Long.numberOfTrailingZeros(current);
+        }
+        return -1;
+    }
+
+    /**
+     * Shifts a whole set along an axis so that destination[p] = source[p + k * step].
+     * Positions whose k-th neighbour is off the board are cleared, so lines never wrap around.
+     *
+     * @param source      The set to shift.
+     * @param axis        The axis code.
+     * @param k           The number of steps along the axis, between -4 and 4.
+     * @param destination The array receiving the shifted set (must differ from the source).
+     */
+    public static void Shift(long[] source, int axis, int k, long[] destination) {
+        int offset = k * (AXIS_CODE[axis][0] * SIZE + AXIS_CODE[axis][1]);
+        long[] mask = SHIFT_MASK[axis][k + MAX_SHIFT];
+        if (offset >= 0) {
+            int wordShift = offset >>> 6;
+            int bitShift = offset & 63;
+            for (int word = 0; word < WORDS; word++) {
+                long low = (word + wordShift < WORDS) ? source[word + wordShift] : 0;
+                long high = (word + wordShift + 1 < WORDS) ? source[word + wordShift + 1] : 0;
+                long value = (bitShift == 0) ? low : (low >>> bitShift) | (high << (64 - bitShift));
+                destination[word] = value & mask[word];
+            }
+        } else {
+            int wordShift = (-offset) >>> 6;
+            int bitShift = (-offset) & 63;
+            for (int word = 0; word < WORDS; word++) {
+                long high = (word - wordShift >= 0) ? source[word - wordShift] : 0;
+                long low = (word - wordShift - 1 >= 0) ? source[word - wordShift - 1] : 0;
+                long value = (bitShift == 0) ? high : (high << bitShift) | (low >>> (64 - bitShift));
+                destination[word] = value & mask[word];
+            }
+        }
+    }
+}
@@ -0,0 +1,838 @@
+package com.example.pente.Model;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * The Board class represents the game board in the Pente game.
+ * It includes methods for initializing, modifying, and querying the state of the game board.
+ */
+public class Board implements Serializable {
+
+    public static int BOARD_SIZE = 19;
+    public static final char WHITE_PIECE = 'W';
+    public static final char BLACK_PIECE = 'B';
+    public static final char INITIAL_BOARD_PIECE = 'O';
+    public static final int CENTER_BOARD = 9;
+    // Empty positions within this many intersections of a piece are candidate moves
+    public static final int CANDIDATE_RADIUS = 2;
+    // NEIGHBOURHOOD[index] lists the positions within CANDIDATE_RADIUS of index
+    private static final int[][] NEIGHBOURHOOD = new int[BitBoard.CELLS][];
+    /**
+     * The eight directions: 2 * axis follows the BitBoard axis code and 2 * axis + 1 goes the opposite way.
+     */
+    public static final int[][] DIRECTION_CODE = {{0, 1}, {0, -1}, {1, 0}, {-1, 0}, {-1, 1}, {1, -1}, {1, 1}, {-1, -1}};
+    // NEXT_POSITION[direction][index] is the neighbouring position in that direction, or -1 off the board
+    private static final int[][] NEXT_POSITION = new int[8][BitBoard.CELLS];
+    // WINDOW_POSITION[axis][index * 8 + cell] is the position of each cell of the PatternTable window, or -1 off the board
+    private static final int[][] WINDOW_POSITION = new int[4][BitBoard.CELLS * PatternTable.WINDOW_CELLS];
+
+    static {
+        for (int row = 0; row < 19; row++) {
+            for (int column = 0; column < 19; column++) {
+                int[] cells = new int[(2 * CANDIDATE_RADIUS + 1) * (2 * CANDIDATE_RADIUS + 1) - 1];
+                int count = 0;
+                for (int newRow = row - CANDIDATE_RADIUS; newRow <= row + CANDIDATE_RADIUS; newRow++) {
+                    for (int newColumn = column - CANDIDATE_RADIUS; newColumn <= column + CANDIDATE_RADIUS; newColumn++) {
+                        if (newRow < 0 || newRow >= 19 || newColumn < 0 || newColumn >= 19 || (newRow == row && newColumn == column)) {
+                            continue;
+                        }
+                        cells[count++] = BitBoard.Index(newRow, newColumn);
+                    }
+                }
+                NEIGHBOURHOOD[BitBoard.Index(row, column)] = Arrays.copyOf(cells, count);
+                for (int direction = 0; direction < 8; direction++) {
+                    int newRow = row + DIRECTION_CODE[direction][0];
+                    int newColumn = column + DIRECTION_CODE[direction][1];
+                    boolean onBoard = newRow >= 0 && newRow < 19 && newColumn >= 0 && newColumn < 19;
+                    NEXT_POSITION[direction][BitBoard.Index(row, column)] = onBoard ? BitBoard.Index(newRow, newColumn) : -1;
+                }
+                for (int axis = 0; axis < 4; axis++) {
+                    for (int cell = 0; cell < PatternTable.WINDOW_CELLS; cell++) {
+                        int newRow = row + PatternTable.Offset(cell) * BitBoard.AXIS_CODE[axis][0];
+                        int newColumn = column + PatternTable.Offset(cell) * BitBoard.AXIS_CODE[axis][1];
+                        boolean onBoard = newRow >= 0 && newRow < 19 && newColumn >= 0 && newColumn < 19;
+                        WINDOW_POSITION[axis][BitBoard.Index(row, column) * PatternTable.WINDOW_CELLS + cell] = onBoard ? BitBoard.Index(newRow, newColumn) : -1;
+                    }
+                }
+            }
+        }
+    }
+
+    // Compatibility view of the position, kept in step with the bitboards
+    private char[][] _board;
+    // Packed position, one bitset per colour
+    private final long[] _whitePieces = new long[BitBoard.WORDS];
+    private final long[] _blackPieces = new long[BitBoard.WORDS];
+    // Scratch sets for the word-wide queries
+    private final long[] _shiftedOwn = new long[BitBoard.WORDS];
+    private final long[] _shiftedOpponent = new long[BitBoard.WORDS];
+    private final long[] _accumulator = new long[BitBoard.WORDS];
+    // Zobrist key of the position, the side to move and the capture counts it folds in
+    private long _hash;
+    // _symmetryPieceKeys[symmetry] is the piece part of the key the position would have after being moved by the symmetry
+    private final long[] _symmetryPieceKeys = new long[Symmetry.COUNT];
+    private char _sideToMove = WHITE_PIECE;
+    private final int[] _captures = new int[2];
+    // Number of pieces near each position, and the empty positions with at least one
+    private final byte[] _neighbourCount = new byte[BitBoard.CELLS];
+    private final long[] _candidateMoves = new long[BitBoard.WORDS];
+    // _runs[colour][direction][index] is the number of pieces of the colour in a row starting next to index in that direction
+    private final byte[][][] _runs = new byte[2][8][BitBoard.CELLS];
+    // Undo stack of MakeMove, one entry per move: the position played, the pieces it captured,
+    // the points it scored and the side that was to move before it
+    public static final int MAX_UNDO = BitBoard.CELLS;
+    private static final int MAX_CAPTURED = 16;
+    private final int[] _undoMove = new int[MAX_UNDO];
+    private final int[] _undoCaptured = new int[MAX_UNDO * MAX_CAPTURED];
+    private final byte[] _undoCapturedCount = new byte[MAX_UNDO];
+    private final int[] _undoPoints = new int[MAX_UNDO];
+    private final char[] _undoSideToMove = new char[MAX_UNDO];
+    private int _undoSize;
+
+    /**
+     * Default constructor to initialize the game board with initial pieces.
+     */
+    public Board() {
+        _board = new char[19][19];
+        for (int row = 0; row < BOARD_SIZE; row++) {
+            for (int column = 0; column < BOARD_SIZE; column++) {
+                _board[row][column] = INITIAL_BOARD_PIECE;
+            }
+        }
+    }
+
+    /**
+     * Constructor to create a Board object with a given board configuration.
+     *
+     * @param board The initial state of the game board.
+     */
+    public Board(char[][] board) {
+        _board = new char[19][19];
+
+        for (int row = 0; row < board.length; row++) {
+            for (int column = 0; column < board[0].length; column++) {
+                _board[row][column] = board[row][column];
+            }
+        }
+        RebuildBitBoards();
+    }
+
+    /**
+     * Copy constructor: the copy holds the same position, side to move and capture counts,
+     * and can be searched by another thread without touching the original.
+     *
+     * @param board The board to copy.
+     */
+    public Board(Board board) {
+        _board = new char[19][19];
+        CopyFrom(board);
+    }
+
+    /**
+     * Sets this board to the position, side to move and capture counts of another one, reusing its own arrays.
+     * The move history of this board is dropped.
+     *
+     * @param board The board to copy.
+     */
+    public void CopyFrom(Board board) {
+        for (int row = 0; row < BOARD_SIZE; row++) {
+            System.arraycopy(board._board[row], 0, _board[row], 0, BOARD_SIZE);
+        }
+        _sideToMove = board._sideToMove;
+        _captures[0] = board._captures[0];
+        _captures[1] = board._captures[1];
+        RebuildBitBoards();
+    }
+
+    /**
+     * Sets the state of the board to the given board configuration.
+     *
+     * @param board The new state of the game board.
+     * @return True if the board is successfully set, false otherwise.
+     */
+    public boolean SetBoard(char[][] board) {
+        try {
+            _board = board;
+            RebuildBitBoards();
+            return true;
+        } catch (Exception e) {
+            Log.d("TAG", "SetBoard: Internal server error, failed to set board");
+            return false;
+        }
+    }
+
+    /**
+     * Gets the current state of the game board.
+     * The array is a read only view of the bitboards; use InsertPiece and RemovePiece to change it.
+     *
+     * @return The 2D array representing the game board.
+     */
+    public char[][] GetBoard() {
+        return _board;
+    }
+
+    /**
+     * Inserts a piece of the specified type at the given position on the board.
+     *
+     * @param row       The row index.
+     * @param column    The column index.
+     * @param pieceType The type of the piece to insert.
+     * @return True if the piece is successfully inserted, false otherwise.
+     */
+    public boolean InsertPiece(int row, int column, char pieceType) {
+        try {
+            if (row < 0 || row >= BOARD_SIZE) {
+                Log.d("TAG", "InsertPiece: The row is not within the board");
+                return false;
+            }
+            if (column < 0 || column >= BOARD_SIZE) {
+                Log.d("TAG", "InsertPiece: The column is not within the board");
+                return false;
+            }
+            if (!isPieceValid(pieceType)) {
+                Log.d("TAG", "InsertPiece: The piece is not of valid color");
+                return false;
+            }
+            if (!isPositionEmpty(row, column)) {
+                Log.d("TAG", "InsertPiece: The position is not empty");
+                return false;
+            }
+            int index = BitBoard.Index(row, column);
+            _board[row][column] = pieceType;
+            BitBoard.Set(GetPieces(pieceType), index);
+            TogglePieceKeys(pieceType, index);
+            AddToNeighbourhood(index);
+            UpdateRuns(index, pieceType, 1);
+            return true;
+        } catch (Exception e) {
+            System.err.println(e.getMessage());
+            System.out.println("Could not insert the piece");
+            return false;
+        }
+    }
+
+    /**
+     * Checks if a given position on the board is empty.
+     *
+     * @param row    The row index.
+     * @param column The column index.
+     * @return True if the position is empty, false otherwise.
+     */
+    public boolean isPositionEmpty(int row, int column) {
+        return _board[row][column] == INITIAL_BOARD_PIECE;
+    }
+
+    /**
+     * Checks if the given piece type is a valid color.
+     *
+     * @param input The piece type to check.
+     * @return True if the piece type is valid, false otherwise.
+     */
+    public boolean isPieceValid(char input) {
+        return input == WHITE_PIECE || input == BLACK_PIECE;
+    }
+
+    /**
+     * Checks if the position for the second piece is valid.
+     *
+     * @param row    The row index.
+     * @param column The column index.
+     * @return True if the position is valid, false otherwise.
+     */
+    public boolean IsSecondPieceValid(int row, int column) {
+        try {
+            if (!isPositionEmpty(row, column)) {
+                Log.d("TAG", "IsSecondPieceValid: The position is not empty");
+                return false;
+            }
+            if ((row >= 6) && (row <= 12) && (column >= 6) && (column <= 12)) {
+                Log.d("TAG", "IsSecondPieceValid: The piece must be kept three intersections away");
+                return false;
+            }
+            return true;
+        } catch (Exception e) {
+            System.err.println(e.getMessage());
+            System.out.println("Failed to validate the piece");
+            return false;
+        }
+    }
+
+    /**
+     * Removes a piece from the specified position on the board.
+     *
+     * @param row    The row index.
+     * @param column The column index.
+     * @return True if the piece is successfully removed, false otherwise.
+     */
+    public boolean RemovePiece(int row, int column) {
+        try {
+            if (isPositionEmpty(row, column)) {
+                Log.d("TAG", "RemovePiece: The position is empty, so no piece to remove");
+                return false;
+            }
+            int index = BitBoard.Index(row, column);
+            char pieceType = _board[row][column];
+            BitBoard.Clear(GetPieces(pieceType), index);
+            TogglePieceKeys(pieceType, index);
+            _board[row][column] = INITIAL_BOARD_PIECE;
+            RemoveFromNeighbourhood(index);
+            UpdateRuns(index, pieceType, 0);
+            return true;
+        } catch (Exception e) {
+            System.err.println(e.getMessage());
+            System.out.println("Failed to remove the piece");
+            return false;
+        }
+    }
+
+    /**
+     * Gets the opposite color of the given color.
+     *
+     * @param colour The color for which to get the opposite color.
+     * @return The opposite color.
+     */
+    public static char GetOppositeColour(char colour) {
+        return (colour == WHITE_PIECE) ? BLACK_PIECE : WHITE_PIECE;
+    }
+
+    /**
+     * Converts the row and column indices to the labelled format shown on the board, like J10 for the center.
+     *
+     * @param row    The row index.
+     * @param column The column index.
+     * @return The labelled row and column.
+     */
+    public static String ConvertToLabelledRowColumn(int row, int column) {
+        // Convert column to capital alphabet
+        char columnLabel = (char) ('A' + column);
+
+        // Append row number and column label to the result string
+        return String.format("%s%d", columnLabel, BOARD_SIZE - row);
+    }
+
+    /**
+     * Resets the game board to its initial state.
+     *
+     * @return True if the board is successfully reset, false otherwise.
+     */
+    public Boolean ResetBoard() {
+        try {
+            for (int row = 0; row < BOARD_SIZE; row++) {
+                for (int column = 0; column < BOARD_SIZE; column++) {
+                    _board[row][column] = INITIAL_BOARD_PIECE;
+                }
+            }
+            BitBoard.Clear(_whitePieces);
+            BitBoard.Clear(_blackPieces);
+            _sideToMove = WHITE_PIECE;
+            _captures[0] = 0;
+            _captures[1] = 0;
+            _hash = 0;
+            Arrays.fill(_symmetryPieceKeys, 0L);
+            _undoSize = 0;
+            Arrays.fill(_neighbourCount, (byte) 0);
+            BitBoard.Clear(_candidateMoves);
+            ClearRuns();
+            return true;
+        } catch (Exception e) {
+            Log.d("TAG", "ResetBoard: " + e);
+            return false;
+        }
+    }
+
+    /**
+     * Gets the total number of moves made by a specific color on the board.
+     *
+     * @param colour The color for which to count the moves.
+     * @return The total number of moves made by the specified color.
+     */
+    public int GetTotalMoveByColour(char colour) {
+        try {
+            return BitBoard.Count(GetPieces(colour));
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Gets the piece at the given position.
+     *
+     * @param row    The row index.
+     * @param column The column index.
+     * @return The piece, or INITIAL_BOARD_PIECE if the position is empty.
+     */
+    public char GetPiece(int row, int column) {
+        return _board[row][column];
+    }
+
+    /**
+     * Gets the bitset holding every piece of the given colour.
+     * The returned set is owned by the board and must not be modified.
+     *
+     * @param colour The colour of the pieces.
+     * @return The bitset of the pieces.
+     */
+    public long[] GetPieces(char colour) {
+        return (colour == WHITE_PIECE) ? _whitePieces : _blackPieces;
+    }
+
+    /**
+     * Checks if the given colour has five or more pieces in a row anywhere on the board.
+     *
+     * @param colour The colour to check.
+     * @return True if there is a five in a row, false otherwise.
+     */
+    public boolean HasFiveInRow(char colour) {
+        long[] pieces = GetPieces(colour);
+        for (int axis = 0; axis < 4; axis++) {
+            BitBoard.Copy(pieces, _accumulator);
+            for (int k = 1; k < 5; k++) {
+                BitBoard.Shift(pieces, axis, k, _shiftedOwn);
+                BitBoard.And(_accumulator, _shiftedOwn, _accumulator);
+            }
+            if (!BitBoard.IsEmpty(_accumulator)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds every empty position where the given colour would capture at least one pair,
+     * i.e. where the pattern colour, opponent, opponent, colour would be completed.
+     *
+     * @param colour The colour making the capture.
+     * @param moves  The set receiving the capturing positions.
+     */
+    public void GetCaptureMoves(char colour, long[] moves) {
+        long[] own = GetPieces(colour);
+        long[] opponent = GetPieces(GetOppositeColour(colour));
+        BitBoard.Clear(moves);
+        for (int axis = 0; axis < 4; axis++) {
+            for (int sign = -1; sign <= 1; sign += 2) {
+                BitBoard.Shift(opponent, axis, sign, _accumulator);
+                BitBoard.Shift(opponent, axis, 2 * sign, _shiftedOpponent);
+                BitBoard.And(_accumulator, _shiftedOpponent, _accumulator);
+                BitBoard.Shift(own, axis, 3 * sign, _shiftedOwn);
+                BitBoard.And(_accumulator, _shiftedOwn, _accumulator);
+                BitBoard.Or(moves, _accumulator, moves);
+            }
+        }
+        BitBoard.Empty(_whitePieces, _blackPieces, _accumulator);
+        BitBoard.And(moves, _accumulator, moves);
+    }
+
+    /**
+     * Finds every empty position next to (in any of the eight directions) a piece of the given colour.
+     *
+     * @param colour The colour of the pieces.
+     * @param moves  The set receiving the neighbouring positions.
+     */
+    public void GetAdjacentMoves(char colour, long[] moves) {
+        long[] own = GetPieces(colour);
+        BitBoard.Clear(moves);
+        for (int axis = 0; axis < 4; axis++) {
+            BitBoard.Shift(own, axis, 1, _shiftedOwn);
+            BitBoard.Or(moves, _shiftedOwn, moves);
+            BitBoard.Shift(own, axis, -1, _shiftedOwn);
+            BitBoard.Or(moves, _shiftedOwn, moves);
+        }
+        BitBoard.Empty(_whitePieces, _blackPieces, _accumulator);
+        BitBoard.And(moves, _accumulator, moves);
+    }
+
+    /**
+     * Gets the candidate moves: every empty position within CANDIDATE_RADIUS intersections of a piece.
+     * The set is kept up to date by InsertPiece and RemovePiece, is owned by the board and must not be modified.
+     *
+     * @return The bitset of candidate moves.
+     */
+    public long[] GetCandidateMoves() {
+        return _candidateMoves;
+    }
+
+    /**
+     * Counts a new piece at the given position in the neighbourhood of the positions around it.
+     */
+    private void AddToNeighbourhood(int index) {
+        for (int neighbour : NEIGHBOURHOOD[index]) {
+            _neighbourCount[neighbour]++;
+            if (isPositionEmpty(neighbour / BOARD_SIZE, neighbour % BOARD_SIZE)) {
+                BitBoard.Set(_candidateMoves, neighbour);
+            }
+        }
+        BitBoard.Clear(_candidateMoves, index);
+    }
+
+    /**
+     * Takes a removed piece out of the neighbourhood of the positions around it.
+     */
+    private void RemoveFromNeighbourhood(int index) {
+        for (int neighbour : NEIGHBOURHOOD[index]) {
+            if (--_neighbourCount[neighbour] == 0) {
+                BitBoard.Clear(_candidateMoves, neighbour);
+            }
+        }
+        if (_neighbourCount[index] > 0) {
+            BitBoard.Set(_candidateMoves, index);
+        }
+    }
+
+    /**
+     * Gets the number of pieces of a colour in a row starting next to a position, going one way.
+     *
+     * @param row       The row index.
+     * @param column    The column index.
+     * @param colour    The colour of the pieces.
+     * @param direction The direction, an index into DIRECTION_CODE.
+     * @return The length of the run.
+     */
+    public int GetRun(int row, int column, char colour, int direction) {
+        return _runs[Zobrist.ColourIndex(colour)][direction][BitBoard.Index(row, column)];
+    }
+
+    /**
+     * Gets the number of pieces of a colour in a row on both sides of a position along an axis,
+     * not counting the position itself.
+     *
+     * @param row    The row index.
+     * @param column The column index.
+     * @param colour The colour of the pieces.
+     * @param axis   The BitBoard axis code.
+     * @return The total length of the runs on both sides.
+     */
+    public int GetRunLength(int row, int column, char colour, int axis) {
+        byte[][] runs = _runs[Zobrist.ColourIndex(colour)];
+        int index = BitBoard.Index(row, column);
+        return runs[2 * axis][index] + runs[2 * axis + 1][index];
+    }
+
+    /**
+     * Reads the window of a position along an axis for PatternTable: the four positions on each side, two bits each,
+     * nearest the position in the middle of the index.
+     *
+     * @param index The index of the position.
+     * @param axis  The BitBoard axis code.
+     * @return The window, between 0 and PatternTable.WINDOWS - 1.
+     */
+    public int GetWindow(int index, int axis) {
+        int[] positions = WINDOW_POSITION[axis];
+        int first = index * PatternTable.WINDOW_CELLS;
+        int window = 0;
+        for (int cell = 0; cell < PatternTable.WINDOW_CELLS; cell++) {
+            int position = positions[first + cell];
+            int code = PatternTable.OFF_BOARD;
+            if (position != -1) {
+                int word = position >>> 6;
+                code = (int) ((_whitePieces[word] >>> position) & 1L) | ((int) ((_blackPieces[word] >>> position) & 1L) << 1);
+            }
+            window |= code << (2 * cell);
+        }
+        return window;
+    }
+
+    /**
+     * Gets the pattern of a piece of the given colour at a position along an axis.
+     *
+     * @param row    The row index.
+     * @param column The column index.
+     * @param colour The colour of the piece.
+     * @param axis   The BitBoard axis code.
+     * @return The packed pattern, read with the PatternTable accessors.
+     */
+    public int GetPattern(int row, int column, char colour, int axis) {
+        return PatternTable.Get(GetWindow(BitBoard.Index(row, column), axis), colour);
+    }
+
+    /**
+     * Updates the runs ending next to a position whose piece changed.
+     * Only the positions behind it, up to the first one that is not of the colour, see a different run.
+     *
+     * @param index  The index of the position.
+     * @param colour The colour of the piece placed or removed.
+     * @param placed 1 if the piece was placed, 0 if it was removed.
+     */
+    private void UpdateRuns(int index, char colour, int placed) {
+        byte[][] runs = _runs[Zobrist.ColourIndex(colour)];
+        for (int direction = 0; direction < 8; direction++) {
+            int[] backwards = NEXT_POSITION[direction ^ 1];
+            byte[] run = runs[direction];
+            int length = placed * (1 + run[index]);
+            for (int position = backwards[index]; position != -1; position = backwards[position]) {
+                run[position] = (byte) length;
+                if (!BitBoard.Get(GetPieces(colour), position)) {
+                    break;
+                }
+                length++;
+            }
+        }
+    }
+
+    private void ClearRuns() {
+        for (byte[][] colourRuns : _runs) {
+            for (byte[] run : colourRuns) {
+                Arrays.fill(run, (byte) 0);
+            }
+        }
+    }
+
+    /**
+     * Plays a move: places the piece, removes the pairs it captures and passes the turn to the opponent.
+     * Everything needed to take the move back is pushed on a preallocated undo stack, so a line of play
+     * can be explored and rolled back with UnmakeMove without allocating.
+     *
+     * @param row    The row index.
+     * @param column The column index.
+     * @param colour The colour of the piece.
+     * @return True if the move is successfully played, false otherwise.
+     */
+    public boolean MakeMove(int row, int column, char colour) {
+        if (_undoSize == MAX_UNDO) {
+            Log.d("TAG", "MakeMove: The undo stack is full");
+            return false;
+        }
+        if (!InsertPiece(row, column, colour)) {
+            return false;
+        }
+        int entry = _undoSize++;
+        int index = BitBoard.Index(row, column);
+        _undoMove[entry] = index;
+        _undoSideToMove[entry] = _sideToMove;
+        _undoPoints[entry] = CalculatePoint(row, column, colour);
+
+        // custodian captures: colour, opponent, opponent, colour
+        char opponent = GetOppositeColour(colour);
+        long[] own = GetPieces(colour);
+        long[] opponentPieces = GetPieces(opponent);
+        int captured = 0;
+        for (int direction = 0; direction < 8; direction++) {
+            int[] next = NEXT_POSITION[direction];
+            int one = next[index];
+            int two = (one == -1) ? -1 : next[one];
+            int three = (two == -1) ? -1 : next[two];
+            if (three != -1 && BitBoard.Get(opponentPieces, one) && BitBoard.Get(opponentPieces, two) && BitBoard.Get(own, three)) {
+                RemovePiece(one / BOARD_SIZE, one % BOARD_SIZE);
+                RemovePiece(two / BOARD_SIZE, two % BOARD_SIZE);
+                _undoCaptured[entry * MAX_CAPTURED + captured++] = one;
+                _undoCaptured[entry * MAX_CAPTURED + captured++] = two;
+            }
+        }
+        _undoCapturedCount[entry] = (byte) captured;
+        if (captured > 0) {
+            SetCapturePoints(colour, GetCapturePoints(colour) + captured / 2);
+        }
+        SetSideToMove(opponent);
+        return true;
+    }
+
+    /**
+     * Takes back the last move played by MakeMove, restoring the captured pairs, the capture count and the side to move.
+     *
+     * @return True if a move is taken back, false if there is no move to take back.
+     */
+    public boolean UnmakeMove() {
+        if (_undoSize == 0) {
+            Log.d("TAG", "UnmakeMove: There is no move to take back");
+            return false;
+        }
+        int entry = --_undoSize;
+        int index = _undoMove[entry];
+        char colour = _board[index / BOARD_SIZE][index % BOARD_SIZE];
+        char opponent = GetOppositeColour(colour);
+        int captured = _undoCapturedCount[entry];
+        for (int i = 0; i < captured; i++) {
+            int piece = _undoCaptured[entry * MAX_CAPTURED + i];
+            InsertPiece(piece / BOARD_SIZE, piece % BOARD_SIZE, opponent);
+        }
+        if (captured > 0) {
+            SetCapturePoints(colour, GetCapturePoints(colour) - captured / 2);
+        }
+        RemovePiece(index / BOARD_SIZE, index % BOARD_SIZE);
+        SetSideToMove(_undoSideToMove[entry]);
+        return true;
+    }
+
+    /**
+     * Gets the points scored by the last move played by MakeMove, as counted by CalculatePoint.
+     *
+     * @return The points of the last move, or 0 if there is none.
+     */
+    public int GetLastMovePoints() {
+        return (_undoSize == 0) ? 0 : _undoPoints[_undoSize - 1];
+    }
+
+    /**
+     * Gets the number of pieces captured by the last move played by MakeMove.
+     *
+     * @return The number of captured pieces (twice the number of pairs), or 0 if there is none.
+     */
+    public int GetLastMoveCaptures() {
+        return (_undoSize == 0) ? 0 : _undoCapturedCount[_undoSize - 1];
+    }
+
+    /**
+     * Gets the number of moves played by MakeMove that can still be taken back.
+     *
+     * @return The size of the undo stack.
+     */
+    public int GetUndoSize() {
+        return _undoSize;
+    }
+
+    /**
+     * Calculates the points a piece of the given colour scores at a position, from the rows it makes on the four axes.
+     *
+     * @param row    The row index.
+     * @param column The column index.
+     * @param colour The colour of the piece.
+     * @return The points scored.
+     */
+    public int CalculatePoint(int row, int column, char colour) {
+        return CalculatePoint(GetRunLength(row, column, colour, BitBoard.RIGHT_DIAGONAL) + 1,
+                GetRunLength(row, column, colour, BitBoard.LEFT_DIAGONAL) + 1,
+                GetRunLength(row, column, colour, BitBoard.HORIZONTAL) + 1,
+                GetRunLength(row, column, colour, BitBoard.VERTICAL) + 1);
+    }
+
+    /**
+     * Calculates the points for the rows through a position: one for a row of four and five for each full row of five.
+     *
+     * @param rightDiagonal The length of the row on the right diagonal.
+     * @param leftDiagonal  The length of the row on the left diagonal.
+     * @param horizontal    The length of the horizontal row.
+     * @param vertical      The length of the vertical row.
+     * @return The points scored.
+     */
+    public static int CalculatePoint(int rightDiagonal, int leftDiagonal, int horizontal, int vertical) {
+        int totalPoint = AddSequencePoints(0, rightDiagonal);
+        totalPoint = AddSequencePoints(totalPoint, leftDiagonal);
+        totalPoint = AddSequencePoints(totalPoint, horizontal);
+        return AddSequencePoints(totalPoint, vertical);
+    }
+
+    private static int AddSequencePoints(int totalPoint, int sequence) {
+        if (sequence < 4) {
+            return totalPoint;
+        }
+        if (sequence == 4) {
+            return totalPoint + 1;
+        }
+        if ((sequence % 5) == 0) {
+            return totalPoint + sequence;
+        }
+        return ((sequence / 5) * 5) + ((sequence % 5) / 4);
+    }
+
+    /**
+     * Gets the Zobrist key of the current position.
+     * It covers the pieces, the side to move and both players' capture counts.
+     *
+     * @return The 64-bit key of the position.
+     */
+    public long GetHash() {
+        return _hash;
+    }
+
+    /**
+     * Gets the Zobrist key the current position would have after being moved by one of the eight symmetries of the board.
+     * The key of every symmetry is kept up to date as pieces come and go, so this costs the same as GetHash.
+     *
+     * @param symmetry The symmetry, from 0 to Symmetry.COUNT - 1.
+     * @return The 64-bit key of the moved position; Symmetry.IDENTITY gives GetHash.
+     */
+    public long GetSymmetryKey(int symmetry) {
+        // the side to move and the capture counts are the same in every orientation
+        return _hash ^ _symmetryPieceKeys[Symmetry.IDENTITY] ^ _symmetryPieceKeys[symmetry];
+    }
+
+    /**
+     * Adds or removes the keys of a piece, in the position key and in the key of every symmetry.
+     */
+    private void TogglePieceKeys(char colour, int index) {
+        _hash ^= Zobrist.PieceKey(colour, index);
+        for (int symmetry = 0; symmetry < Symmetry.COUNT; symmetry++) {
+            _symmetryPieceKeys[symmetry] ^= Zobrist.PieceKey(colour, Symmetry.Transform(symmetry, index));
+        }
+    }
+
+    /**
+     * Sets the colour of the side to move.
+     *
+     * @param colour The colour to move next.
+     * @return True if the side is successfully set, false otherwise.
+     */
+    public boolean SetSideToMove(char colour) {
+        if (!isPieceValid(colour)) {
+            Log.d("TAG", "SetSideToMove: The piece is not of valid color");
+            return false;
+        }
+        _hash ^= Zobrist.SideToMoveKey(_sideToMove) ^ Zobrist.SideToMoveKey(colour);
+        _sideToMove = colour;
+        return true;
+    }
+
+    /**
+     * Gets the colour of the side to move.
+     *
+     * @return The colour to move next.
+     */
+    public char GetSideToMove() {
+        return _sideToMove;
+    }
+
+    /**
+     * Sets the number of pairs captured by the player of the given colour.
+     *
+     * @param colour   The colour of the player.
+     * @param captures The number of captured pairs, as in Player.GetCapturePoints().
+     * @return True if the count is successfully set, false otherwise.
+     */
+    public boolean SetCapturePoints(char colour, int captures) {
+        if (!isPieceValid(colour)) {
+            Log.d("TAG", "SetCapturePoints: The piece is not of valid color");
+            return false;
+        }
+        int colourIndex = Zobrist.ColourIndex(colour);
+        _hash ^= Zobrist.CaptureKey(colour, _captures[colourIndex]) ^ Zobrist.CaptureKey(colour, captures);
+        _captures[colourIndex] = captures;
+        return true;
+    }
+
+    /**
+     * Gets the number of pairs captured by the player of the given colour.
+     *
+     * @param colour The colour of the player.
+     * @return The number of captured pairs.
+     */
+    public int GetCapturePoints(char colour) {
+        return _captures[Zobrist.ColourIndex(colour)];
+    }
+
+    /**
+     * Rebuilds the bitboards, the candidate moves, the run lengths and the piece part of the keys from the compatibility view after it was replaced.
+     */
+    private void RebuildBitBoards() {
+        BitBoard.Clear(_whitePieces);
+        BitBoard.Clear(_blackPieces);
+        _hash = Zobrist.SideToMoveKey(_sideToMove)
+                ^ Zobrist.CaptureKey(WHITE_PIECE, _captures[0])
+                ^ Zobrist.CaptureKey(BLACK_PIECE, _captures[1]);
+        Arrays.fill(_symmetryPieceKeys, 0L);
+        _undoSize = 0;
+        Arrays.fill(_neighbourCount, (byte) 0);
+        BitBoard.Clear(_candidateMoves);
+        ClearRuns();
+        for (int row = 0; row < BOARD_SIZE; row++) {
+            for (int column = 0; column < BOARD_SIZE; column++) {
+                if (isPieceValid(_board[row][column])) {
+                    int index = BitBoard.Index(row, column);
+                    BitBoard.Set(GetPieces(_board[row][column]), index);
+                    TogglePieceKeys(_board[row][column], index);
+                    AddToNeighbourhood(index);
+                    UpdateRuns(index, _board[row][column], 1);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.pente.Model;
+
+import static com.example.pente.Model.Board.ConvertToLabelledRowColumn;
+
+import java.io.Serializable;
+
+public class Computer extends Player implements Serializable {
+    // Default time a search engine may spend on one move, in milliseconds
+    public static final long DEFAULT_MOVE_TIME_BUDGET = 2000;
+    private long _moveTimeBudget = DEFAULT_MOVE_TIME_BUDGET;
+    // Whether the computer thinks about its next move while the human is to move
+    private boolean _pondering = true;
+
+    /**
+     * Constructs a Computer player with the specified color.
+     *
+     * @param colour The color of the computer player.
+     */
+    public Computer(char colour){
+        try {
+            if (!SetColour(colour)) {
+                throw new IllegalArgumentException("Error setting up constructor");
+            }
+
+        } catch (Exception e) {
+            Log.e("TAG", "Computer: Error setting up constructor");
+        }
+    }
+    /**
+     * Constructs a Computer player with specified colour, tournament points, roundPoints, capture points and total Move.
+     *
+     * @param colour            The color of the computer player.
+     * @param tournamentPoints  The tournament points of the computer player.
+     * @param roundPoints       The round points of the computer player.
+     * @param capturePoints     The capture points of the computer player.
+     * @param totalMove         The total moves made by the computer player.
+     */
+    public Computer(char colour, int tournamentPoints, int roundPoints, int capturePoints, int totalMove){
+        try {
+            if (!SetColour(colour) || !SetRoundPoints(roundPoints) || !SetTotalMoves(totalMove) || !SetTournamentPoints(tournamentPoints) || !SetTotalCapture(capturePoints)) {
+                throw new IllegalArgumentException("Error setting up constructor");
+            }
+
+        } catch (Exception e) {
+            Log.e("TAG", "Computer: Error setting up constructor");
+        }
+    }
+    /**
+     * Sets the time the computer may spend thinking about one move when the strategy uses a search engine.
+     *
+     * @param milliseconds The time budget per move, or 0 to let the engine search its full depth.
+     * @return True if successful, false otherwise.
+     */
+    public boolean SetMoveTimeBudget(long milliseconds) {
+        if (milliseconds < 0) {
+            Log.e("TAG", "SetMoveTimeBudget: The time budget cannot be negative");
+            return false;
+        }
+        _moveTimeBudget = milliseconds;
+        return true;
+    }
+
+    /**
+     * Gets the time the computer may spend thinking about one move.
+     *
+     * @return The time budget per move in milliseconds.
+     */
+    public long GetMoveTimeBudget() {
+        return _moveTimeBudget;
+    }
+
+    /**
+     * Sets whether the computer keeps thinking on the human's time, so that it can answer an expected move at once.
+     *
+     * @param pondering True to ponder, false to stay idle until the human moves.
+     */
+    public void SetPondering(boolean pondering) {
+        _pondering = pondering;
+    }
+
+    public boolean IsPondering() {
+        return _pondering;
+    }
+
+    /**
+     * Chooses the computer's next move with the given strategy, within the move time budget.
+     * It may search for the whole budget, so the app calls it away from the UI thread and plays the move with makeMove.
+     *
+     * @param strategy The strategy used to determine the move.
+     * @return An array [row, column] with the chosen move.
+     */
+    public int[] ChooseMove(Strategy strategy) {
+        // the engine answers with the best move of the last depth it finished within the budget
+        strategy.SetMoveTimeBudget(_moveTimeBudget);
+        return strategy.BestMove(GetColour(), GetTotalMoves(), false);
+    }
+
+    /**
+     * Makes a move for the computer player using the specified strategy.
+     *
+     * @param board         The game board.
+     * @param strategy      The strategy used to determine the move.
+     * @param rowCol        The move chosen beforehand with ChooseMove, or -1s to choose it now; holds the move played.
+     * @param listener      The listener told about the move.
+     * @return True if the move is successfully made, false otherwise.
+     */
+    @Override
+    public boolean makeMove(Board board, Strategy strategy, int[] rowCol, MoveListener listener) {
+        try {
+
+            if (rowCol[0] < 0 || rowCol[1] < 0) {
+                int[] calculatedRowCol = ChooseMove(strategy);
+                rowCol[0] = calculatedRowCol[0];
+                rowCol[1] = calculatedRowCol[1];
+            }
+
+
+            if (board.InsertPiece(rowCol[0], rowCol[1], GetColour())) {
+                listener.AddLogMessage("So the computer moved to " + ConvertToLabelledRowColumn(rowCol[0], rowCol[1]));
+                return true;
+            }
+
+            Log.d("TAG", "makeMove: Could not insert row: " + rowCol[0] + " column: " + rowCol[1]);
+            return false;
+        } catch (Exception e) {
+            Log.d("TAG", "makeMove: Could not make move");
+            return false;
+        }
+    }
+
+}
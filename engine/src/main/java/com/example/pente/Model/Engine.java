@@ -0,0 +1,43 @@
+package com.example.pente.Model;
+
+/**
+ * Engine is the interface for the move searches that can replace the heuristic cascade in Strategy.BestMove.
+ * An engine searches the position on the board it was created with and leaves it unchanged.
+ */
+public interface Engine {
+
+    /**
+     * Finds the best move for the given colour.
+     *
+     * @param colour The colour of the player making the move.
+     * @return An array representing the best move [row, column], or [-1, -1] if no move was found.
+     */
+    int[] BestMove(char colour);
+
+    /**
+     * Sets the time the engine may spend on each move.
+     *
+     * @param milliseconds The time budget per move, or 0 for no limit.
+     * @return True if the budget is set, false otherwise.
+     */
+    boolean SetTimeBudget(long milliseconds);
+
+    /**
+     * Forgets what the engine kept from the previous game, at the start of a new one.
+     */
+    void NewGame();
+
+    /**
+     * Adds the counters of the last BestMove to the statistics of a move.
+     *
+     * @param stats The statistics of the move.
+     */
+    void CollectStats(SearchStats stats);
+
+    /**
+     * Gets a short description of the engine for the move log.
+     *
+     * @return The description of the engine.
+     */
+    String GetName();
+}
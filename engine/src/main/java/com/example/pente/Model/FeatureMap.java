@@ -0,0 +1,168 @@
+package com.example.pente.Model;
+
+/**
+ * FeatureMap holds the features the BestMove cascade selects from, for every empty position next to a piece and for both colours:
+ * the points a piece would score there, the pairs it would capture and the first sequence longer than two it would make.
+ * One pass over the board fills the map, and the best position of each feature is kept as the pass goes,
+ * with the same lowest-index tie-break as the scanners of Strategy.
+ */
+public class FeatureMap {
+
+    private final Board _board;
+    // Features per colour index and position
+    private final byte[][] _points = new byte[2][BitBoard.CELLS];
+    private final byte[][] _captures = new byte[2][BitBoard.CELLS];
+    private final byte[][] _sequences = new byte[2][BitBoard.CELLS];
+    // Best position of each feature per colour index, -1 if no position has the feature
+    private final int[] _bestPoints = new int[2];
+    private final int[] _bestCaptures = new int[2];
+    private final int[] _firstSequences = new int[2];
+    // Positions scanned by the last pass, and per colour index the ones next to a piece and the capturing ones
+    private final long[] _scanned = new long[BitBoard.WORDS];
+    private final long[][] _adjacent = new long[2][BitBoard.WORDS];
+    private final long[][] _captureMoves = new long[2][BitBoard.WORDS];
+    private final int[] _runs = new int[4];
+
+    /**
+     * Constructs a feature map for the given board.
+     *
+     * @param board The game board.
+     */
+    public FeatureMap(Board board) {
+        _board = board;
+    }
+
+    /**
+     * Computes the features of the current position in a single pass.
+     * Every feature needs a piece next to the position, so only those positions are visited,
+     * and the bitboards tell which of them can score or capture for each colour before anything is counted.
+     */
+    public void Scan() {
+        for (int colour = 0; colour < 2; colour++) {
+            _bestPoints[colour] = -1;
+            _bestCaptures[colour] = -1;
+            _firstSequences[colour] = -1;
+        }
+        _board.GetAdjacentMoves(Board.WHITE_PIECE, _adjacent[0]);
+        _board.GetAdjacentMoves(Board.BLACK_PIECE, _adjacent[1]);
+        _board.GetCaptureMoves(Board.WHITE_PIECE, _captureMoves[0]);
+        _board.GetCaptureMoves(Board.BLACK_PIECE, _captureMoves[1]);
+        BitBoard.Or(_adjacent[0], _adjacent[1], _scanned);
+        for (int index = BitBoard.NextSetBit(_scanned, 0); index >= 0; index = BitBoard.NextSetBit(_scanned, index + 1)) {
+            ScanPosition(index, Board.WHITE_PIECE);
+            ScanPosition(index, Board.BLACK_PIECE);
+        }
+    }
+
+    private void ScanPosition(int index, char colour) {
+        int colourIndex = Zobrist.ColourIndex(colour);
+        _points[colourIndex][index] = 0;
+        _captures[colourIndex][index] = 0;
+        _sequences[colourIndex][index] = 0;
+        if (BitBoard.Get(_captureMoves[colourIndex], index)) {
+            ScanCaptures(index, colour, colourIndex);
+        }
+        // points and sequences need a piece of the colour next to the position
+        if (!BitBoard.Get(_adjacent[colourIndex], index)) {
+            return;
+        }
+        int row = index / Board.BOARD_SIZE;
+        int column = index % Board.BOARD_SIZE;
+        // the order Strategy.CalculatePoint and Strategy.CalculateSequenceInRow read the axes in
+        _runs[0] = _board.GetRunLength(row, column, colour, BitBoard.RIGHT_DIAGONAL) + 1;
+        _runs[1] = _board.GetRunLength(row, column, colour, BitBoard.LEFT_DIAGONAL) + 1;
+        _runs[2] = _board.GetRunLength(row, column, colour, BitBoard.HORIZONTAL) + 1;
+        _runs[3] = _board.GetRunLength(row, column, colour, BitBoard.VERTICAL) + 1;
+
+        int points = Board.CalculatePoint(_runs[0], _runs[1], _runs[2], _runs[3]);
+        _points[colourIndex][index] = (byte) points;
+        if (points > 0 && (_bestPoints[colourIndex] == -1 || points > _points[colourIndex][_bestPoints[colourIndex]])) {
+            _bestPoints[colourIndex] = index;
+        }
+
+        int sequence = 0;
+        for (int run : _runs) {
+            if (run > 2) {
+                sequence = run;
+                break;
+            }
+        }
+        _sequences[colourIndex][index] = (byte) sequence;
+        if (sequence > 0 && _firstSequences[colourIndex] == -1) {
+            _firstSequences[colourIndex] = index;
+        }
+    }
+
+    private void ScanCaptures(int index, char colour, int colourIndex) {
+        int captures = 0;
+        for (int axis = 0; axis < 4; axis++) {
+            captures += PatternTable.Captures(PatternTable.Get(_board.GetWindow(index, axis), colour));
+        }
+        _captures[colourIndex][index] = (byte) captures;
+        if (captures > 0 && (_bestCaptures[colourIndex] == -1 || captures > _captures[colourIndex][_bestCaptures[colourIndex]])) {
+            _bestCaptures[colourIndex] = index;
+        }
+    }
+
+    /**
+     * Gets the position where the colour scores the most points, as Strategy.CalculateBestPositionForPoints.
+     *
+     * @param colour The colour to consider.
+     * @return An array [row, column, points], or [0, 0, 0] if no position scores.
+     */
+    public int[] GetBestPositionForPoints(char colour) {
+        int colourIndex = Zobrist.ColourIndex(colour);
+        return ToPosition(_bestPoints[colourIndex], _points[colourIndex], new int[3]);
+    }
+
+    /**
+     * Gets the position where the colour captures the most pairs, as Strategy.CalculateBestPositionForCapture.
+     *
+     * @param colour The colour to consider.
+     * @return An array [row, column, pairs], or [0, 0, 0] if no position captures.
+     */
+    public int[] GetBestPositionForCapture(char colour) {
+        int colourIndex = Zobrist.ColourIndex(colour);
+        return ToPosition(_bestCaptures[colourIndex], _captures[colourIndex], new int[3]);
+    }
+
+    /**
+     * Gets the first position making a sequence longer than two, as Strategy.CalculateSequenceInRow.
+     *
+     * @param colour The colour to consider.
+     * @return An array [row, column, length], or [-1, -1, -1] if there is none.
+     */
+    public int[] GetSequenceInRow(char colour) {
+        int colourIndex = Zobrist.ColourIndex(colour);
+        return ToPosition(_firstSequences[colourIndex], _sequences[colourIndex], new int[]{-1, -1, -1});
+    }
+
+    /**
+     * Gets the points a piece of the colour scores at a position, as found by the last pass.
+     *
+     * @param index  The index of the position.
+     * @param colour The colour to consider.
+     * @return The points, or 0 if the position was not scanned.
+     */
+    public int GetPoints(int index, char colour) {
+        return BitBoard.Get(_scanned, index) ? _points[Zobrist.ColourIndex(colour)][index] : 0;
+    }
+
+    /**
+     * Gets the pairs a piece of the colour captures at a position, as found by the last pass.
+     *
+     * @param index  The index of the position.
+     * @param colour The colour to consider.
+     * @return The number of pairs, or 0 if the position was not scanned.
+     */
+    public int GetCaptures(int index, char colour) {
+        return BitBoard.Get(_scanned, index) ? _captures[Zobrist.ColourIndex(colour)][index] : 0;
+    }
+
+    private static int[] ToPosition(int index, byte[] values, int[] none) {
+        if (index == -1) {
+            return none;
+        }
+        return new int[]{index / Board.BOARD_SIZE, index % Board.BOARD_SIZE, values[index]};
+    }
+}
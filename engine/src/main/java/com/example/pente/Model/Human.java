@@ -1,11 +1,6 @@
 package com.example.pente.Model;
 
-import static com.example.pente.Controller.TournamentController.ConvertToLabelledRowColumn;
-
-import android.util.Log;
-
-import com.example.pente.Controller.TournamentController;
-import com.example.pente.View.GameActivity;
+import static com.example.pente.Model.Board.ConvertToLabelledRowColumn;
 
 import java.io.Serializable;
 /**
@@ -58,16 +53,16 @@ public class Human extends Player implements Serializable {
      * @param board        The game board.
      * @param strategy     The strategy used for making moves.
      * @param rowCol       The row and column indices for the move.
-     * @param gameActivity The GameActivity instance.
+     * @param listener     The listener told about the move.
      * @return True if the move is successful, false otherwise.
      */
     @Override
-    public boolean makeMove(Board board, Strategy strategy, int[] rowCol, GameActivity gameActivity) {
+    public boolean makeMove(Board board, Strategy strategy, int[] rowCol, MoveListener listener) {
         try {
             // If it is -1 -1, it means that it is waiting for human input or computer to decide the move
             if (GetTotalMoves() == 0 && GetColour() == Board.WHITE_PIECE) {
                 if (rowCol[0] != Board.CENTER_BOARD && rowCol[1] != Board.CENTER_BOARD) {
-                    gameActivity.CreateDialogBox("The first move must be in the center of the board J10");
+                    listener.ShowMessage("The first move must be in the center of the board J10");
                     return false;
                 }
             }
@@ -75,15 +70,15 @@ public class Human extends Player implements Serializable {
             if (GetTotalMoves() == 1 && GetColour() == Board.WHITE_PIECE) {
                 // The second Piece must be 3 intersections away from the center
                 if (!board.IsSecondPieceValid(rowCol[0], rowCol[1])) {
-                    gameActivity.AddLogMessage("The second move must be 3 intersections away from the center. The user clicked: " + ConvertToLabelledRowColumn(rowCol[0], rowCol[1]));
-                    gameActivity.CreateDialogBox("The second move must be 3 intersections away from the center");
+                    listener.AddLogMessage("The second move must be 3 intersections away from the center. The user clicked: " + ConvertToLabelledRowColumn(rowCol[0], rowCol[1]));
+                    listener.ShowMessage("The second move must be 3 intersections away from the center");
                     return false;
                 }
             }
 
             if (board.InsertPiece(rowCol[0], rowCol[1], GetColour())) {
                 // Check for point counter
-                gameActivity.AddLogMessage("The user clicked: " + ConvertToLabelledRowColumn(rowCol[0], rowCol[1]));
+                listener.AddLogMessage("The user clicked: " + ConvertToLabelledRowColumn(rowCol[0], rowCol[1]));
                 return true;
             }
             return false;
@@ -0,0 +1,75 @@
+package com.example.pente.Model;
+
+/**
+ * Log takes the place of android.util.Log in the engine, with the same calls, so that the engine runs on a plain JVM.
+ * The messages go to a sink set by the application: the app forwards them to the Android log,
+ * and without a sink they are dropped, so that searches on a server or in a benchmark do not pay for them.
+ */
+public final class Log {
+
+    public static final int DEBUG = 3;
+    public static final int ERROR = 6;
+
+    /**
+     * Sink writes the log messages of the engine somewhere.
+     */
+    public interface Sink {
+
+        /**
+         * Writes a message.
+         *
+         * @param priority DEBUG or ERROR.
+         * @param tag      The tag of the message.
+         * @param message  The message.
+         * @param error    The exception the message is about, or null.
+         */
+        void Write(int priority, String tag, String message, Throwable error);
+    }
+
+    /**
+     * A sink printing every message on the standard error stream, for command line tools.
+     */
+    public static final Sink STANDARD_ERROR = new Sink() {
+        @Override
+        public void Write(int priority, String tag, String message, Throwable error) {
+            System.err.println(((priority == ERROR) ? "E/" : "D/") + tag + ": " + message);
+            if (error != null) {
+                error.printStackTrace();
+            }
+        }
+    };
+
+    private static volatile Sink _sink;
+
+    private Log() {
+    }
+
+    /**
+     * Sets where the messages go.
+     *
+     * @param sink The sink, or null to drop the messages.
+     */
+    public static void SetSink(Sink sink) {
+        _sink = sink;
+    }
+
+    public static int d(String tag, String message) {
+        return Write(DEBUG, tag, message, null);
+    }
+
+    public static int e(String tag, String message) {
+        return Write(ERROR, tag, message, null);
+    }
+
+    public static int e(String tag, String message, Throwable error) {
+        return Write(ERROR, tag, message, error);
+    }
+
+    private static int Write(int priority, String tag, String message, Throwable error) {
+        Sink sink = _sink;
+        if (sink != null) {
+            sink.Write(priority, tag, message, error);
+        }
+        return 0;
+    }
+}
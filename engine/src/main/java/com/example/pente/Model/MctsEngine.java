@@ -0,0 +1,449 @@
+package com.example.pente.Model;
+
+import static com.example.pente.Model.Board.GetOppositeColour;
+
+/**
+ * MctsEngine picks its move with a Monte Carlo tree search: it grows a tree from the current position with UCT selection,
+ * finishes each line with a playout guided by the points and captures a move makes, and answers with the most visited move.
+ * The tree is kept in preallocated primitive arrays indexed by node number, so a search creates no objects,
+ * and the moves are played on the game board with Board.MakeMove and taken back with Board.UnmakeMove.
+ * The search stops after a number of playouts or when the time budget is up, whichever comes first.
+ */
+public class MctsEngine implements Engine {
+
+    public static final int DEFAULT_POOL_SIZE = 1 << 17;
+    public static final int DEFAULT_PLAYOUTS = 10000;
+    public static final double DEFAULT_EXPLORATION = 0.5;
+    // Children of a node, the best ordered candidates only
+    public static final int MAX_CHILDREN = 24;
+    // Moves of a playout before it is scored as a draw
+    public static final int MAX_PLAYOUT_MOVES = 60;
+    // Candidates a playout move is chosen from
+    private static final int PLAYOUT_SAMPLES = 6;
+    // How many playouts run between two looks at the clock
+    private static final int CLOCK_CHECK_INTERVAL = 16;
+
+    private static final int CAPTURES_TO_WIN = 5;
+    private static final int ROOT = 0;
+    private static final int UNEXPANDED = -1;
+    private static final char DRAW = Board.INITIAL_BOARD_PIECE;
+
+    private final Board _board;
+
+    // The node pool: node i is the move _move[i], its children are _firstChild[i] to _firstChild[i] + _childCount[i] - 1
+    private final int[] _move;
+    private final int[] _firstChild;
+    private final int[] _childCount;
+    private final int[] _visits;
+    // Playout results from the point of view of the player who made the move of the node, a draw counting one half
+    private final float[] _wins;
+    private final boolean[] _winning;
+    private int _nodeCount;
+
+    // The nodes of the line being explored, and scratch lists for the expansion
+    private final int[] _path = new int[BitBoard.CELLS + 1];
+    private final int[] _candidates = new int[BitBoard.CELLS];
+    private final int[] _candidateScores = new int[BitBoard.CELLS];
+
+    private int _playoutBudget = DEFAULT_PLAYOUTS;
+    // Time budget per move in milliseconds, 0 for no limit
+    private long _timeBudget;
+    private double _exploration = DEFAULT_EXPLORATION;
+    private long _random = 0x9E3779B97F4A7C15L;
+
+    private int _playouts;
+    private long _elapsedNanos;
+
+    /**
+     * Constructs an engine that searches the given board with the default node pool.
+     *
+     * @param board The game board.
+     */
+    public MctsEngine(Board board) {
+        this(board, DEFAULT_POOL_SIZE);
+    }
+
+    /**
+     * Constructs an engine that searches the given board with a node pool of the given size.
+     * When the pool is full the tree stops growing and the remaining playouts start from its leaves.
+     *
+     * @param board    The game board.
+     * @param poolSize The number of nodes allocated for the tree, at least MAX_CHILDREN + 1.
+     */
+    public MctsEngine(Board board, int poolSize) {
+        _board = board;
+        poolSize = Math.max(poolSize, MAX_CHILDREN + 1);
+        _move = new int[poolSize];
+        _firstChild = new int[poolSize];
+        _childCount = new int[poolSize];
+        _visits = new int[poolSize];
+        _wins = new float[poolSize];
+        _winning = new boolean[poolSize];
+    }
+
+    /**
+     * Sets the number of playouts run for each move.
+     *
+     * @param playouts The playout budget per move, or 0 to let the time budget alone stop the search.
+     * @return True if the budget is valid and set, false otherwise.
+     */
+    public boolean SetPlayoutBudget(int playouts) {
+        if (playouts < 0 || (playouts == 0 && _timeBudget == 0)) {
+            return false;
+        }
+        _playoutBudget = playouts;
+        return true;
+    }
+
+    public int GetPlayoutBudget() {
+        return _playoutBudget;
+    }
+
+    /**
+     * Sets the time allowed for each move.
+     *
+     * @param milliseconds The time budget per move, or 0 to let the playout budget alone stop the search.
+     * @return True if the budget is valid and set, false otherwise.
+     */
+    @Override
+    public boolean SetTimeBudget(long milliseconds) {
+        if (milliseconds < 0 || (milliseconds == 0 && _playoutBudget == 0)) {
+            return false;
+        }
+        _timeBudget = milliseconds;
+        return true;
+    }
+
+    public long GetTimeBudget() {
+        return _timeBudget;
+    }
+
+    /**
+     * Sets the exploration constant of the UCT formula: higher values try the less visited moves more often.
+     *
+     * @param exploration The exploration constant, above 0.
+     * @return True if the constant is valid and set, false otherwise.
+     */
+    public boolean SetExploration(double exploration) {
+        if (!(exploration > 0)) {
+            return false;
+        }
+        _exploration = exploration;
+        return true;
+    }
+
+    /**
+     * Seeds the random choices of the playouts, so that a search can be repeated.
+     *
+     * @param seed The seed, any value but 0.
+     * @return True if the seed is set, false otherwise.
+     */
+    public boolean SetSeed(long seed) {
+        if (seed == 0) {
+            return false;
+        }
+        _random = seed;
+        return true;
+    }
+
+    /**
+     * Gets the number of playouts run by the last search.
+     *
+     * @return The number of playouts.
+     */
+    public int GetPlayouts() {
+        return _playouts;
+    }
+
+    /**
+     * Gets the speed of the last search.
+     *
+     * @return The playouts run per second, or 0 if no search has run.
+     */
+    public double GetPlayoutsPerSecond() {
+        return (_elapsedNanos == 0) ? 0 : _playouts * 1e9 / _elapsedNanos;
+    }
+
+    /**
+     * Gets the number of tree nodes used by the last search.
+     *
+     * @return The number of nodes.
+     */
+    public int GetNodes() {
+        return _nodeCount;
+    }
+
+    /**
+     * Reports the tree nodes as the nodes and every playout as an evaluation; the search has no depth or table.
+     */
+    @Override
+    public void CollectStats(SearchStats stats) {
+        stats.AddSearch(_nodeCount, _playouts, 0, 0, 0);
+    }
+
+    /**
+     * The tree is grown again for every move, so there is nothing to forget.
+     */
+    @Override
+    public void NewGame() {
+    }
+
+    @Override
+    public String GetName() {
+        return "Monte Carlo tree search over " + _playouts + " playouts (" + Math.round(GetPlayoutsPerSecond()) + " per second)";
+    }
+
+    @Override
+    public int[] BestMove(char colour) {
+        long start = System.nanoTime();
+        long deadline = (_timeBudget > 0) ? start + _timeBudget * 1000000L : 0;
+        _playouts = 0;
+        _nodeCount = 1;
+        _move[ROOT] = -1;
+        _firstChild[ROOT] = UNEXPANDED;
+        _visits[ROOT] = 0;
+        _wins[ROOT] = 0;
+        _winning[ROOT] = false;
+
+        if (!Expand(ROOT, colour) || _childCount[ROOT] == 0) {
+            _elapsedNanos = System.nanoTime() - start;
+            return new int[]{-1, -1};
+        }
+        // a single legal move needs no search
+        while (_childCount[ROOT] > 1 && (_playoutBudget == 0 || _playouts < _playoutBudget)) {
+            Iterate(colour);
+            _playouts++;
+            if (deadline != 0 && _playouts % CLOCK_CHECK_INTERVAL == 0 && System.nanoTime() > deadline) {
+                break;
+            }
+        }
+        _elapsedNanos = System.nanoTime() - start;
+
+        int best = _firstChild[ROOT];
+        for (int child = best + 1; child < _firstChild[ROOT] + _childCount[ROOT]; child++) {
+            if (_visits[child] > _visits[best] || (_visits[child] == _visits[best] && _wins[child] > _wins[best])) {
+                best = child;
+            }
+        }
+        return new int[]{_move[best] / Board.BOARD_SIZE, _move[best] % Board.BOARD_SIZE};
+    }
+
+    /**
+     * Runs one iteration: selects a line down the tree, expands its leaf, plays it out and backs the result up the line.
+     * Every move played is taken back before returning.
+     *
+     * @param colour The colour to move at the root.
+     */
+    private void Iterate(char colour) {
+        char rootColour = colour;
+        int undoSize = _board.GetUndoSize();
+        int length = 0;
+        int node = ROOT;
+        _path[length++] = node;
+        char winner = DRAW;
+        boolean finished = false;
+        while (true) {
+            // a leaf is expanded on its second visit, so single playouts do not fill the pool
+            if (_firstChild[node] == UNEXPANDED && (_visits[node] == 0 || !Expand(node, colour))) {
+                break;
+            }
+            if (_childCount[node] == 0) {
+                finished = true;
+                break;
+            }
+            node = Select(node);
+            _path[length++] = node;
+            if (!_board.MakeMove(_move[node] / Board.BOARD_SIZE, _move[node] % Board.BOARD_SIZE, colour)) {
+                finished = true;
+                break;
+            }
+            if (IsWin(colour)) {
+                _winning[node] = true;
+                winner = colour;
+                finished = true;
+                break;
+            }
+            colour = GetOppositeColour(colour);
+        }
+        if (!finished) {
+            winner = Playout(colour);
+        }
+        while (_board.GetUndoSize() > undoSize) {
+            _board.UnmakeMove();
+        }
+
+        for (int i = 0; i < length; i++) {
+            int visited = _path[i];
+            // the moves of odd depths are made by the colour to move at the root
+            char mover = (i % 2 == 1) ? rootColour : GetOppositeColour(rootColour);
+            _visits[visited]++;
+            if (winner == DRAW) {
+                _wins[visited] += 0.5f;
+            } else if (winner == mover) {
+                _wins[visited] += 1;
+            }
+        }
+    }
+
+    /**
+     * Selects the child with the highest UCT value. Unvisited children are tried first, best ordered first,
+     * and a child known to win the game is always taken.
+     *
+     * @param node The node whose children are compared.
+     * @return The selected child.
+     */
+    private int Select(int node) {
+        int first = _firstChild[node];
+        int end = first + _childCount[node];
+        double logVisits = Math.log(Math.max(_visits[node], 1));
+        int best = first;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int child = first; child < end; child++) {
+            if (_visits[child] == 0 || _winning[child]) {
+                return child;
+            }
+            double value = _wins[child] / _visits[child] + _exploration * Math.sqrt(logVisits / _visits[child]);
+            if (value > bestValue) {
+                bestValue = value;
+                best = child;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Adds the children of a node to the pool: the MAX_CHILDREN candidate moves with the best heuristic score, best first.
+     *
+     * @param node   The node to expand.
+     * @param colour The colour to move at the node.
+     * @return True if the node is expanded, false if the pool has no room left.
+     */
+    private boolean Expand(int node, char colour) {
+        int count = 0;
+        long[] candidates = _board.GetCandidateMoves();
+        if (BitBoard.IsEmpty(candidates)) {
+            // nothing is placed yet, so the only sensible move is the center
+            if (_board.isPositionEmpty(Board.CENTER_BOARD, Board.CENTER_BOARD)) {
+                _candidates[count++] = BitBoard.Index(Board.CENTER_BOARD, Board.CENTER_BOARD);
+            }
+        } else {
+            for (int index = BitBoard.NextSetBit(candidates, 0); index >= 0; index = BitBoard.NextSetBit(candidates, index + 1)) {
+                int score = MoveScore(index, colour);
+                // insertion sort of the best MAX_CHILDREN, best first
+                int position = Math.min(count, MAX_CHILDREN);
+                if (position == MAX_CHILDREN && _candidateScores[MAX_CHILDREN - 1] >= score) {
+                    continue;
+                }
+                while (position > 0 && _candidateScores[position - 1] < score) {
+                    if (position < MAX_CHILDREN) {
+                        _candidates[position] = _candidates[position - 1];
+                        _candidateScores[position] = _candidateScores[position - 1];
+                    }
+                    position--;
+                }
+                _candidates[position] = index;
+                _candidateScores[position] = score;
+                count = Math.min(count + 1, MAX_CHILDREN);
+            }
+        }
+        if (_nodeCount + count > _move.length) {
+            return false;
+        }
+        _firstChild[node] = _nodeCount;
+        _childCount[node] = count;
+        for (int i = 0; i < count; i++) {
+            int child = _nodeCount++;
+            _move[child] = _candidates[i];
+            _firstChild[child] = UNEXPANDED;
+            _childCount[child] = 0;
+            _visits[child] = 0;
+            _wins[child] = 0;
+            _winning[child] = false;
+        }
+        return true;
+    }
+
+    /**
+     * Plays random moves from the current position, each the best of a few sampled candidates, until someone wins.
+     *
+     * @param colour The colour to move.
+     * @return The colour of the winner, or DRAW if nobody won within MAX_PLAYOUT_MOVES moves.
+     */
+    private char Playout(char colour) {
+        for (int i = 0; i < MAX_PLAYOUT_MOVES; i++) {
+            int move = PlayoutMove(colour);
+            if (move == -1 || !_board.MakeMove(move / Board.BOARD_SIZE, move % Board.BOARD_SIZE, colour)) {
+                return DRAW;
+            }
+            if (IsWin(colour)) {
+                return colour;
+            }
+            colour = GetOppositeColour(colour);
+        }
+        return DRAW;
+    }
+
+    /**
+     * Chooses a playout move: PLAYOUT_SAMPLES candidate moves are drawn at random and the one with the best heuristic score is played.
+     *
+     * @param colour The colour to move.
+     * @return The index of the move, or -1 if there is no candidate.
+     */
+    private int PlayoutMove(char colour) {
+        long[] candidates = _board.GetCandidateMoves();
+        int count = BitBoard.Count(candidates);
+        if (count == 0) {
+            return _board.isPositionEmpty(Board.CENTER_BOARD, Board.CENTER_BOARD) ? BitBoard.Index(Board.CENTER_BOARD, Board.CENTER_BOARD) : -1;
+        }
+        int best = -1;
+        int bestScore = -1;
+        for (int i = 0; i < PLAYOUT_SAMPLES; i++) {
+            int index = BitBoard.NthSetBit(candidates, NextRandom(count));
+            int score = MoveScore(index, colour);
+            if (score > bestScore) {
+                bestScore = score;
+                best = index;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Scores a move from the points and captures it makes for the colour and the ones it takes away from the opponent.
+     */
+    private int MoveScore(int index, char colour) {
+        int row = index / Board.BOARD_SIZE;
+        int column = index % Board.BOARD_SIZE;
+        char opponent = GetOppositeColour(colour);
+        return 4 * _board.CalculatePoint(row, column, colour) + 3 * _board.CalculatePoint(row, column, opponent)
+                + 2 * CountCaptures(index, colour) + CountCaptures(index, opponent);
+    }
+
+    /**
+     * Counts the pairs a piece of the given colour would capture at a position.
+     */
+    private int CountCaptures(int index, char colour) {
+        int captures = 0;
+        for (int axis = 0; axis < 4; axis++) {
+            captures += PatternTable.Captures(PatternTable.Get(_board.GetWindow(index, axis), colour));
+        }
+        return captures;
+    }
+
+    /**
+     * Checks if the last move played by the given colour won the game.
+     */
+    private boolean IsWin(char colour) {
+        return _board.GetLastMovePoints() >= 5 || _board.GetCapturePoints(colour) >= CAPTURES_TO_WIN;
+    }
+
+    /**
+     * Draws a random number below the bound from a xorshift generator.
+     */
+    private int NextRandom(int bound) {
+        _random ^= _random << 13;
+        _random ^= _random >>> 7;
+        _random ^= _random << 17;
+        return (int) (((_random >>> 33) * bound) >>> 31);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.pente.Model;
+
+/**
+ * MoveListener receives the explanations of the moves made by the players and the strategy,
+ * so that the engine does not depend on the screen showing them. GameActivity implements it for the app,
+ * and headless runs can pass SILENT or a listener of their own.
+ */
+public interface MoveListener {
+
+    /**
+     * A listener that ignores every message.
+     */
+    MoveListener SILENT = new MoveListener() {
+        @Override
+        public void AddLogMessage(String message) {
+        }
+
+        @Override
+        public void ShowMessage(String message) {
+        }
+    };
+
+    /**
+     * Records an explanation in the move log.
+     *
+     * @param message The explanation.
+     */
+    void AddLogMessage(String message);
+
+    /**
+     * Shows a message the player has to see now, like the answer to a help request or a move that breaks the rules.
+     *
+     * @param message The message.
+     */
+    void ShowMessage(String message);
+}
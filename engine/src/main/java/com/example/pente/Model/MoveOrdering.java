@@ -0,0 +1,148 @@
+package com.example.pente.Model;
+
+/**
+ * MoveOrdering ranks the moves of an alpha-beta search so that the ones most likely to cut the search off come first:
+ * the hash move, then the captures by the number of pairs they take, then the two killer moves of the ply,
+ * then the remaining moves by their static score and their history.
+ * The killer moves are the last quiet moves that caused a cutoff at a ply, and the history table counts
+ * the cutoffs of each position per colour, weighted by the depth left. Everything is kept in primitive arrays
+ * that live as long as the engine and are cleared by Reset at the start of a game.
+ */
+public class MoveOrdering {
+
+    public static final int KILLER_SLOTS = 2;
+    // History counts are halved when one reaches this, so that they keep fitting in the quiet move rank
+    public static final int MAX_HISTORY = 0xFFFF;
+
+    // Ranks of each kind of move; a higher rank is searched first
+    private static final int HASH_RANK = Integer.MAX_VALUE;
+    private static final int CAPTURE_RANK = 3 << 28;
+    private static final int KILLER_RANK = 2 << 28;
+    private static final int CAPTURE_SHIFT = 20;
+    private static final int STATIC_SHIFT = 16;
+
+    // _killers[ply][slot], -1 for an empty slot
+    private final int[][] _killers;
+    // _history[colour index][position]
+    private final int[][] _history = new int[2][BitBoard.CELLS];
+
+    /**
+     * Constructs the ordering for a search of the given number of plies.
+     *
+     * @param maxPly The number of plies that keep killer moves.
+     */
+    public MoveOrdering(int maxPly) {
+        _killers = new int[maxPly][KILLER_SLOTS];
+        Reset();
+    }
+
+    /**
+     * Forgets the killer moves and the history, at the start of a game.
+     */
+    public void Reset() {
+        for (int[] killers : _killers) {
+            for (int slot = 0; slot < KILLER_SLOTS; slot++) {
+                killers[slot] = -1;
+            }
+        }
+        for (int[] history : _history) {
+            for (int i = 0; i < history.length; i++) {
+                history[i] = 0;
+            }
+        }
+    }
+
+    /**
+     * Halves the history and forgets the killer moves before a new search, so that the last moves weigh the most.
+     */
+    public void Age() {
+        for (int[] killers : _killers) {
+            for (int slot = 0; slot < KILLER_SLOTS; slot++) {
+                killers[slot] = -1;
+            }
+        }
+        for (int[] history : _history) {
+            for (int i = 0; i < history.length; i++) {
+                history[i] >>= 1;
+            }
+        }
+    }
+
+    /**
+     * Ranks a move for the move list of a ply.
+     *
+     * @param move        The index of the position.
+     * @param colour      The colour to move.
+     * @param ply         The distance from the root.
+     * @param hashMove    The best move stored for the position, or -1.
+     * @param captures    The number of pairs the move captures, as counted by CalculateTotalCapture.
+     * @param staticScore The score from the points and captures the move makes and prevents, from 0 to 255.
+     * @return The rank of the move, higher first.
+     */
+    public int Rank(int move, char colour, int ply, int hashMove, int captures, int staticScore) {
+        if (move == hashMove) {
+            return HASH_RANK;
+        }
+        if (captures > 0) {
+            return CAPTURE_RANK + (captures << CAPTURE_SHIFT) + staticScore;
+        }
+        int[] killers = _killers[ply];
+        for (int slot = 0; slot < KILLER_SLOTS; slot++) {
+            if (killers[slot] == move) {
+                return KILLER_RANK + KILLER_SLOTS - slot;
+            }
+        }
+        return (staticScore << STATIC_SHIFT) + _history[Zobrist.ColourIndex(colour)][move];
+    }
+
+    /**
+     * Records a move that cut the search off. Captures already come early, so only quiet moves become killers,
+     * and every cutoff adds the square of the depth left to the history of the move.
+     *
+     * @param move    The index of the position.
+     * @param colour  The colour that played the move.
+     * @param ply     The distance from the root.
+     * @param depth   The depth left at the ply.
+     * @param capture True if the move captured a pair.
+     */
+    public void RecordCutoff(int move, char colour, int ply, int depth, boolean capture) {
+        if (!capture) {
+            int[] killers = _killers[ply];
+            if (killers[0] != move) {
+                System.arraycopy(killers, 0, killers, 1, KILLER_SLOTS - 1);
+                killers[0] = move;
+            }
+        }
+        int[] history = _history[Zobrist.ColourIndex(colour)];
+        history[move] += depth * depth;
+        if (history[move] > MAX_HISTORY) {
+            for (int[] colourHistory : _history) {
+                for (int i = 0; i < colourHistory.length; i++) {
+                    colourHistory[i] >>= 1;
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets a killer move of a ply.
+     *
+     * @param ply  The distance from the root.
+     * @param slot The slot, 0 for the most recent.
+     * @return The index of the killer move, or -1 if the slot is empty.
+     */
+    public int GetKiller(int ply, int slot) {
+        return _killers[ply][slot];
+    }
+
+    /**
+     * Gets the history count of a move.
+     *
+     * @param move   The index of the position.
+     * @param colour The colour to consider.
+     * @return The history count.
+     */
+    public int GetHistory(int move, char colour) {
+        return _history[Zobrist.ColourIndex(colour)][move];
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.pente.Model;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * OpeningBook answers the first moves of a game from a file of positions seen in earlier games.
+ * Positions are keyed by their canonical key under the eight symmetries of the board, so one entry covers every orientation.
+ * The file is a header followed by fixed-size entries sorted by key and then by move:
+ * the canonical key, the move in the canonical orientation, its weight, and the wins and games of the player making it.
+ * It is mapped into memory and searched in place, so a lookup is a binary search over the mapping and nothing is loaded on the heap.
+ * OpeningBookBuilder writes the file.
+ */
+public class OpeningBook {
+
+    public static final int MAGIC = 0x50424B31;
+    public static final int HEADER_BYTES = 8;
+    // key, move, weight, wins, games
+    public static final int ENTRY_BYTES = 8 + 2 + 2 + 4 + 4;
+    private static final int MOVE_OFFSET = 8;
+    private static final int WEIGHT_OFFSET = 10;
+    private static final int WINS_OFFSET = 12;
+    private static final int GAMES_OFFSET = 16;
+
+    private final MappedByteBuffer _buffer;
+    private final int _entries;
+
+    private OpeningBook(MappedByteBuffer buffer, int entries) {
+        _buffer = buffer;
+        _entries = entries;
+    }
+
+    /**
+     * Opens a book file.
+     *
+     * @param file The book file.
+     * @return The book, or null if the file cannot be read or is not a book.
+     */
+    public static OpeningBook Open(File file) {
+        try (RandomAccessFile input = new RandomAccessFile(file, "r")) {
+            return Open(input.getChannel(), 0, input.length());
+        } catch (IOException e) {
+            Log.d("TAG", "Open: Could not open the opening book " + file);
+            return null;
+        }
+    }
+
+    /**
+     * Opens a book stored in part of a file, for example an uncompressed asset of the application package.
+     * The mapping stays valid after the channel is closed.
+     *
+     * @param channel The channel of the file.
+     * @param offset  The position of the book in the file.
+     * @param length  The length of the book.
+     * @return The book, or null if the data is not a book.
+     */
+    public static OpeningBook Open(FileChannel channel, long offset, long length) {
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+            if (length < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+                Log.d("TAG", "Open: The file is not an opening book");
+                return null;
+            }
+            int entries = buffer.getInt(4);
+            if (HEADER_BYTES + (long) entries * ENTRY_BYTES > length) {
+                Log.d("TAG", "Open: The opening book is truncated");
+                return null;
+            }
+            return new OpeningBook(buffer, entries);
+        } catch (IOException e) {
+            Log.d("TAG", "Open: Could not map the opening book");
+            return null;
+        }
+    }
+
+    public int GetEntryCount() {
+        return _entries;
+    }
+
+    /**
+     * Finds the best book move for the position on the board: the one with the highest weight.
+     *
+     * @param board The board, with the colour to move set as its side to move.
+     * @return An array [row, column] in the orientation of the board, or null if the position is not in the book.
+     */
+    public int[] Probe(Board board) {
+        int symmetry = Symmetry.CanonicalSymmetry(board);
+        long key = Symmetry.Key(board, symmetry);
+        int entry = FindFirst(key);
+        if (entry == -1) {
+            return null;
+        }
+        int best = -1;
+        int bestWeight = -1;
+        for (; entry < _entries && KeyAt(entry) == key; entry++) {
+            int move = _buffer.getShort(Offset(entry) + MOVE_OFFSET);
+            int weight = _buffer.getShort(Offset(entry) + WEIGHT_OFFSET) & 0xFFFF;
+            int index = Symmetry.Inverse(symmetry, move);
+            if (weight > bestWeight && board.isPositionEmpty(index / Board.BOARD_SIZE, index % Board.BOARD_SIZE)) {
+                bestWeight = weight;
+                best = index;
+            }
+        }
+        return (best == -1) ? null : new int[]{best / Board.BOARD_SIZE, best % Board.BOARD_SIZE};
+    }
+
+    /**
+     * Counts the book moves stored for a canonical key.
+     *
+     * @param key The canonical key.
+     * @return The number of moves.
+     */
+    public int CountMoves(long key) {
+        int count = 0;
+        int entry = FindFirst(key);
+        for (; entry != -1 && entry < _entries && KeyAt(entry) == key; entry++) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Gets the wins and games of a book move.
+     *
+     * @param key  The canonical key.
+     * @param move The move in the canonical orientation.
+     * @return An array [wins, games], or null if the move is not in the book.
+     */
+    public int[] GetStatistics(long key, int move) {
+        int entry = FindFirst(key);
+        for (; entry != -1 && entry < _entries && KeyAt(entry) == key; entry++) {
+            if (_buffer.getShort(Offset(entry) + MOVE_OFFSET) == move) {
+                return new int[]{_buffer.getInt(Offset(entry) + WINS_OFFSET), _buffer.getInt(Offset(entry) + GAMES_OFFSET)};
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Binary search for the first entry of a key.
+     *
+     * @return The entry number, or -1 if the key is not in the book.
+     */
+    private int FindFirst(long key) {
+        int low = 0;
+        int high = _entries;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (KeyAt(middle) < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return (low < _entries && KeyAt(low) == key) ? low : -1;
+    }
+
+    private long KeyAt(int entry) {
+        return _buffer.getLong(Offset(entry));
+    }
+
+    private static int Offset(int entry) {
+        return HEADER_BYTES + entry * ENTRY_BYTES;
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.pente.Model;
+
+import static com.example.pente.Model.Board.GetOppositeColour;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * OpeningBookBuilder collects game records and writes the opening book file read by OpeningBook.
+ * Every position of the first plies of a game is counted under its canonical key, with the move played in the canonical orientation,
+ * so games that only differ by a rotation or a reflection add up. The records can come from earlier games
+ * or from self-play with the alpha-beta engine.
+ */
+public class OpeningBookBuilder {
+
+    public static final int DEFAULT_BOOK_PLY = 12;
+    public static final int DEFAULT_MIN_GAMES = 2;
+    // Moves of a self-play game before it is counted as a draw
+    private static final int MAX_GAME_MOVES = 150;
+    private static final int CAPTURES_TO_WIN = 5;
+
+    private final int _bookPly;
+    // _statistics[canonical key][canonical move] = {wins, games}
+    private final Map<Long, Map<Integer, int[]>> _statistics = new HashMap<>();
+    private int _games;
+
+    /**
+     * Constructs a builder for the given number of plies from the start of a game.
+     *
+     * @param bookPly The number of plies of each game added to the book.
+     */
+    public OpeningBookBuilder(int bookPly) {
+        _bookPly = bookPly;
+    }
+
+    public int GetGameCount() {
+        return _games;
+    }
+
+    public int GetPositionCount() {
+        return _statistics.size();
+    }
+
+    /**
+     * Adds a game record.
+     *
+     * @param moves  The indexes of the moves, white first.
+     * @param winner The colour of the winner, or any other character for a draw.
+     * @return True if the record is added, false if a move cannot be played.
+     */
+    public boolean AddGame(int[] moves, char winner) {
+        Board board = new Board();
+        char colour = Board.WHITE_PIECE;
+        for (int ply = 0; ply < moves.length && ply < _bookPly; ply++) {
+            long key = Symmetry.CanonicalKey(board);
+            int move = Symmetry.CanonicalMove(board, moves[ply]);
+            if (!board.MakeMove(moves[ply] / Board.BOARD_SIZE, moves[ply] % Board.BOARD_SIZE, colour)) {
+                return false;
+            }
+            Map<Integer, int[]> positionMoves = _statistics.get(key);
+            if (positionMoves == null) {
+                positionMoves = new HashMap<>();
+                _statistics.put(key, positionMoves);
+            }
+            int[] statistics = positionMoves.get(move);
+            if (statistics == null) {
+                statistics = new int[2];
+                positionMoves.put(move, statistics);
+            }
+            statistics[0] += (winner == colour) ? 1 : 0;
+            statistics[1]++;
+            colour = GetOppositeColour(colour);
+        }
+        _games++;
+        return true;
+    }
+
+    /**
+     * Plays games of the alpha-beta engine against itself and adds them. The first move is the centre,
+     * the next few are drawn at random near the pieces, white's second move keeping three intersections away from the centre,
+     * and the engine plays the rest.
+     *
+     * @param games       The number of games.
+     * @param depth       The search depth of the engine.
+     * @param randomPlies The number of random plies after the centre.
+     * @param seed        The seed of the random moves.
+     */
+    public void AddSelfPlayGames(int games, int depth, int randomPlies, long seed) {
+        Random random = new Random(seed);
+        for (int game = 0; game < games; game++) {
+            Board board = new Board();
+            AlphaBetaEngine engine = new AlphaBetaEngine(board, depth);
+            List<Integer> moves = new ArrayList<>();
+            char colour = Board.WHITE_PIECE;
+            char winner = Board.INITIAL_BOARD_PIECE;
+            for (int ply = 0; ply < MAX_GAME_MOVES; ply++) {
+                int move;
+                if (ply == 0) {
+                    move = BitBoard.Index(Board.CENTER_BOARD, Board.CENTER_BOARD);
+                } else if (ply <= randomPlies || ply == 2) {
+                    move = RandomMove(board, random, ply == 2);
+                } else {
+                    int[] best = engine.BestMove(colour);
+                    move = (best[0] == -1) ? -1 : BitBoard.Index(best[0], best[1]);
+                }
+                if (move == -1 || !board.MakeMove(move / Board.BOARD_SIZE, move % Board.BOARD_SIZE, colour)) {
+                    break;
+                }
+                moves.add(move);
+                if (board.GetLastMovePoints() >= 5 || board.GetCapturePoints(colour) >= CAPTURES_TO_WIN) {
+                    winner = colour;
+                    break;
+                }
+                colour = GetOppositeColour(colour);
+            }
+            int[] record = new int[moves.size()];
+            for (int i = 0; i < record.length; i++) {
+                record[i] = moves.get(i);
+            }
+            AddGame(record, winner);
+        }
+    }
+
+    /**
+     * Draws a random candidate move, keeping white's second move three intersections away from the centre.
+     */
+    private static int RandomMove(Board board, Random random, boolean secondWhiteMove) {
+        long[] candidates = board.GetCandidateMoves();
+        int count = BitBoard.Count(candidates);
+        for (int attempt = 0; attempt < 100 && count > 0; attempt++) {
+            int move = BitBoard.NthSetBit(candidates, random.nextInt(count));
+            if (!secondWhiteMove || board.IsSecondPieceValid(move / Board.BOARD_SIZE, move % Board.BOARD_SIZE)) {
+                return move;
+            }
+        }
+        // no candidate is far enough, so take the first valid position
+        for (int move = 0; move < BitBoard.CELLS; move++) {
+            if (board.IsSecondPieceValid(move / Board.BOARD_SIZE, move % Board.BOARD_SIZE)) {
+                return move;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Writes the book, keeping the moves played in at least the given number of games.
+     * The weight of a move is its smoothed winning rate in thousandths, (wins + 1) / (games + 2).
+     *
+     * @param file     The book file to write.
+     * @param minGames The fewest games a move needs to be kept.
+     * @return The number of entries written.
+     * @throws IOException If the file cannot be written.
+     */
+    public int Write(File file, int minGames) throws IOException {
+        long[] keys = new long[_statistics.size()];
+        int keyCount = 0;
+        int entries = 0;
+        for (Map.Entry<Long, Map<Integer, int[]>> position : _statistics.entrySet()) {
+            keys[keyCount++] = position.getKey();
+            for (int[] statistics : position.getValue().values()) {
+                if (statistics[1] >= minGames) {
+                    entries++;
+                }
+            }
+        }
+        Arrays.sort(keys);
+
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            output.writeInt(OpeningBook.MAGIC);
+            output.writeInt(entries);
+            for (long key : keys) {
+                Map<Integer, int[]> positionMoves = _statistics.get(key);
+                int[] moves = new int[positionMoves.size()];
+                int moveCount = 0;
+                for (int move : positionMoves.keySet()) {
+                    moves[moveCount++] = move;
+                }
+                Arrays.sort(moves);
+                for (int move : moves) {
+                    int[] statistics = positionMoves.get(move);
+                    if (statistics[1] < minGames) {
+                        continue;
+                    }
+                    output.writeLong(key);
+                    output.writeShort(move);
+                    output.writeShort((int) (1000L * (statistics[0] + 1) / (statistics[1] + 2)));
+                    output.writeInt(statistics[0]);
+                    output.writeInt(statistics[1]);
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Builds a book from self-play: OpeningBookBuilder &lt;book file&gt; [games] [depth].
+     *
+     * @param args The book file, the number of games and the search depth.
+     * @throws IOException If the book cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: OpeningBookBuilder <book file> [games] [depth]");
+            return;
+        }
+        int games = (args.length > 1) ? Integer.parseInt(args[1]) : 200;
+        int depth = (args.length > 2) ? Integer.parseInt(args[2]) : 2;
+        OpeningBookBuilder builder = new OpeningBookBuilder(DEFAULT_BOOK_PLY);
+        builder.AddSelfPlayGames(games, depth, 4, System.nanoTime());
+        int entries = builder.Write(new File(args[0]), DEFAULT_MIN_GAMES);
+        System.out.println(builder.GetGameCount() + " games, " + builder.GetPositionCount() + " positions, " + entries + " book entries");
+    }
+}
@@ -0,0 +1,245 @@
+package com.example.pente.Model;
+
+/**
+ * PatternTable classifies the line through a position from a precomputed lookup table.
+ * The window is the four positions on each side of the position along one axis, two bits each
+ * (EMPTY, WHITE, BLACK or OFF_BOARD), read by Board.GetWindow; the position itself is taken to hold the colour being evaluated.
+ * Every one of the 65536 windows is classified once when the class is loaded, for either colour,
+ * and the tables are only read afterwards, so they can be shared by any number of threads.
+ */
+public final class PatternTable {
+
+    // Codes of the positions in a window
+    public static final int EMPTY = 0;
+    public static final int WHITE = 1;
+    public static final int BLACK = 2;
+    public static final int OFF_BOARD = 3;
+    public static final int WINDOW_CELLS = 8;
+    public static final int WINDOWS = 1 << (2 * WINDOW_CELLS);
+
+    // Threat classes, weakest first
+    public static final int NONE = 0;
+    public static final int TWO = 1;
+    public static final int SPLIT_THREE = 2;
+    public static final int OPEN_THREE = 3;
+    public static final int FOUR = 4;
+    public static final int OPEN_FOUR = 5;
+    public static final int FIVE = 6;
+
+    // Layout of a pattern: the threat class, the pairs captured, the capture threats made and the vulnerable pair flag
+    private static final int CLASS_MASK = 0x7;
+    private static final int CAPTURE_SHIFT = 3;
+    private static final int CAPTURE_THREAT_SHIFT = 5;
+    private static final int VULNERABLE_FLAG = 1 << 7;
+
+    // Evaluation weights of each threat class and capture feature
+    private static final int[] THREAT_VALUE = {0, 2, 15, 40, 60, 2000, 5000};
+    private static final int CAPTURE_VALUE = 150;
+    private static final int CAPTURE_THREAT_VALUE = 20;
+    private static final int VULNERABLE_VALUE = 30;
+
+    // PATTERNS[colour index][window]
+    private static final byte[][] PATTERNS = new byte[2][WINDOWS];
+
+    static {
+        int[] line = new int[WINDOW_CELLS + 1];
+        for (int window = 0; window < WINDOWS; window++) {
+            for (int i = 0; i < WINDOW_CELLS; i++) {
+                line[Offset(i) + WINDOW_CELLS / 2] = (window >>> (2 * i)) & 3;
+            }
+            line[WINDOW_CELLS / 2] = WHITE;
+            PATTERNS[0][window] = (byte) Classify(line, WHITE, BLACK);
+            line[WINDOW_CELLS / 2] = BLACK;
+            PATTERNS[1][window] = (byte) Classify(line, BLACK, WHITE);
+        }
+    }
+
+    private PatternTable() {
+    }
+
+    /**
+     * Gets the offset from the position of a cell of the window: cells 0 to 3 are at -4 to -1 and cells 4 to 7 at +1 to +4.
+     *
+     * @param cell The cell of the window.
+     * @return The offset along the axis.
+     */
+    public static int Offset(int cell) {
+        return (cell < WINDOW_CELLS / 2) ? cell - WINDOW_CELLS / 2 : cell - WINDOW_CELLS / 2 + 1;
+    }
+
+    /**
+     * Gets the pattern of a window for a piece of the given colour placed at its centre.
+     *
+     * @param window The window read by Board.GetWindow.
+     * @param colour The colour of the piece.
+     * @return The packed pattern, read with ThreatClass, Captures, CaptureThreats and IsVulnerable.
+     */
+    public static int Get(int window, char colour) {
+        return PATTERNS[Zobrist.ColourIndex(colour)][window] & 0xFF;
+    }
+
+    public static int ThreatClass(int pattern) {
+        return pattern & CLASS_MASK;
+    }
+
+    /**
+     * Gets the number of pairs the piece captures along the axis.
+     *
+     * @param pattern The pattern.
+     * @return The number of pairs captured, 0 to 2.
+     */
+    public static int Captures(int pattern) {
+        return (pattern >>> CAPTURE_SHIFT) & 3;
+    }
+
+    /**
+     * Gets the number of opponent pairs the piece threatens to capture with its next move along the axis.
+     *
+     * @param pattern The pattern.
+     * @return The number of threatened pairs, 0 to 2.
+     */
+    public static int CaptureThreats(int pattern) {
+        return (pattern >>> CAPTURE_THREAT_SHIFT) & 3;
+    }
+
+    /**
+     * Checks if the piece makes a pair of its own colour that the opponent can capture with its next move.
+     *
+     * @param pattern The pattern.
+     * @return True if the pair is vulnerable, false otherwise.
+     */
+    public static boolean IsVulnerable(int pattern) {
+        return (pattern & VULNERABLE_FLAG) != 0;
+    }
+
+    /**
+     * Gets the value of a pattern for the static evaluation.
+     *
+     * @param pattern The pattern.
+     * @return The value of the pattern.
+     */
+    public static int Value(int pattern) {
+        return THREAT_VALUE[ThreatClass(pattern)] + CAPTURE_VALUE * Captures(pattern)
+                + CAPTURE_THREAT_VALUE * CaptureThreats(pattern) - (IsVulnerable(pattern) ? VULNERABLE_VALUE : 0);
+    }
+
+    /**
+     * Classifies a line of nine cells whose centre holds the own piece.
+     */
+    private static int Classify(int[] line, int own, int opponent) {
+        int centre = WINDOW_CELLS / 2;
+        int pattern = ThreatOf(line, own);
+
+        int captures = 0;
+        int captureThreats = 0;
+        boolean vulnerable = false;
+        for (int sign = -1; sign <= 1; sign += 2) {
+            int one = line[centre + sign];
+            int two = line[centre + 2 * sign];
+            int three = line[centre + 3 * sign];
+            if (one == opponent && two == opponent) {
+                if (three == own) {
+                    captures++;
+                } else if (three == EMPTY) {
+                    captureThreats++;
+                }
+            }
+            // a pair of exactly two, closed by the opponent on one end and open on the other
+            if (one == own && two != own && line[centre - sign] != own) {
+                int before = line[centre - sign];
+                if ((before == opponent && two == EMPTY) || (before == EMPTY && two == opponent)) {
+                    vulnerable = true;
+                }
+            }
+        }
+        pattern |= captures << CAPTURE_SHIFT;
+        pattern |= captureThreats << CAPTURE_THREAT_SHIFT;
+        return vulnerable ? pattern | VULNERABLE_FLAG : pattern;
+    }
+
+    /**
+     * Finds the strongest threat through the centre of a line.
+     */
+    private static int ThreatOf(int[] line, int own) {
+        int centre = WINDOW_CELLS / 2;
+        int run = 1;
+        for (int i = centre - 1; i >= 0 && line[i] == own; i--) {
+            run++;
+        }
+        for (int i = centre + 1; i < line.length && line[i] == own; i++) {
+            run++;
+        }
+        if (run >= 5) {
+            return FIVE;
+        }
+        int completions = CountCompletions(line, own);
+        if (completions >= 2) {
+            return OPEN_FOUR;
+        }
+        if (completions == 1) {
+            return FOUR;
+        }
+        // a three is one move away from an open four
+        for (int i = 0; i < line.length; i++) {
+            if (line[i] != EMPTY) {
+                continue;
+            }
+            line[i] = own;
+            boolean makesOpenFour = CountCompletions(line, own) >= 2;
+            line[i] = EMPTY;
+            if (makesOpenFour) {
+                return (run == 3) ? OPEN_THREE : SPLIT_THREE;
+            }
+        }
+        if (run == 2 && CanReachFive(line, own)) {
+            return TWO;
+        }
+        return NONE;
+    }
+
+    /**
+     * Counts the distinct empty positions that would complete a five through the centre of a line.
+     */
+    private static int CountCompletions(int[] line, int own) {
+        int centre = WINDOW_CELLS / 2;
+        int completions = 0;
+        for (int start = centre - 4; start <= centre; start++) {
+            int pieces = 0;
+            int empty = -1;
+            boolean blocked = false;
+            for (int i = start; i < start + 5; i++) {
+                if (line[i] == own) {
+                    pieces++;
+                } else if (line[i] == EMPTY) {
+                    empty = i;
+                } else {
+                    blocked = true;
+                }
+            }
+            if (!blocked && pieces == 4) {
+                completions |= 1 << empty;
+            }
+        }
+        return Integer.bitCount(completions);
+    }
+
+    /**
+     * Checks if there is room for a five through the centre of a line.
+     */
+    private static boolean CanReachFive(int[] line, int own) {
+        int centre = WINDOW_CELLS / 2;
+        for (int start = centre - 4; start <= centre; start++) {
+            boolean blocked = false;
+            for (int i = start; i < start + 5; i++) {
+                if (line[i] != own && line[i] != EMPTY) {
+                    blocked = true;
+                    break;
+                }
+            }
+            if (!blocked) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,10 +1,5 @@
 package com.example.pente.Model;
 
-import android.util.Log;
-
-import com.example.pente.Controller.TournamentController;
-import com.example.pente.View.GameActivity;
-
 import java.io.Serializable;
 /**
  * Player is an abstract class representing a participant in the Pente game.
@@ -202,10 +197,10 @@ public abstract class Player implements Serializable {
      * @param board         The game board.
      * @param strategy      The strategy for making a move.
      * @param rowCol        The row and column of the move.
-     * @param gameActivity  The GameActivity instance.
+     * @param listener      The listener told about the move.
      * @return True if the move is successful, false otherwise.
      */
-    public abstract boolean makeMove(Board board, Strategy strategy, int[] rowCol, GameActivity gameActivity);
+    public abstract boolean makeMove(Board board, Strategy strategy, int[] rowCol, MoveListener listener);
 
     /**
      * Resets the player's statistics for a new game.
@@ -0,0 +1,231 @@
+package com.example.pente.Model;
+
+import static com.example.pente.Model.Board.GetOppositeColour;
+
+/**
+ * Ponderer thinks on the opponent's time. Once the computer has moved, a background thread predicts the opponent's reply
+ * with a shallow search, plays it on a copy of the board and prepares the computer's answer to it the way Strategy.BestMove would:
+ * a forced win, then a defence against a forced win, then the alpha-beta search deepening until it is stopped.
+ * When the opponent plays the predicted move the prepared answer is used straight away; otherwise it is dropped,
+ * and the entries the pondering left in the shared transposition table still speed up the real search.
+ * Pondering only ever holds one board copy and a few engines, whose memory is fixed, and runs for at most PONDER_TIME_LIMIT.
+ */
+public class Ponderer {
+
+    // Longest time spent pondering one move, in milliseconds
+    public static final long PONDER_TIME_LIMIT = 30000;
+    // Depth of the search predicting the opponent's reply
+    public static final int PREDICTION_DEPTH = 2;
+    private static final int CAPTURES_TO_WIN = 5;
+
+    // The engine playing the computer's moves, whose transposition table the pondering fills
+    private final AlphaBetaEngine _engine;
+    private Thread _thread;
+    private volatile boolean _cancelled;
+    // The search running on the pondering thread, stopped on cancel
+    private volatile AlphaBetaEngine _search;
+    // The search preparing the answer to the predicted move, once it has started
+    private volatile AlphaBetaEngine _answerSearch;
+    private char _colour;
+    private volatile int _predictedMove = -1;
+    private volatile int[] _answer;
+    private volatile int _answerDepth;
+    // The prepared answer once the opponent played the predicted move, until it is taken
+    private int[] _hitMove;
+
+    /**
+     * Constructs a ponderer preparing the moves of the given engine.
+     *
+     * @param engine The engine playing the computer's moves.
+     */
+    public Ponderer(AlphaBetaEngine engine) {
+        _engine = engine;
+    }
+
+    /**
+     * Starts pondering on the current position, where the opponent of the given colour is to move.
+     * A pondering still running is cancelled first.
+     *
+     * @param board  The game board, copied before this method returns.
+     * @param colour The colour of the computer.
+     * @return True if the pondering is started, false otherwise.
+     */
+    public boolean Start(Board board, final char colour) {
+        Cancel();
+        _cancelled = false;
+        _colour = colour;
+        _predictedMove = -1;
+        _answer = null;
+        _answerDepth = 0;
+        _answerSearch = null;
+        _hitMove = null;
+        final Board copy = new Board(board);
+        _thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                Ponder(copy, colour);
+            }
+        }, "ponder");
+        _thread.setDaemon(true);
+        _thread.setPriority(Thread.MIN_PRIORITY);
+        _thread.start();
+        return true;
+    }
+
+    /**
+     * Stops pondering because the opponent played the given move.
+     * If it is the predicted move and the pondering got at least as deep as the engine's last search,
+     * the prepared answer is kept for TakeMove.
+     *
+     * @param row    The row of the opponent's move.
+     * @param column The column of the opponent's move.
+     * @return True if the opponent played the predicted move and an answer is ready, false otherwise.
+     */
+    public boolean Stop(int row, int column) {
+        if (_thread == null) {
+            return false;
+        }
+        Cancel();
+        int[] answer = _answer;
+        if (_predictedMove != BitBoard.Index(row, column) || answer == null || answer[0] == -1
+                || _answerDepth < GetRequiredDepth()) {
+            Log.d("TAG", "Stop: The pondering missed the move played");
+            return false;
+        }
+        _hitMove = answer;
+        return true;
+    }
+
+    /**
+     * Cancels the pondering and waits for its thread to finish.
+     */
+    public void Cancel() {
+        if (_thread == null) {
+            return;
+        }
+        _cancelled = true;
+        AlphaBetaEngine search = _search;
+        if (search != null) {
+            search.Stop();
+        }
+        try {
+            _thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        _thread = null;
+        _search = null;
+    }
+
+    /**
+     * Takes the answer prepared for the predicted move, once Stop has confirmed the hit.
+     *
+     * @param colour The colour to move.
+     * @return An array [row, column], or null if there is no answer for the colour.
+     */
+    public int[] TakeMove(char colour) {
+        if (colour != _colour) {
+            return null;
+        }
+        int[] move = _hitMove;
+        _hitMove = null;
+        return move;
+    }
+
+    public boolean IsPondering() {
+        return _thread != null;
+    }
+
+    /**
+     * Tells whether Stop would keep an answer if the predicted move were played now: the answer is a forced move,
+     * or its search has completed at least the depth of the engine's last search.
+     *
+     * @return True if an answer to the predicted move is ready, false otherwise.
+     */
+    public boolean IsAnswerReady() {
+        if (_predictedMove == -1) {
+            return false;
+        }
+        int[] answer = _answer;
+        if (answer != null) {
+            return answer[0] != -1 && _answerDepth >= GetRequiredDepth();
+        }
+        AlphaBetaEngine search = _answerSearch;
+        return search != null && search.GetCompletedDepth() >= GetRequiredDepth();
+    }
+
+    /**
+     * Gets the depth a prepared answer needs, so that it is not weaker than the move the engine would search itself.
+     */
+    private int GetRequiredDepth() {
+        return Math.max(1, _engine.GetCompletedDepth());
+    }
+
+    /**
+     * Gets the opponent's move the pondering expects.
+     *
+     * @return The index of the predicted move, or -1 if it is not known yet.
+     */
+    public int GetPredictedMove() {
+        return _predictedMove;
+    }
+
+    /**
+     * The pondering thread: predicts the reply, plays it on the copy and prepares the answer.
+     */
+    private void Ponder(Board copy, char colour) {
+        char opponent = GetOppositeColour(colour);
+        AlphaBetaEngine predictor = new AlphaBetaEngine(copy, PREDICTION_DEPTH, _engine.GetTranspositionTable());
+        int[] predicted = Run(predictor, opponent);
+        if (predicted == null || predicted[0] == -1) {
+            return;
+        }
+        if (!copy.MakeMove(predicted[0], predicted[1], opponent)) {
+            return;
+        }
+        _predictedMove = BitBoard.Index(predicted[0], predicted[1]);
+        if (copy.GetLastMovePoints() >= 5 || copy.GetCapturePoints(opponent) >= CAPTURES_TO_WIN) {
+            // the game is over after the predicted move
+            return;
+        }
+
+        ThreatSearch threats = new ThreatSearch(copy);
+        threats.StartMove();
+        int[] forcedWin = threats.FindWin(colour);
+        if (forcedWin.length > 0) {
+            _answerDepth = AlphaBetaEngine.MAX_DEPTH;
+            _answer = new int[]{forcedWin[0] / Board.BOARD_SIZE, forcedWin[0] % Board.BOARD_SIZE};
+            return;
+        }
+        int forcedDefence = threats.FindDefence(colour);
+        threats.EndMove();
+        if (forcedDefence != -1) {
+            _answerDepth = AlphaBetaEngine.MAX_DEPTH;
+            _answer = new int[]{forcedDefence / Board.BOARD_SIZE, forcedDefence % Board.BOARD_SIZE};
+            return;
+        }
+
+        AlphaBetaEngine ponder = new AlphaBetaEngine(copy, AlphaBetaEngine.MAX_DEPTH, _engine.GetTranspositionTable());
+        ponder.SetTimeBudget(PONDER_TIME_LIMIT);
+        _answerSearch = ponder;
+        int[] answer = Run(ponder, colour);
+        if (answer != null) {
+            _answerDepth = ponder.GetCompletedDepth();
+            _answer = answer;
+        }
+    }
+
+    /**
+     * Runs a search of the pondering thread, unless the pondering is cancelled.
+     *
+     * @return The move found, or null if the pondering is cancelled before the search starts.
+     */
+    private int[] Run(AlphaBetaEngine search, char colour) {
+        _search = search;
+        // a cancel that read the previous search is seen here, one that read this search stops it
+        if (_cancelled) {
+            return null;
+        }
+        return search.BestMove(colour);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.pente.Model;
+
+/**
+ * PrincipalVariation is one line of a multi-PV analysis: a move at the root, its score, and the moves
+ * the search expects to follow it, as read back from the transposition table.
+ */
+public class PrincipalVariation {
+
+    private final int[] _moves;
+    private final int _score;
+    private final int _depth;
+
+    /**
+     * Constructs a line of the analysis.
+     *
+     * @param moves The indexes of the moves, the root move first.
+     * @param score The score of the root move for the colour playing it.
+     * @param depth The depth the line was searched to.
+     */
+    public PrincipalVariation(int[] moves, int score, int depth) {
+        _moves = moves;
+        _score = score;
+        _depth = depth;
+    }
+
+    public int GetRow() {
+        return _moves[0] / Board.BOARD_SIZE;
+    }
+
+    public int GetColumn() {
+        return _moves[0] % Board.BOARD_SIZE;
+    }
+
+    public int GetScore() {
+        return _score;
+    }
+
+    public int GetDepth() {
+        return _depth;
+    }
+
+    /**
+     * Gets the moves of the line.
+     *
+     * @return The indexes of the moves, the root move first, the colours alternating.
+     */
+    public int[] GetMoves() {
+        return _moves.clone();
+    }
+
+    /**
+     * Tells whether the search found a forced win with the move.
+     *
+     * @return True if the score is a win.
+     */
+    public boolean IsWin() {
+        return _score >= AlphaBetaEngine.WIN_THRESHOLD;
+    }
+}
@@ -0,0 +1,241 @@
+package com.example.pente.Model;
+
+import java.util.Locale;
+
+/**
+ * SearchStats describes the work behind one move chosen by Strategy.BestMove, or the sum of several moves:
+ * the nodes the search engine visited, the positions it evaluated, its transposition table probes and hits,
+ * the depth it completed, the nodes of the threat search, and the wall time spent in each phase of the cascade.
+ * <p>
+ * The counters are plain fields of the engine searching on each thread, so counting costs an increment;
+ * they are only gathered into a SearchStats when a SearchStats.Listener asks for them.
+ */
+public class SearchStats {
+
+    // The phases of Strategy.BestMove, in the order they are tried; OPENING covers the opening rules, the book and a pondered move
+    public static final int OPENING = 0;
+    public static final int THREATS = 1;
+    public static final int ENGINE = 2;
+    public static final int POINTS = 3;
+    public static final int CAPTURE = 4;
+    public static final int SEQUENCE = 5;
+    public static final int INITIATIVE = 6;
+    public static final int RANDOM = 7;
+    public static final int PHASES = 8;
+    private static final String[] PHASE_NAMES = {"opening", "threats", "engine", "points", "capture", "sequence", "initiative", "random"};
+
+    private int _moves;
+    private long _nodes;
+    private long _evaluations;
+    private long _tableProbes;
+    private long _tableHits;
+    private long _threatNodes;
+    private int _depth;
+    // The searches by depth, the depths they completed and the nodes they visited, for the branching factor
+    private int _searches;
+    private long _depthSum;
+    private long _searchNodes;
+    private long _totalNanos;
+    private final long[] _phaseNanos = new long[PHASES];
+    // How many moves each phase chose
+    private final int[] _decisions = new int[PHASES];
+
+    /**
+     * The consumer of the statistics of each move, like the arena, a debug overlay or the log.
+     */
+    public interface Listener {
+
+        /**
+         * Receives the statistics of a move just chosen. The object is not reused, so it may be kept.
+         *
+         * @param stats The statistics of the move.
+         */
+        void ReportStats(SearchStats stats);
+    }
+
+    /**
+     * A listener writing the statistics of every move to the log.
+     */
+    public static final Listener LOG = new Listener() {
+        @Override
+        public void ReportStats(SearchStats stats) {
+            Log.d("TAG", "SearchStats: " + stats);
+        }
+    };
+
+    /**
+     * Gets the name of a phase.
+     *
+     * @param phase The phase, from OPENING to RANDOM.
+     * @return The name of the phase.
+     */
+    public static String GetPhaseName(int phase) {
+        return PHASE_NAMES[phase];
+    }
+
+    /**
+     * Adds the counters of a search engine.
+     *
+     * @param nodes       The nodes visited.
+     * @param evaluations The positions evaluated.
+     * @param tableProbes The transposition table lookups.
+     * @param tableHits   The lookups that found the position.
+     * @param depth       The depth completed, 0 if the engine does not search by depth.
+     */
+    public void AddSearch(long nodes, long evaluations, long tableProbes, long tableHits, int depth) {
+        _nodes += nodes;
+        _evaluations += evaluations;
+        _tableProbes += tableProbes;
+        _tableHits += tableHits;
+        _depth = Math.max(_depth, depth);
+        if (depth > 0) {
+            _searches++;
+            _depthSum += depth;
+            _searchNodes += nodes;
+        }
+    }
+
+    public void AddThreatNodes(long nodes) {
+        _threatNodes += nodes;
+    }
+
+    public void AddPhaseTime(int phase, long nanos) {
+        _phaseNanos[phase] += nanos;
+    }
+
+    /**
+     * Ends the statistics of a move.
+     *
+     * @param decidingPhase The phase that chose the move.
+     * @param totalNanos    The wall time of the whole move.
+     */
+    public void EndMove(int decidingPhase, long totalNanos) {
+        _moves++;
+        _decisions[decidingPhase]++;
+        _totalNanos += totalNanos;
+    }
+
+    /**
+     * Adds the statistics of other moves to these, to aggregate them over a game or a match.
+     *
+     * @param other The statistics to add.
+     */
+    public void Add(SearchStats other) {
+        _moves += other._moves;
+        _nodes += other._nodes;
+        _evaluations += other._evaluations;
+        _tableProbes += other._tableProbes;
+        _tableHits += other._tableHits;
+        _depth = Math.max(_depth, other._depth);
+        _searches += other._searches;
+        _depthSum += other._depthSum;
+        _searchNodes += other._searchNodes;
+        _threatNodes += other._threatNodes;
+        _totalNanos += other._totalNanos;
+        for (int phase = 0; phase < PHASES; phase++) {
+            _phaseNanos[phase] += other._phaseNanos[phase];
+            _decisions[phase] += other._decisions[phase];
+        }
+    }
+
+    public int GetMoves() {
+        return _moves;
+    }
+
+    public long GetNodes() {
+        return _nodes;
+    }
+
+    public long GetEvaluations() {
+        return _evaluations;
+    }
+
+    public long GetTableProbes() {
+        return _tableProbes;
+    }
+
+    public long GetTableHits() {
+        return _tableHits;
+    }
+
+    /**
+     * Gets the share of transposition table probes that found the position.
+     *
+     * @return The hit rate between 0 and 1, 0 if the table was not probed.
+     */
+    public double GetTableHitRate() {
+        return (_tableProbes == 0) ? 0 : (double) _tableHits / _tableProbes;
+    }
+
+    public long GetThreatNodes() {
+        return _threatNodes;
+    }
+
+    /**
+     * Gets the deepest depth completed, over every move for aggregated statistics.
+     *
+     * @return The depth, 0 if no search by depth ran.
+     */
+    public int GetDepth() {
+        return _depth;
+    }
+
+    /**
+     * Gets how many moves ran a search by depth.
+     *
+     * @return The number of searches, 0 if none ran.
+     */
+    public int GetSearches() {
+        return _searches;
+    }
+
+    /**
+     * Gets the effective branching factor, the number of moves a node would need for the nodes of an average search
+     * to fill a uniform tree of the average depth it completed. Only the moves that ran a search by depth count.
+     *
+     * @return The branching factor, 0 if no search by depth ran.
+     */
+    public double GetEffectiveBranchingFactor() {
+        if (_searches == 0 || _searchNodes == 0) {
+            return 0;
+        }
+        double nodesPerSearch = (double) _searchNodes / _searches;
+        double depth = (double) _depthSum / _searches;
+        return Math.pow(nodesPerSearch, 1.0 / depth);
+    }
+
+    public long GetTotalNanos() {
+        return _totalNanos;
+    }
+
+    public long GetPhaseNanos(int phase) {
+        return _phaseNanos[phase];
+    }
+
+    /**
+     * Gets how many moves a phase chose.
+     *
+     * @param phase The phase.
+     * @return The number of moves.
+     */
+    public int GetDecisions(int phase) {
+        return _decisions[phase];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(String.format(Locale.ROOT,
+                "%d move(s) in %.1f ms, nodes %d, evaluations %d, table hits %d/%d (%.0f%%), depth %d, branching %.2f, threat nodes %d, phases",
+                _moves, _totalNanos / 1e6, _nodes, _evaluations, _tableHits, _tableProbes, GetTableHitRate() * 100,
+                _depth, GetEffectiveBranchingFactor(), _threatNodes));
+        for (int phase = 0; phase < PHASES; phase++) {
+            if (_phaseNanos[phase] > 0 || _decisions[phase] > 0) {
+                text.append(String.format(Locale.ROOT, " %s %.2f ms", PHASE_NAMES[phase], _phaseNanos[phase] / 1e6));
+                if (_decisions[phase] > 0) {
+                    text.append(" (").append(_decisions[phase]).append(" chosen)");
+                }
+            }
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,956 @@
+package com.example.pente.Model;
+
+import static com.example.pente.Model.Board.ConvertToLabelledRowColumn;
+import static com.example.pente.Model.Board.GetOppositeColour;
+import static com.example.pente.Model.Board.WHITE_PIECE;
+
+import java.io.Serializable;
+import java.util.Random;
+
+public class Strategy implements Serializable {
+    Board _board;
+    private int[] RightDiagUpCode = new int[]{-1, 1};
+    private int[] RightDiagDownCode = new int[]{1, -1};
+    private int[] LeftDiagUpCode = new int[]{-1, -1};
+    private int[] LeftDiagDownCode = new int[]{1, 1};
+    private int[] VerticalUpCode = new int[]{-1, 0};
+    private int[] VerticalDownCode = new int[]{+1, 0};
+    private int[] HorizontalLeftCode = new int[]{0, -1};
+    private int[] HorizontalRightCode = new int[]{0, 1};
+
+    // Receives the explanations of the chosen moves
+    private transient MoveListener _listener;
+    // Scratch set for the positions worth scanning
+    private final long[] _candidateMoves = new long[BitBoard.WORDS];
+    // Optional search engine replacing the heuristic cascade once the opening moves are placed
+    private transient Engine _engine;
+    // Solver for forced wins and defences, consulted before the engine and the heuristic cascade
+    private transient ThreatSearch _threatSearch;
+    // Features of every position for the BestMove cascade, created on first use
+    private transient FeatureMap _featureMap;
+    // Prepares the engine's next move on the opponent's time, null when not pondering
+    private transient Ponderer _ponderer;
+    // Moves of earlier games for the opening, null to work every move out
+    private transient OpeningBook _openingBook;
+    // Board and search ranking the moves for the help hints, kept from one analysis to the next, created on first use
+    private transient Board _analysisBoard;
+    private transient AlphaBetaEngine _analysisEngine;
+    // Receives the statistics of every move, null to leave the moves uninstrumented
+    private transient SearchStats.Listener _statsListener;
+    // The statistics of the move being chosen while a listener is set, and the phase of the cascade it is in
+    private transient SearchStats _moveStats;
+    private int _phase;
+    private long _phaseStart;
+    // Time the help analysis may take when the engine has no budget of its own
+    private static final long ANALYSIS_TIME_BUDGET = 2000;
+    private final int[][] codeSequence = {RightDiagUpCode, RightDiagDownCode, LeftDiagUpCode, LeftDiagDownCode, HorizontalRightCode, HorizontalLeftCode, VerticalUpCode, VerticalDownCode};
+    // Board.DIRECTION_CODE index of each code in codeSequence
+    private static final int[] codeDirection = {4, 5, 7, 6, 0, 1, 3, 2};
+    // Board.DIRECTION_CODE index of the direction along each BitBoard axis that runs forward in row-major order
+    private static final int[] FORWARD_DIRECTION = {0, 2, 5, 6};
+
+    public Strategy(Board board, MoveListener listener){
+        _board = board;
+        _listener = (listener != null) ? listener : MoveListener.SILENT;
+
+    }
+    /**
+     * Sets the search engine used by BestMove instead of the heuristic cascade.
+     *
+     * @param engine The engine to use, or null to go back to the heuristic cascade.
+     */
+    public void SetEngine(Engine engine) {
+        CancelPondering();
+        _ponderer = null;
+        _engine = engine;
+        // the next analysis shares the table of the new engine
+        _analysisEngine = null;
+    }
+
+    /**
+     * Gets the search engine used by BestMove.
+     *
+     * @return The engine, or null if the heuristic cascade is used.
+     */
+    public Engine GetEngine() {
+        return _engine;
+    }
+
+    /**
+     * Sets the opening book BestMove answers from while the position is in it.
+     *
+     * @param openingBook The opening book, or null to work every move out.
+     */
+    public void SetOpeningBook(OpeningBook openingBook) {
+        _openingBook = openingBook;
+    }
+
+    public OpeningBook GetOpeningBook() {
+        return _openingBook;
+    }
+
+    /**
+     * Gets the threat search used by BestMove, creating it on first use.
+     *
+     * @return The threat search on this strategy's board.
+     */
+    public ThreatSearch GetThreatSearch() {
+        if (_threatSearch == null) {
+            _threatSearch = new ThreatSearch(_board);
+        }
+        return _threatSearch;
+    }
+
+    /**
+     * Gets the feature map BestMove selects its move from, creating it on first use.
+     *
+     * @return The feature map on this strategy's board.
+     */
+    public FeatureMap GetFeatureMap() {
+        if (_featureMap == null) {
+            _featureMap = new FeatureMap(_board);
+        }
+        return _featureMap;
+    }
+
+    /**
+     * Starts thinking about the next move of the given colour while its opponent is to move.
+     * Pondering needs the alpha-beta engine, whose transposition table it fills.
+     *
+     * @param colour The colour of the computer, which has just moved.
+     * @return True if the pondering is started, false otherwise.
+     */
+    public boolean StartPondering(char colour) {
+        if (!(_engine instanceof AlphaBetaEngine)) {
+            Log.d("TAG", "StartPondering: Pondering needs the alpha-beta engine");
+            return false;
+        }
+        if (_ponderer == null) {
+            _ponderer = new Ponderer((AlphaBetaEngine) _engine);
+        }
+        return _ponderer.Start(_board, colour);
+    }
+
+    /**
+     * Stops pondering because the opponent is about to play the given move.
+     * If it is the move the pondering expected, the next BestMove answers with the prepared move.
+     *
+     * @param row    The row of the opponent's move.
+     * @param column The column of the opponent's move.
+     * @return True if the pondering expected the move, false otherwise.
+     */
+    public boolean StopPondering(int row, int column) {
+        return _ponderer != null && _ponderer.Stop(row, column);
+    }
+
+    /**
+     * Prepares the engine for a new game: the pondering is cancelled and what the engine learned is forgotten.
+     */
+    public void NewGame() {
+        CancelPondering();
+        if (_engine != null) {
+            _engine.NewGame();
+        }
+    }
+
+    /**
+     * Cancels the pondering, for example when the game is left or reset.
+     */
+    public void CancelPondering() {
+        if (_ponderer != null) {
+            _ponderer.Cancel();
+        }
+    }
+
+    /**
+     * Ranks the best moves for the given colour with one multi-PV search, for the help hints.
+     * The search runs on a board of its own set to the given position, so that it can run on another thread
+     * while the game goes on, one analysis at a time. Its engine is kept from one analysis to the next and,
+     * when the engine is the alpha-beta engine, shares its transposition table.
+     *
+     * @param position The position to analyse, a copy the game does not change while the search runs.
+     * @param colour   The colour to move.
+     * @param lines    The number of moves to rank.
+     * @return The ranked lines, best first, or an empty array if the search completed no depth.
+     */
+    public PrincipalVariation[] Analyse(Board position, char colour, int lines) {
+        AlphaBetaEngine engine = _analysisEngine;
+        if (engine == null) {
+            _analysisBoard = new Board(position);
+            if (_engine instanceof AlphaBetaEngine) {
+                AlphaBetaEngine main = (AlphaBetaEngine) _engine;
+                engine = new AlphaBetaEngine(_analysisBoard, main.GetDepth(), main.GetTranspositionTable());
+            } else {
+                engine = new AlphaBetaEngine(_analysisBoard);
+            }
+            engine.SetTimeBudget(ANALYSIS_TIME_BUDGET);
+            _analysisEngine = engine;
+        } else {
+            _analysisBoard.CopyFrom(position);
+        }
+        return engine.Analyse(colour, lines);
+    }
+
+    /**
+     * Sets the time the search engine may spend on each move.
+     *
+     * @param milliseconds The time budget per move, or 0 for no limit.
+     * @return True if the budget is set on the engine, false if there is no engine.
+     */
+    public boolean SetMoveTimeBudget(long milliseconds) {
+        return _engine != null && _engine.SetTimeBudget(milliseconds);
+    }
+    /**
+     * Generates random coordinates for a move.
+     * @return Array containing row and column of the selected move.
+     */
+    int[] GenerateRandom() {
+        try {
+
+            Random rand = new Random();
+            int row = rand.nextInt(19);
+            int column = rand.nextInt(19);
+
+            // Keep generating random moves until a valid and empty position on the board is found.
+            while (!_board.isPositionEmpty(row, column)) {
+                row = rand.nextInt(19);
+                column = rand.nextInt(19);
+            }
+
+            // Return the selected move coordinates as an array.
+            return new int[]{row, column};
+        } catch (Exception e) {
+            e.printStackTrace();
+            System.err.println("Could not generate random");
+
+            // Return an invalid move if an error occurs.
+            return new int[]{-1, -1};
+        }
+    }
+    /**
+     * Generates random coordinates for a second move, considering specific conditions.
+     * @return Array containing row and column of the selected move.
+     */
+    int[] GenerateSecondRandom() {
+        try {
+
+            Random rand = new Random();
+            int row = rand.nextInt(19);
+            int column = rand.nextInt(19);
+
+            // Keep generating random moves until a valid and empty position on the board is found.
+            while (!_board.isPositionEmpty(row, column) && !_board.IsSecondPieceValid(row, column)) {
+                row = rand.nextInt(19);
+                column = rand.nextInt(19);
+            }
+
+            // Return the selected move coordinates as an array.
+            return new int[]{row, column};
+        } catch (Exception e) {
+            e.printStackTrace();
+            System.err.println("Could not generate random");
+
+            // Return an invalid move if an error occurs.
+            return new int[]{-1, -1};
+        }
+    }
+    /**
+     * Calculates the point for a given position based on the color of the piece.
+     * @param row The row of the position.
+     * @param column The column of the position.
+     * @param colour The color of the piece.
+     * @return The calculated point for the position.
+     */
+    public int CalculatePoint(int row, int column, char colour) {
+        try{
+            return _board.CalculatePoint(row, column, colour);
+        }catch (Exception e){
+            Log.d("TAG", "CalculatePoint: there was something wrong for calculating point for row "+ row + " column + " + column);
+            return -1;
+        }
+    }
+    /**
+     * Calculates the total number of captured pieces in various directions from a given position.
+     * @param row The row of the position.
+     * @param column The column of the position.
+     * @param colour The color of the piece.
+     * @param removeFlag Flag indicating whether to remove captured pieces.
+     * @return The total number of captured pieces.
+     */
+    public int CalculateTotalCapture(int row, int column, char colour, boolean removeFlag){
+        try{
+            int capturePoint = 0;
+            if(!removeFlag){
+                // counting only: the pattern table reads the pairs off the window of each axis
+                int index = BitBoard.Index(row, column);
+                for (int axis = 0; axis < 4; axis++) {
+                    capturePoint += PatternTable.Captures(PatternTable.Get(_board.GetWindow(index, axis), colour));
+                }
+                return capturePoint;
+            }
+            char opponent = GetOppositeColour(colour);
+            for (int i = 0; i < codeSequence.length; i++) {
+                // exactly two opponent pieces next to the position in this direction
+                if(_board.GetRun(row, column, opponent, codeDirection[i]) == 2){
+                    // the point 3 intersection away
+                    int[] rowCol = CalculatePontAtPositionXFar(row, column, 3, codeSequence[i]);
+                    if(rowCol[0] != -1 && rowCol[1] != -1){
+                        if(_board.GetBoard()[rowCol[0]][rowCol[1]] == colour){
+                            capturePoint++;
+                            if(removeFlag){
+                                // remove the pieces in middle
+                                int[] oneIntersectionAway = CalculatePontAtPositionXFar(row, column, 1, codeSequence[i]);
+                                int[] twoIntersectionAway = CalculatePontAtPositionXFar(row, column, 2, codeSequence[i]);
+                                _board.RemovePiece(oneIntersectionAway[0], oneIntersectionAway[1]);
+                                _board.RemovePiece(twoIntersectionAway[0], twoIntersectionAway[1]);
+                            }
+                        }
+                    }
+                }
+            }
+            return capturePoint;
+        }catch (Exception e){
+            Log.e("TAG", "CalculateTotalCapture: Something went wrong with capturing the point");
+            return 0;
+        }
+
+    }
+    /**
+     * Calculates the position at a certain distance in a specific direction from a given position.
+     * @param row The row of the starting position.
+     * @param column The column of the starting position.
+     * @param x The distance to calculate.
+     * @param directionCode The code indicating the direction of calculation.
+     * @return The calculated row and column for the new position.
+     */
+    public int[] CalculatePontAtPositionXFar(int row, int column, int x, int[] directionCode){
+        try{
+            int newRow = row + (x * directionCode[0]);
+            int newColumn = column + (x * directionCode[1]);
+            if (newRow > 18 || newRow < 0) {
+                return new int[]{-1, -1};
+            }
+            if (newColumn > 18 || newColumn < 0) {
+                return new int[]{-1, -1};
+            }
+            return new int[]{newRow, newColumn};
+        }catch (Exception e){
+            e.printStackTrace();
+            return new int[]{-1, -1};
+        }
+    }
+    /**
+     * Calculates the total number of pieces in the right diagonal from a given position.
+     * The run lengths are kept by the Board as pieces are placed and removed, so this is a lookup.
+     * @param row The row of the starting position.
+     * @param column The column of the starting position.
+     * @param colour The color of the piece.
+     * @return The total number of pieces in the right diagonal.
+     */
+
+    public int TotalRightDiagonalPieces(int row, int column, char colour) {
+        return _board.GetRunLength(row, column, colour, BitBoard.RIGHT_DIAGONAL);
+    }
+    /**
+     * Calculates the total number of pieces in the left diagonal from a given position.
+     * @param row The row of the starting position.
+     * @param column The column of the starting position.
+     * @param colour The color of the piece.
+     * @return The total number of pieces in the left diagonal.
+     */
+
+    public int TotalLeftDiagonalPieces(int row, int column, char colour) {
+        return _board.GetRunLength(row, column, colour, BitBoard.LEFT_DIAGONAL);
+    }
+    /**
+     * Calculates the total number of pieces in the vertical from a given position.
+     * @param row The row of the starting position.
+     * @param column The column of the starting position.
+     * @param colour The color of the piece.
+     * @return The total number of pieces in the vertical.
+     */
+
+    public int TotalVerticalPieces(int row, int column, char colour) {
+        return _board.GetRunLength(row, column, colour, BitBoard.VERTICAL);
+    }
+    /**
+     * Calculates the total number of pieces in the horizontal from a given position.
+     * @param row The row of the starting position.
+     * @param column The column of the starting position.
+     * @param colour The color of the piece.
+     * @return The total number of pieces in the horizontal direction.
+     */
+
+    public int TotalHorizontalPieces(int row, int column, char colour) {
+        return _board.GetRunLength(row, column, colour, BitBoard.HORIZONTAL);
+    }
+    /**
+     * Recursively checks the total number of pieces of a specific color in a given direction, following a multiplier code.
+     *
+     * @param row           The starting row.
+     * @param column        The starting column.
+     * @param colour        The color to count.
+     * @param multiplierCode The direction in which to check.
+     * @param totalPieces   The running total of pieces encountered.
+     * @return The total number of pieces of the specified color in the given direction.
+     */
+    public int CheckForTotalNumberOfPiece(int row, int column, char colour, int[] multiplierCode, int totalPieces){
+        try{
+            if (row < 0 || row > 18) {
+                return totalPieces;
+            }
+            if (column < 0 || column > 18) {
+                return totalPieces;
+            }
+            if (_board.isPositionEmpty(row, column)) {
+                return totalPieces;
+            }
+            if (_board.GetBoard()[row][column] == GetOppositeColour(colour)) {
+                return totalPieces;
+            }
+            return CheckForTotalNumberOfPiece(row + multiplierCode[0], column + multiplierCode[1], colour, multiplierCode, ++totalPieces);
+        }catch (Exception e){
+            Log.d("TAG", "CalculatePoint: there was something wrong for calculating point for row "+ row + " column + " + column);
+            return  -1;
+        }
+    }
+    /**
+     * Recursively checks the total number of empty positions in a given direction, following a multiplier code.
+     *
+     * @param row           The starting row.
+     * @param column        The starting column.
+     * @param multiplierCode The direction in which to check.
+     * @param totalPieces   The running total of empty positions encountered.
+     * @return The total number of empty positions in the given direction.
+     */
+    public int CheckForTotalNumberOfEmptyPiece(int row, int column, int[] multiplierCode, int totalPieces){
+        try{
+            if (row < 0 || row > 18) {
+                return totalPieces;
+            }
+            if (column < 0 || column > 18) {
+                return totalPieces;
+            }
+            if (!_board.isPositionEmpty(row, column)) {
+                return totalPieces;
+            }
+            return CheckForTotalNumberOfEmptyPiece(row + multiplierCode[0], column + multiplierCode[1], multiplierCode, ++totalPieces);
+        }catch (Exception e){
+            Log.d("TAG", "CheckForTotalNumberOfEmptyPiece: there was something wrong for calculating point for row "+ row + " column + " + column);
+            return  -1;
+        }
+    }
+    /**
+     * Finds the best position for building initiative based on the current position of a piece.
+     * @param row The row of the current position.
+     * @param column The column of the current position.
+     * @param colour The color of the piece.
+     * @return The best position for building initiative.
+     */
+    public int[] BestPositionForBuildingInitiative(int row, int column, char colour){
+
+        int[] sequences = {
+                CheckForTotalNumberOfEmptyPiece(row + RightDiagUpCode[0], column + RightDiagUpCode[1],RightDiagUpCode, 0),
+                CheckForTotalNumberOfEmptyPiece(row + RightDiagDownCode[0], column + RightDiagDownCode[1],RightDiagDownCode, 0),
+                CheckForTotalNumberOfEmptyPiece(row + LeftDiagUpCode[0], column + LeftDiagUpCode[1], LeftDiagUpCode, 0),
+                CheckForTotalNumberOfEmptyPiece(row + LeftDiagDownCode[0], column + LeftDiagDownCode[1],  LeftDiagDownCode, 0),
+                CheckForTotalNumberOfEmptyPiece(row + HorizontalRightCode[0], column + HorizontalRightCode[1], HorizontalRightCode, 0),
+                CheckForTotalNumberOfEmptyPiece(row + HorizontalLeftCode[0], column + HorizontalLeftCode[1], HorizontalLeftCode, 0),
+                CheckForTotalNumberOfEmptyPiece(row + VerticalUpCode[0], column + VerticalUpCode[1], VerticalUpCode, 0),
+                CheckForTotalNumberOfEmptyPiece(row + VerticalDownCode[0], column + VerticalDownCode[1], VerticalDownCode, 0),
+        };
+        int bestDirIndex = 0;
+        int greatestPoint = 0;
+        for(int i = 0; i < sequences.length; i++){
+            if(greatestPoint < sequences[i]){
+                bestDirIndex = i;
+                greatestPoint = sequences[i];
+            }
+        }
+        return (greatestPoint >= 3) ? CalculatePontAtPositionXFar(row, column, 3, codeSequence[bestDirIndex]) : new int[]{-1,-1};
+    }
+
+    /**
+     * Determines the best position to fill for gaining initiative in the game.
+     *
+     * @param row    The starting row.
+     * @param column The starting column.
+     * @param colour The color to consider.
+     * @return An array representing the best position [row, column] to fill for gaining initiative.
+     */
+    public int[] BestPositionForFillingInitiative(int row, int column, char colour){
+        int[] sequences = {
+                CheckForTotalNumberOfEmptyPiece(row + RightDiagUpCode[0], column + RightDiagUpCode[1],RightDiagUpCode, 0),
+                CheckForTotalNumberOfEmptyPiece(row + RightDiagDownCode[0], column + RightDiagDownCode[1],RightDiagDownCode, 0),
+                CheckForTotalNumberOfEmptyPiece(row + LeftDiagUpCode[0], column + LeftDiagUpCode[1], LeftDiagUpCode, 0),
+                CheckForTotalNumberOfEmptyPiece(row + LeftDiagDownCode[0], column + LeftDiagDownCode[1],  LeftDiagDownCode, 0),
+                CheckForTotalNumberOfEmptyPiece(row + HorizontalRightCode[0], column + HorizontalRightCode[1], HorizontalRightCode, 0),
+                CheckForTotalNumberOfEmptyPiece(row + HorizontalLeftCode[0], column + HorizontalLeftCode[1], HorizontalLeftCode, 0),
+                CheckForTotalNumberOfEmptyPiece(row + VerticalUpCode[0], column + VerticalUpCode[1], VerticalUpCode, 0),
+                CheckForTotalNumberOfEmptyPiece(row + VerticalDownCode[0], column + VerticalDownCode[1], VerticalDownCode, 0),
+        };
+        for (int i = 0; i < sequences.length; i++) {
+            if(sequences[i] == 2){
+                // the point 3 intersection away
+                int[] rowCol = CalculatePontAtPositionXFar(row, column, 3, codeSequence[i]);
+                    if (rowCol[0] != -1 ) {
+                        if (_board.GetBoard()[rowCol[0]][rowCol[1]] == colour) {
+                            int[] oneIntersectionAway = CalculatePontAtPositionXFar(row, column, 1, codeSequence[i]);
+                            if(_board.isPositionEmpty(oneIntersectionAway[0], oneIntersectionAway[1])){
+                                return  oneIntersectionAway;
+                            }
+                        }
+                    }
+
+            }
+        }
+        return new int[]{-1, -1};
+    }
+    /**
+     * Calculates the best position for gaining points on the board for a given color.
+     *
+     * @param colour The color to consider.
+     * @return An array representing the best position [row, column, points] for gaining points.
+     */
+    public int[] CalculateBestPositionForPoints(char colour){
+        try{
+            int[] greatestPosition = new int[3];
+            int greatestPoint = 0;
+            // only positions next to a piece of the colour can score
+            _board.GetAdjacentMoves(colour, _candidateMoves);
+            for (int index = BitBoard.NextSetBit(_candidateMoves, 0); index >= 0; index = BitBoard.NextSetBit(_candidateMoves, index + 1)) {
+                int row = index / Board.BOARD_SIZE;
+                int column = index % Board.BOARD_SIZE;
+                int tmpPoint = CalculatePoint(row, column, colour);
+                if (tmpPoint > greatestPoint) {
+                    greatestPosition[0] = row;
+                    greatestPosition[1] = column;
+                    greatestPosition[2] = tmpPoint;
+                    greatestPoint = tmpPoint;
+                }
+            }
+            return greatestPosition;
+        } catch (Exception e) {
+            Log.e("TAG", "CalculateBestPositionForPoints: something went wrong");
+            return new int[]{-1, -1, -1};
+        }
+    }
+    /**
+     * Calculates the best position for capturing opponent pieces.
+     *
+     * @param colour The color of the player making the calculation.
+     * @return An array representing the best position [row, column, points] for capturing opponent pieces.
+     */
+    public int[] CalculateBestPositionForCapture(char colour) {
+        int[] greatestPosition = new int[3];
+        int greatestPoint = 0;
+        // the bitboard finds every capturing position at once, so only those need counting
+        _board.GetCaptureMoves(colour, _candidateMoves);
+        for (int index = BitBoard.NextSetBit(_candidateMoves, 0); index >= 0; index = BitBoard.NextSetBit(_candidateMoves, index + 1)) {
+            int row = index / Board.BOARD_SIZE;
+            int column = index % Board.BOARD_SIZE;
+            int tmpPoint = CalculateTotalCapture(row, column, colour, false);
+            if (tmpPoint > greatestPoint) {
+                greatestPosition[0] = row;
+                greatestPosition[1] = column;
+                greatestPosition[2] = tmpPoint;
+                greatestPoint = tmpPoint;
+            }
+        }
+        return greatestPosition;
+    }
+
+    /**
+     * Calculates the best position for filling initiative on the board for a given color.
+     *
+     * @param colour The color to consider.
+     * @return An array representing the best position [row, column] for filling initiative.
+     */
+    public int[] CalculateBestPositionForFillingInitiative(char colour) {
+        int[] bestPosition = new int[]{-1, -1};
+        long[] pieces = _board.GetPieces(colour);
+        for (int index = BitBoard.NextSetBit(pieces, 0); index >= 0; index = BitBoard.NextSetBit(pieces, index + 1)) {
+            int[] tmpPoint = BestPositionForFillingInitiative(index / Board.BOARD_SIZE, index % Board.BOARD_SIZE, colour);
+            if (tmpPoint[0] >= 0 && tmpPoint[1] >= 0) {
+                bestPosition[0] = tmpPoint[0];
+                bestPosition[1] = tmpPoint[1];
+                return bestPosition;
+            }
+        }
+        return bestPosition;
+    }
+
+    /**
+     * Calculates the best position for building initiative on the board for a given color.
+     *
+     * @param colour The color to consider.
+     * @return An array representing the best position [row, column] for building initiative.
+     */
+    public int[] CalculateBestPositionForBuildingInitiative(char colour) {
+        int[] bestPosition = new int[]{-1, -1};
+        long[] pieces = _board.GetPieces(colour);
+        for (int index = BitBoard.NextSetBit(pieces, 0); index >= 0; index = BitBoard.NextSetBit(pieces, index + 1)) {
+            int[] tmpPoint = BestPositionForBuildingInitiative(index / Board.BOARD_SIZE, index % Board.BOARD_SIZE, colour);
+            if (tmpPoint[0] >= 0 && tmpPoint[1] >= 0) {
+                bestPosition[0] = tmpPoint[0];
+                bestPosition[1] = tmpPoint[1];
+                return bestPosition;
+            }
+        }
+        return bestPosition;
+    }
+
+    /**
+     * Sets the listener receiving the statistics of every move BestMove chooses.
+     *
+     * @param listener The listener, or null to stop collecting statistics.
+     */
+    public void SetStatsListener(SearchStats.Listener listener) {
+        _statsListener = listener;
+    }
+
+    public SearchStats.Listener GetStatsListener() {
+        return _statsListener;
+    }
+
+    /**
+     * Determines the best move for the given color, taking into account various strategies.
+     * When a statistics listener is set, it then receives the work and the time behind the move.
+     *
+     * @param colour       The color of the player making the move.
+     * @param totalMove    The total number of moves played in the game.
+     * @param fromHelp     Indicates whether the move is generated from a help request.
+     * @return An array representing the best move [row, column] for the given color.
+     */
+    public int[] BestMove(char colour,int totalMove, boolean fromHelp){
+        if (_statsListener == null) {
+            return ChooseMove(colour, totalMove, fromHelp);
+        }
+        _moveStats = new SearchStats();
+        long start = System.nanoTime();
+        _phase = SearchStats.OPENING;
+        _phaseStart = start;
+        int[] move = ChooseMove(colour, totalMove, fromHelp);
+        long end = System.nanoTime();
+        _moveStats.AddPhaseTime(_phase, end - _phaseStart);
+        _moveStats.EndMove(_phase, end - start);
+        SearchStats stats = _moveStats;
+        _moveStats = null;
+        _statsListener.ReportStats(stats);
+        return move;
+    }
+
+    /**
+     * Moves the statistics of the move being chosen on to the next phase of the cascade.
+     *
+     * @param phase The phase starting, from SearchStats.
+     */
+    private void EnterPhase(int phase) {
+        if (_moveStats != null) {
+            long now = System.nanoTime();
+            _moveStats.AddPhaseTime(_phase, now - _phaseStart);
+            _phase = phase;
+            _phaseStart = now;
+        }
+    }
+
+    /**
+     * Runs the cascade of BestMove: the opening rules and book, the threat search, the engine, then the heuristics.
+     */
+    private int[] ChooseMove(char colour, int totalMove, boolean fromHelp){
+        // test bestMove for capture and other stuff here
+        if(totalMove == 0 && colour == WHITE_PIECE){
+            if(fromHelp){
+                _listener.ShowMessage("Since it this is the first move place it in the center of the board" + ConvertToLabelledRowColumn(9, 9));
+            }
+            _listener.AddLogMessage("Since it this is the first move place it in the center of the board" + ConvertToLabelledRowColumn(9,9));
+            return new int[] {9, 9};
+        }
+        // a move of earlier games, if the position is in the opening book
+        int[] bookMove = (_openingBook != null) ? _openingBook.Probe(_board) : null;
+        if (bookMove != null && (totalMove != 1 || colour != WHITE_PIECE || _board.IsSecondPieceValid(bookMove[0], bookMove[1]))) {
+            if(fromHelp){
+                _listener.ShowMessage("Placing the piece in " + ConvertToLabelledRowColumn(bookMove[0], bookMove[1]) + " is the move of the opening book");
+            }
+            _listener.AddLogMessage("Placing the piece in " + ConvertToLabelledRowColumn(bookMove[0], bookMove[1]) + " is the move of the opening book");
+            return bookMove;
+        }
+        if(totalMove == 1 && colour == WHITE_PIECE){
+            int[] pointCalculation = GenerateSecondRandom();
+            if(fromHelp){
+                _listener.ShowMessage("Since it this is the second move place it three intersection away from the center: " + ConvertToLabelledRowColumn(pointCalculation[0], pointCalculation[1]));
+            }
+            _listener.AddLogMessage("Since it this is the second move place it three intersection away from the center: " + ConvertToLabelledRowColumn(pointCalculation[0], pointCalculation[1]));
+            return pointCalculation;
+        }
+        // a move prepared while the opponent was thinking, if the opponent played the expected move
+        int[] ponderMove = (_ponderer != null && !fromHelp) ? _ponderer.TakeMove(colour) : null;
+        if (ponderMove != null) {
+            _listener.AddLogMessage("Placing the piece in " + ConvertToLabelledRowColumn(ponderMove[0], ponderMove[1]) + " is the move prepared while the opponent was thinking");
+            return ponderMove;
+        }
+        // a forced win found by the threat search, then a move stopping the opponent's
+        EnterPhase(SearchStats.THREATS);
+        // both searches share one budget, so the threat search of a move is bounded by a single time budget
+        ThreatSearch threats = GetThreatSearch();
+        threats.StartMove();
+        int[] forcedWin = threats.FindWin(colour);
+        if (_moveStats != null) {
+            _moveStats.AddThreatNodes(threats.GetNodes());
+        }
+        int forcedDefence = -1;
+        if (forcedWin.length == 0) {
+            forcedDefence = threats.FindDefence(colour);
+            if (_moveStats != null) {
+                _moveStats.AddThreatNodes(threats.GetNodes());
+            }
+        }
+        threats.EndMove();
+        if (forcedWin.length > 0) {
+            int[] move = {forcedWin[0] / Board.BOARD_SIZE, forcedWin[0] % Board.BOARD_SIZE};
+            if(fromHelp){
+                _listener.ShowMessage("Placing the piece in " + ConvertToLabelledRowColumn(move[0], move[1]) + " starts a forced win in " + (forcedWin.length + 1) / 2 + " move(s)");
+            }
+            _listener.AddLogMessage("Placing the piece in " + ConvertToLabelledRowColumn(move[0], move[1]) + " starts a forced win in " + (forcedWin.length + 1) / 2 + " move(s)");
+            return move;
+        }
+        if (forcedDefence != -1) {
+            int[] move = {forcedDefence / Board.BOARD_SIZE, forcedDefence % Board.BOARD_SIZE};
+            if(fromHelp){
+                _listener.ShowMessage("Placing the piece in " + ConvertToLabelledRowColumn(move[0], move[1]) + " stops a forced win of the opponent");
+            }
+            _listener.AddLogMessage("Placing the piece in " + ConvertToLabelledRowColumn(move[0], move[1]) + " stops a forced win of the opponent");
+            return move;
+        }
+        // let the search engine decide if one is set
+        if (_engine != null) {
+            EnterPhase(SearchStats.ENGINE);
+            int[] engineMove = _engine.BestMove(colour);
+            if (_moveStats != null) {
+                _engine.CollectStats(_moveStats);
+            }
+            if (engineMove[0] != -1) {
+                if(fromHelp){
+                    _listener.ShowMessage("Placing the piece in " + ConvertToLabelledRowColumn(engineMove[0], engineMove[1]) + " is the best move found by the " + _engine.GetName());
+                }
+                _listener.AddLogMessage("Placing the piece in " + ConvertToLabelledRowColumn(engineMove[0], engineMove[1]) + " is the best move found by the " + _engine.GetName());
+                return engineMove;
+            }
+        }
+        // one pass computes the points, captures and sequences the cascade selects from
+        EnterPhase(SearchStats.POINTS);
+        FeatureMap features = GetFeatureMap();
+        features.Scan();
+        //finish 5 in row
+        Log.d("TAG", "BestMove: Checking 5 in row");
+        int[] pointCalculation = features.GetBestPositionForPoints(colour);
+        if(pointCalculation[2] >= 5 ){
+            if(fromHelp){
+                _listener.ShowMessage("Placing the piece in " + ConvertToLabelledRowColumn(pointCalculation[0], pointCalculation[1])+ " will score 5 in row and you will win game");
+            }
+            _listener.AddLogMessage("Placing the piece in " + ConvertToLabelledRowColumn(pointCalculation[0], pointCalculation[1])+ " will score 5 in row and you will win game" );
+            Log.d("TAG", "BestMove: This is the best move for winning the game");
+            return pointCalculation;
+        }
+        // block 5 in a row
+        Log.d("TAG", "BestMove: Checking blocking 5 in a row");
+        pointCalculation = features.GetBestPositionForPoints(GetOppositeColour(colour));
+        if(pointCalculation[2] >= 5 ){
+            if(fromHelp){
+                _listener.ShowMessage("Placing the piece in " + ConvertToLabelledRowColumn(pointCalculation[0], pointCalculation[1])+ " will block 5 in row");
+            }
+            _listener.AddLogMessage("Placing the piece in " + ConvertToLabelledRowColumn(pointCalculation[0], pointCalculation[1])+ " will block 5 in row" );
+
+            Log.d("TAG", "BestMove: This is the best move for blocking opponent from wining the game");
+            return pointCalculation;
+        }
+        //capture pieces
+        EnterPhase(SearchStats.CAPTURE);
+        Log.d("TAG", "BestMove:Checking capturing");
+        pointCalculation = features.GetBestPositionForCapture(colour);
+        if(pointCalculation[2] >= 1){
+            if(fromHelp){
+                _listener.ShowMessage("Placing the piece in " + ConvertToLabelledRowColumn(pointCalculation[0], pointCalculation[1])+ " will capture opponents piece(s)");
+            }
+            _listener.AddLogMessage("Placing the piece in " + ConvertToLabelledRowColumn(pointCalculation[0], pointCalculation[1])+ " will capture opponents piece(s)" );
+            Log.d("TAG", "BestMove: This is the best move for capturing the opponent's pieces");
+            return pointCalculation;
+        }
+        // stop form being captured
+        Log.d("TAG", "BestMove:Blocking capture");
+        pointCalculation = features.GetBestPositionForCapture(GetOppositeColour(colour));
+        if(pointCalculation[2] >= 1){
+            if(fromHelp){
+                _listener.ShowMessage("Placing the piece in " + ConvertToLabelledRowColumn(pointCalculation[0], pointCalculation[1])+ " will prevent piece form being captured");
+            }
+            _listener.AddLogMessage("Placing the piece in " + ConvertToLabelledRowColumn(pointCalculation[0], pointCalculation[1])+ " will prevent piece form being captured" );
+            Log.d("TAG", "BestMove: This is the best move for blocking from being captured");
+            return pointCalculation;
+        }
+        //blocking
+        EnterPhase(SearchStats.POINTS);
+        Log.d("TAG", "BestMove:Checking blocking opponent");
+        pointCalculation = features.GetBestPositionForPoints(GetOppositeColour(colour));
+        if(pointCalculation[2] >= 1 ){
+            if(fromHelp){
+                _listener.ShowMessage("Placing the piece in " + ConvertToLabelledRowColumn(pointCalculation[0], pointCalculation[1])+ " will block opponent from scoring");
+            }
+            _listener.AddLogMessage("Placing the piece in " + ConvertToLabelledRowColumn(pointCalculation[0], pointCalculation[1])+ " will block opponent from scoring" );
+
+            Log.d("TAG", "BestMove: This is the best position for blocking the maximum point");
+            return pointCalculation;
+        }
+        //score
+        Log.d("TAG", "BestMove:Checking for scoring");
+        pointCalculation = features.GetBestPositionForPoints(colour);
+        if(pointCalculation[2] > 0){
+            if(fromHelp){
+                _listener.ShowMessage("Placing the piece in " + ConvertToLabelledRowColumn(pointCalculation[0], pointCalculation[1])+ " will score " + pointCalculation[2] + " point(s)" );
+            }
+            _listener.AddLogMessage("Placing the piece in " + ConvertToLabelledRowColumn(pointCalculation[0], pointCalculation[1])+ " will score " + pointCalculation[2] + " point(s)" );
+            Log.d("TAG", "BestMove: This is the best position for scoring the maximum point");
+            return pointCalculation;
+        }
+
+        //blocking sequence
+        EnterPhase(SearchStats.SEQUENCE);
+
+        pointCalculation = features.GetSequenceInRow(GetOppositeColour(colour));
+        if(pointCalculation[0] != -1){
+            if(fromHelp){
+                _listener.ShowMessage("Placing the piece in " + ConvertToLabelledRowColumn(pointCalculation[0], pointCalculation[1])+ " block initiative for "+ pointCalculation[2]+ " in row"  );
+            }
+            _listener.AddLogMessage("Placing the piece in " + ConvertToLabelledRowColumn(pointCalculation[0], pointCalculation[1])+ " block initiative for "+ pointCalculation[2]+ " in row" );
+
+            Log.d("TAG", "BestMove: This is the best position for blocking row of opponents piece");
+
+            return pointCalculation;
+        }
+        // building sequence
+        pointCalculation = features.GetSequenceInRow(colour);
+        if(pointCalculation[0] != -1){
+            if(fromHelp){
+                _listener.ShowMessage("Placing the piece in " + ConvertToLabelledRowColumn(pointCalculation[0], pointCalculation[1])+ " start initiative for 4 in row"  );
+            }
+            _listener.AddLogMessage("Placing the piece in " + ConvertToLabelledRowColumn(pointCalculation[0], pointCalculation[1])+ " start initiative for 4 in row" );
+
+            Log.d("TAG", "BestMove: This is the best position for building sequence");
+
+            return pointCalculation;
+        }
+
+        EnterPhase(SearchStats.INITIATIVE);
+        Log.d("TAG", "BestMove:Checking for blocking filling initiative");
+        pointCalculation = CalculateBestPositionForFillingInitiative(GetOppositeColour(colour));
+        if(pointCalculation[0] != -1){
+            if(fromHelp){
+                _listener.ShowMessage("Placing the piece in " + ConvertToLabelledRowColumn(pointCalculation[0], pointCalculation[1])+ " block initiative for 4 in row"  );
+            }
+            _listener.AddLogMessage("Placing the piece in " + ConvertToLabelledRowColumn(pointCalculation[0], pointCalculation[1])+ " block initiative for 4 in row" );
+
+            Log.d("TAG", "BestMove: Placing the piece in " + ConvertToLabelledRowColumn(pointCalculation[0], pointCalculation[1])+ " block initiative for 4 in row");
+
+            return pointCalculation;
+        }
+        Log.d("TAG", "BestMove:Checking filling initiative");
+        pointCalculation = CalculateBestPositionForFillingInitiative(colour);
+        if(pointCalculation[0] != -1){
+            if(fromHelp){
+                _listener.ShowMessage("Placing the piece in " + ConvertToLabelledRowColumn(pointCalculation[0], pointCalculation[1])+ " filling initiative for 4 in row"  );
+            }
+            _listener.AddLogMessage("Placing the piece in " + ConvertToLabelledRowColumn(pointCalculation[0], pointCalculation[1])+ " filling initiative for 4 in row" );
+            Log.d("TAG", "BestMove: Placing the piece in " + ConvertToLabelledRowColumn(pointCalculation[0], pointCalculation[1])+ " filling initiative for 4 in row" );
+            return pointCalculation;
+        }
+        Log.d("TAG", "BestMove:Checking for building initiative");
+        pointCalculation = CalculateBestPositionForBuildingInitiative(colour);
+        if(pointCalculation[0] != -1){
+            if(fromHelp){
+                _listener.ShowMessage("BestMove: This is the best position for starting the initiative : " + ConvertToLabelledRowColumn(pointCalculation[0], pointCalculation[1]) );
+            }
+            _listener.AddLogMessage("BestMove: This is the best position for starting the initiative : " + ConvertToLabelledRowColumn(pointCalculation[0], pointCalculation[1]) );
+            Log.d("TAG", "BestMove: This is the best position for starting the initiative: " + ConvertToLabelledRowColumn(pointCalculation[0], pointCalculation[1]));
+            return pointCalculation;
+        }
+        EnterPhase(SearchStats.RANDOM);
+        if(fromHelp){
+            _listener.ShowMessage("This is random position since no other options were valid");
+        }
+        Log.d("TAG", "BestMove:Checking for random position");
+        _listener.AddLogMessage("Generating a random position" );
+        return GenerateRandom();
+    }
+    /**
+     * Calculates the sequence of pieces in a row for the given color, considering diagonals, horizontal, and vertical directions.
+     *
+     * @param colour The color for which to calculate the sequence.
+     * @return An array [row, column, length] representing the position and length of the calculated sequence, or [-1, -1, -1] if no sequence is found.
+     */
+   public int[] CalculateSequenceInRow(char colour){
+        // a sequence needs a piece of the colour right next to the position
+        _board.GetAdjacentMoves(colour, _candidateMoves);
+        for (int index = BitBoard.NextSetBit(_candidateMoves, 0); index >= 0; index = BitBoard.NextSetBit(_candidateMoves, index + 1)) {
+            int row = index / Board.BOARD_SIZE;
+            int column = index % Board.BOARD_SIZE;
+            int sequence = SequenceAt(row, column, colour);
+            if (sequence > 0) {
+                return new int[]{row, column, sequence};
+            }
+        }
+        return new int[]{-1,-1, -1};
+    }
+
+    /**
+     * Gets the first sequence longer than two through a position, checking the right diagonal, left diagonal, horizontal and vertical in turn.
+     *
+     * @param row The row of the position.
+     * @param column The column of the position.
+     * @param colour The color of the piece.
+     * @return The length of the sequence, or 0 if there is none.
+     */
+    private int SequenceAt(int row, int column, char colour) {
+        int[] sequences = {
+                TotalRightDiagonalPieces(row, column, colour) + 1,
+                TotalLeftDiagonalPieces(row, column, colour) + 1,
+                TotalHorizontalPieces(row, column, colour) + 1,
+                TotalVerticalPieces(row, column, colour) + 1
+        };
+        for (int i : sequences) {
+            if (i > 2) {
+                return i;
+            }
+        }
+        return 0;
+    }
+    /**
+     * Calculates the total score of the loaded round for the given color.
+     *
+     * @param colour The color for which to calculate the score.
+     * @return The total score for the loaded round, or -1 in case of an error.
+     */
+    public int CalculatedScoreInLoadedRound(char colour){
+        try{
+            int totalScore = 0;
+            // Scoring every piece in row-major order and lifting it afterwards means a piece only
+            // sees the rows running forward from it: every position behind it is already empty.
+            // The forward runs are read straight from the board, so nothing is removed or copied.
+            for (int row = 0; row < Board.BOARD_SIZE; row++)
+            {
+                for (int column = 0; column < Board.BOARD_SIZE; column++)
+                {
+                    if(!_board.isPositionEmpty(row, column)){
+                        totalScore += Board.CalculatePoint(
+                                _board.GetRun(row, column, colour, FORWARD_DIRECTION[BitBoard.RIGHT_DIAGONAL]) + 1,
+                                _board.GetRun(row, column, colour, FORWARD_DIRECTION[BitBoard.LEFT_DIAGONAL]) + 1,
+                                _board.GetRun(row, column, colour, FORWARD_DIRECTION[BitBoard.HORIZONTAL]) + 1,
+                                _board.GetRun(row, column, colour, FORWARD_DIRECTION[BitBoard.VERTICAL]) + 1);
+                    }
+                }
+            }
+            return totalScore;
+        }catch (Exception e){
+            Log.d("TAG", "CalculatedScoreInLoadedRound: Could not caculate the captured piece in the loaded round");
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.pente.Model;
+
+/**
+ * Symmetry holds the eight rotations and reflections of the board and the canonical key of a position,
+ * the smallest Zobrist key over its eight orientations. Positions that are the same up to a symmetry share their canonical key,
+ * so tables keyed by it, like the opening book, hold one entry for all of them.
+ * The board keeps the key of every orientation up to date move by move, so canonicalising is eight comparisons.
+ * A move stored in the canonical orientation is brought back onto the board with Inverse.
+ */
+public final class Symmetry {
+
+    public static final int COUNT = 8;
+    public static final int IDENTITY = 0;
+
+    // TRANSFORM[symmetry][index] is the position the index is moved to
+    private static final int[][] TRANSFORM = new int[COUNT][BitBoard.CELLS];
+    private static final int[] INVERSE = new int[COUNT];
+
+    static {
+        int last = Board.BOARD_SIZE - 1;
+        for (int row = 0; row < Board.BOARD_SIZE; row++) {
+            for (int column = 0; column < Board.BOARD_SIZE; column++) {
+                int index = BitBoard.Index(row, column);
+                TRANSFORM[0][index] = index;
+                TRANSFORM[1][index] = BitBoard.Index(column, last - row);
+                TRANSFORM[2][index] = BitBoard.Index(last - row, last - column);
+                TRANSFORM[3][index] = BitBoard.Index(last - column, row);
+                TRANSFORM[4][index] = BitBoard.Index(row, last - column);
+                TRANSFORM[5][index] = BitBoard.Index(last - row, column);
+                TRANSFORM[6][index] = BitBoard.Index(column, row);
+                TRANSFORM[7][index] = BitBoard.Index(last - column, last - row);
+            }
+        }
+        for (int symmetry = 0; symmetry < COUNT; symmetry++) {
+            for (int inverse = 0; inverse < COUNT; inverse++) {
+                boolean undoes = true;
+                for (int index = 0; index < BitBoard.CELLS && undoes; index++) {
+                    undoes = TRANSFORM[inverse][TRANSFORM[symmetry][index]] == index;
+                }
+                if (undoes) {
+                    INVERSE[symmetry] = inverse;
+                }
+            }
+        }
+    }
+
+    private Symmetry() {
+    }
+
+    /**
+     * Moves a position by a symmetry.
+     *
+     * @param symmetry The symmetry, from 0 to COUNT - 1.
+     * @param index    The index of the position.
+     * @return The index of the moved position.
+     */
+    public static int Transform(int symmetry, int index) {
+        return TRANSFORM[symmetry][index];
+    }
+
+    /**
+     * Moves a position back by a symmetry, so that Inverse(s, Transform(s, index)) is the index again.
+     *
+     * @param symmetry The symmetry, from 0 to COUNT - 1.
+     * @param index    The index of the moved position.
+     * @return The index of the original position.
+     */
+    public static int Inverse(int symmetry, int index) {
+        return TRANSFORM[INVERSE[symmetry]][index];
+    }
+
+    /**
+     * Gets the Zobrist key the position would have after being moved by a symmetry, as kept by the board.
+     *
+     * @param board    The board.
+     * @param symmetry The symmetry.
+     * @return The key of the moved position.
+     */
+    public static long Key(Board board, int symmetry) {
+        return board.GetSymmetryKey(symmetry);
+    }
+
+    /**
+     * Computes the key of Key from the pieces on the board, for checking the incremental keys.
+     * The capture counts and the side to move are the same in every orientation.
+     *
+     * @param board    The board.
+     * @param symmetry The symmetry.
+     * @return The key of the moved position.
+     */
+    public static long ComputeKey(Board board, int symmetry) {
+        long key = Zobrist.SideToMoveKey(board.GetSideToMove())
+                ^ Zobrist.CaptureKey(Board.WHITE_PIECE, board.GetCapturePoints(Board.WHITE_PIECE))
+                ^ Zobrist.CaptureKey(Board.BLACK_PIECE, board.GetCapturePoints(Board.BLACK_PIECE));
+        int[] transform = TRANSFORM[symmetry];
+        for (char colour : new char[]{Board.WHITE_PIECE, Board.BLACK_PIECE}) {
+            long[] pieces = board.GetPieces(colour);
+            for (int index = BitBoard.NextSetBit(pieces, 0); index >= 0; index = BitBoard.NextSetBit(pieces, index + 1)) {
+                key ^= Zobrist.PieceKey(colour, transform[index]);
+            }
+        }
+        return key;
+    }
+
+    /**
+     * Finds the symmetry that gives the position its canonical key, the smallest of the eight keys.
+     * Ties go to the lowest symmetry, so that the choice is the same every time.
+     *
+     * @param board The board.
+     * @return The canonical symmetry.
+     */
+    public static int CanonicalSymmetry(Board board) {
+        int best = IDENTITY;
+        long bestKey = Key(board, IDENTITY);
+        for (int symmetry = 1; symmetry < COUNT; symmetry++) {
+            long key = Key(board, symmetry);
+            if (key < bestKey) {
+                bestKey = key;
+                best = symmetry;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Moves a move of the position into the canonical orientation. When the position is symmetric several symmetries
+     * give the canonical key, and the one giving the smallest index is taken, so that equivalent moves share one index.
+     *
+     * @param board The board.
+     * @param move  The index of the move.
+     * @return The index of the move in the canonical orientation.
+     */
+    public static int CanonicalMove(Board board, int move) {
+        long canonicalKey = Long.MAX_VALUE;
+        int canonicalMove = -1;
+        for (int symmetry = 0; symmetry < COUNT; symmetry++) {
+            long key = Key(board, symmetry);
+            int image = TRANSFORM[symmetry][move];
+            if (key < canonicalKey || (key == canonicalKey && image < canonicalMove)) {
+                canonicalKey = key;
+                canonicalMove = image;
+            }
+        }
+        return canonicalMove;
+    }
+
+    /**
+     * Gets the canonical key of a position, the same for all eight of its orientations.
+     *
+     * @param board The board.
+     * @return The canonical key.
+     */
+    public static long CanonicalKey(Board board) {
+        return Key(board, CanonicalSymmetry(board));
+    }
+}
@@ -0,0 +1,426 @@
+package com.example.pente.Model;
+
+import static com.example.pente.Model.Board.GetOppositeColour;
+
+/**
+ * ThreatSearch looks for forced wins by playing forcing moves only: fours, then open and split threes,
+ * and capture threats once a fifth pair would win. The defender only gets to try the moves that can stop the threat,
+ * so a line can be followed much deeper than a full-width search would reach.
+ * A search is bounded by a node budget and a time budget, and plays on the game board with Board.MakeMove,
+ * leaving it unchanged. Between StartMove and EndMove the searches of one move share a single budget,
+ * so looking for a win and then for a defence costs no more than one search.
+ */
+public class ThreatSearch {
+
+    // The budget of one move: the search runs on the UI thread for the computer's moves and the help,
+    // and most forced wins it finds are found well within it
+    public static final int DEFAULT_NODE_BUDGET = 2000;
+    public static final int DEFAULT_TIME_BUDGET = 20;
+    // Most attacking moves in a line made only of fours, and in a line that may use threes
+    public static final int MAX_FOUR_THREATS = 10;
+    public static final int MAX_THREE_THREATS = 4;
+    private static final int MAX_PLY = 2 * MAX_FOUR_THREATS + 2;
+    private static final int CAPTURES_TO_WIN = 5;
+
+    private final Board _board;
+    private long _nodeBudget = DEFAULT_NODE_BUDGET;
+    private long _timeBudget = DEFAULT_TIME_BUDGET;
+    // Nodes visited since the budget started, and the count when the last search started
+    private long _nodes;
+    private long _searchStartNodes;
+    private long _deadline;
+    // Set between StartMove and EndMove, while the searches share the budget
+    private boolean _inMove;
+    private boolean _aborted;
+    private boolean _allowThrees;
+    private int _threatLimit;
+
+    // Moves and sets per ply, so that the search never allocates
+    private final int[][] _moves = new int[MAX_PLY][BitBoard.CELLS];
+    private final int[][] _moveClasses = new int[MAX_PLY][BitBoard.CELLS];
+    private final long[][] _wins = new long[MAX_PLY][BitBoard.WORDS];
+    private final long[][] _defences = new long[MAX_PLY][BitBoard.WORDS];
+    private final long[] _scratch = new long[BitBoard.WORDS];
+    // _line[ply] is the winning line found from ply on
+    private final int[][] _line = new int[MAX_PLY + 1][MAX_PLY];
+    private final int[] _lineLength = new int[MAX_PLY + 1];
+
+    /**
+     * Constructs a threat search on the given board.
+     *
+     * @param board The game board.
+     */
+    public ThreatSearch(Board board) {
+        _board = board;
+    }
+
+    /**
+     * Sets the number of positions one search may visit.
+     *
+     * @param nodes The node budget, greater than 0.
+     * @return True if the budget is valid and set, false otherwise.
+     */
+    public boolean SetNodeBudget(long nodes) {
+        if (nodes <= 0) {
+            return false;
+        }
+        _nodeBudget = nodes;
+        return true;
+    }
+
+    /**
+     * Sets the time one search may take.
+     *
+     * @param milliseconds The time budget, or 0 for no limit.
+     * @return True if the budget is valid and set, false otherwise.
+     */
+    public boolean SetTimeBudget(long milliseconds) {
+        if (milliseconds < 0) {
+            return false;
+        }
+        _timeBudget = milliseconds;
+        return true;
+    }
+
+    /**
+     * Gets the number of positions visited by the last search.
+     *
+     * @return The number of nodes.
+     */
+    public long GetNodes() {
+        return _nodes - _searchStartNodes;
+    }
+
+    /**
+     * Starts the budget shared by the searches of one move, until EndMove.
+     */
+    public void StartMove() {
+        StartBudget();
+        _inMove = true;
+    }
+
+    /**
+     * Ends the shared budget: every search after this gets a budget of its own again.
+     */
+    public void EndMove() {
+        _inMove = false;
+    }
+
+    /**
+     * Checks if the last search ran out of budget before it finished.
+     *
+     * @return True if the search was cut short, false otherwise.
+     */
+    public boolean IsAborted() {
+        return _aborted;
+    }
+
+    /**
+     * Looks for a forced win for the given colour, which is to move.
+     *
+     * @param colour The attacking colour.
+     * @return The winning line as position indexes, attacking and defending moves in turn,
+     * or an empty array if no forced win was found within the budget.
+     */
+    public int[] FindWin(char colour) {
+        StartSearch();
+        return Solve(colour) ? GetLine() : new int[0];
+    }
+
+    /**
+     * Looks for a move that stops a forced win of the opponent, the given colour being to move.
+     *
+     * @param colour The defending colour.
+     * @return The index of the defending move, or -1 if the opponent has no forced win or none of the tried moves stops it.
+     */
+    public int FindDefence(char colour) {
+        StartSearch();
+        char opponent = GetOppositeColour(colour);
+        if (!Solve(opponent)) {
+            return -1;
+        }
+        // the moves of the opponent's line first, then every move that blocks, captures or counters
+        long[] tried = _defences[0];
+        BitBoard.Clear(tried);
+        for (int i = 0; i < _lineLength[0]; i++) {
+            BitBoard.Set(tried, _line[0][i]);
+        }
+        int count = 0;
+        for (int i = 0; i < _lineLength[0]; i++) {
+            _moves[0][count++] = _line[0][i];
+        }
+        long[] candidates = _board.GetCandidateMoves();
+        for (int index = BitBoard.NextSetBit(candidates, 0); index >= 0; index = BitBoard.NextSetBit(candidates, index + 1)) {
+            if (!BitBoard.Get(tried, index) && IsDefenceCandidate(index, colour)) {
+                _moves[0][count++] = index;
+            }
+        }
+        for (int i = 0; i < count && !_aborted; i++) {
+            int move = _moves[0][i];
+            if (!_board.isPositionEmpty(move / Board.BOARD_SIZE, move % Board.BOARD_SIZE)) {
+                continue;
+            }
+            _board.MakeMove(move / Board.BOARD_SIZE, move % Board.BOARD_SIZE, colour);
+            boolean lost = Attack(opponent, 1, _threatLimit);
+            _board.UnmakeMove();
+            if (!lost && !_aborted) {
+                return move;
+            }
+        }
+        return -1;
+    }
+
+    private void StartSearch() {
+        if (!_inMove) {
+            StartBudget();
+        }
+        _searchStartNodes = _nodes;
+        _aborted = false;
+    }
+
+    private void StartBudget() {
+        _nodes = 0;
+        _deadline = (_timeBudget > 0) ? System.nanoTime() + _timeBudget * 1000000L : 0;
+    }
+
+    /**
+     * Runs the search with fours only first, then again allowing threes.
+     */
+    private boolean Solve(char attacker) {
+        _allowThrees = false;
+        _threatLimit = MAX_FOUR_THREATS;
+        if (Attack(attacker, 0, _threatLimit)) {
+            return true;
+        }
+        if (_aborted) {
+            return false;
+        }
+        _allowThrees = true;
+        _threatLimit = MAX_THREE_THREATS;
+        return Attack(attacker, 0, _threatLimit);
+    }
+
+    private int[] GetLine() {
+        int[] line = new int[_lineLength[0]];
+        System.arraycopy(_line[0], 0, line, 0, line.length);
+        return line;
+    }
+
+    /**
+     * Searches a position where the attacker is to move.
+     *
+     * @return True if the attacker wins by force, false otherwise.
+     */
+    private boolean Attack(char attacker, int ply, int threatsLeft) {
+        _lineLength[ply] = 0;
+        if (OutOfBudget()) {
+            return false;
+        }
+        char defender = GetOppositeColour(attacker);
+        if (CollectWins(attacker, _wins[ply], true) > 0) {
+            _line[ply][0] = BitBoard.NextSetBit(_wins[ply], 0);
+            _lineLength[ply] = 1;
+            return true;
+        }
+        if (threatsLeft == 0 || ply + 2 >= MAX_PLY) {
+            return false;
+        }
+        // a winning threat of the defender must be blocked, and that can only be done once
+        int defenderWins = CollectWins(defender, _wins[ply], false);
+        if (defenderWins > 1) {
+            return false;
+        }
+
+        int count = GenerateThreats(attacker, ply, (defenderWins == 1) ? BitBoard.NextSetBit(_wins[ply], 0) : -1);
+        for (int i = 0; i < count; i++) {
+            int move = _moves[ply][i];
+            _board.MakeMove(move / Board.BOARD_SIZE, move % Board.BOARD_SIZE, attacker);
+            boolean win = Defend(attacker, ply + 1, threatsLeft - 1, _moveClasses[ply][i]);
+            _board.UnmakeMove();
+            if (win) {
+                SetLine(ply, move);
+                return true;
+            }
+            if (_aborted) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Searches a position where the defender is to move after a threat.
+     *
+     * @return True if the attacker wins against every defence, false otherwise.
+     */
+    private boolean Defend(char attacker, int ply, int threatsLeft, int threatClass) {
+        _lineLength[ply] = 0;
+        if (OutOfBudget()) {
+            return false;
+        }
+        char defender = GetOppositeColour(attacker);
+        if (CollectWins(defender, _wins[ply], true) > 0) {
+            return false;
+        }
+        long[] defences = _defences[ply];
+        int attackerWins = CollectWins(attacker, defences, false);
+        if (attackerWins == 0 && threatClass < PatternTable.FOUR) {
+            // a three: every move that would let the attacker make a four
+            AddThreatMoves(attacker, PatternTable.FOUR, defences);
+        } else if (attackerWins == 0) {
+            // the threat was taken back by the move itself, for example by a capture
+            return false;
+        }
+        // captures and fours of the defender can also answer the threat
+        _board.GetCaptureMoves(defender, _scratch);
+        BitBoard.Or(defences, _scratch, defences);
+        AddThreatMoves(defender, PatternTable.FOUR, defences);
+
+        boolean first = true;
+        for (int move = BitBoard.NextSetBit(defences, 0); move >= 0; move = BitBoard.NextSetBit(defences, move + 1)) {
+            _board.MakeMove(move / Board.BOARD_SIZE, move % Board.BOARD_SIZE, defender);
+            boolean win = Attack(attacker, ply + 1, threatsLeft);
+            _board.UnmakeMove();
+            if (!win) {
+                return false;
+            }
+            if (first) {
+                SetLine(ply, move);
+                first = false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Collects the attacker's forcing moves into the move list of the ply, strongest first.
+     *
+     * @param block The only move allowed because it blocks a winning threat, or -1.
+     * @return The number of moves.
+     */
+    private int GenerateThreats(char attacker, int ply, int block) {
+        int[] moves = _moves[ply];
+        int[] classes = _moveClasses[ply];
+        int captureThreatsWin = (_board.GetCapturePoints(attacker) >= CAPTURES_TO_WIN - 1) ? 1 : 0;
+        long[] candidates = _board.GetCandidateMoves();
+        int count = 0;
+        for (int index = BitBoard.NextSetBit(candidates, 0); index >= 0; index = BitBoard.NextSetBit(candidates, index + 1)) {
+            if (block != -1 && index != block) {
+                continue;
+            }
+            int threatClass = PatternTable.NONE;
+            int captureThreats = 0;
+            for (int axis = 0; axis < 4; axis++) {
+                int pattern = PatternTable.Get(_board.GetWindow(index, axis), attacker);
+                threatClass = Math.max(threatClass, PatternTable.ThreatClass(pattern));
+                captureThreats += PatternTable.CaptureThreats(pattern);
+            }
+            if (captureThreats * captureThreatsWin > 0 && threatClass < PatternTable.FOUR) {
+                // threatening the fifth pair forces an answer just like a four
+                threatClass = PatternTable.FOUR;
+            }
+            boolean forcing = threatClass >= PatternTable.FOUR
+                    || (_allowThrees && threatClass >= PatternTable.SPLIT_THREE);
+            if (!forcing) {
+                continue;
+            }
+            int position = count++;
+            while (position > 0 && classes[position - 1] < threatClass) {
+                moves[position] = moves[position - 1];
+                classes[position] = classes[position - 1];
+                position--;
+            }
+            moves[position] = index;
+            classes[position] = threatClass;
+        }
+        return count;
+    }
+
+    /**
+     * Collects the moves that win the game at once for a colour: completing a five or capturing the fifth pair.
+     *
+     * @param colour    The colour to move.
+     * @param wins      The set receiving the winning moves.
+     * @param firstOnly True to stop at the first winning move found.
+     * @return The number of winning moves found.
+     */
+    private int CollectWins(char colour, long[] wins, boolean firstOnly) {
+        BitBoard.Clear(wins);
+        int count = 0;
+        int captures = _board.GetCapturePoints(colour);
+        _board.GetAdjacentMoves(colour, _scratch);
+        if (captures > 0) {
+            // a capture move is next to an opponent piece, not necessarily to one of the colour
+            _board.GetCaptureMoves(colour, wins);
+            BitBoard.Or(_scratch, wins, _scratch);
+            BitBoard.Clear(wins);
+        }
+        for (int index = BitBoard.NextSetBit(_scratch, 0); index >= 0; index = BitBoard.NextSetBit(_scratch, index + 1)) {
+            int captured = 0;
+            boolean five = false;
+            for (int axis = 0; axis < 4 && !five; axis++) {
+                int pattern = PatternTable.Get(_board.GetWindow(index, axis), colour);
+                five = PatternTable.ThreatClass(pattern) == PatternTable.FIVE;
+                captured += PatternTable.Captures(pattern);
+            }
+            if (five || captures + captured >= CAPTURES_TO_WIN) {
+                BitBoard.Set(wins, index);
+                count++;
+                if (firstOnly) {
+                    return count;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Adds every candidate move that gives a colour a threat of at least the given class.
+     */
+    private void AddThreatMoves(char colour, int minimumClass, long[] moves) {
+        long[] candidates = _board.GetCandidateMoves();
+        for (int index = BitBoard.NextSetBit(candidates, 0); index >= 0; index = BitBoard.NextSetBit(candidates, index + 1)) {
+            for (int axis = 0; axis < 4; axis++) {
+                if (PatternTable.ThreatClass(PatternTable.Get(_board.GetWindow(index, axis), colour)) >= minimumClass) {
+                    BitBoard.Set(moves, index);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks if a move of the defending colour blocks a threat of the opponent, captures, or makes a four of its own.
+     */
+    private boolean IsDefenceCandidate(int index, char colour) {
+        char opponent = GetOppositeColour(colour);
+        for (int axis = 0; axis < 4; axis++) {
+            int window = _board.GetWindow(index, axis);
+            int own = PatternTable.Get(window, colour);
+            if (PatternTable.ThreatClass(PatternTable.Get(window, opponent)) >= PatternTable.SPLIT_THREE
+                    || PatternTable.ThreatClass(own) >= PatternTable.FOUR || PatternTable.Captures(own) > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Records a move followed by the line found one ply deeper.
+     */
+    private void SetLine(int ply, int move) {
+        _line[ply][0] = move;
+        System.arraycopy(_line[ply + 1], 0, _line[ply], 1, _lineLength[ply + 1]);
+        _lineLength[ply] = 1 + _lineLength[ply + 1];
+    }
+
+    private boolean OutOfBudget() {
+        if (_aborted) {
+            return true;
+        }
+        if (++_nodes > _nodeBudget || (_deadline != 0 && (_nodes & 63) == 0 && System.nanoTime() > _deadline)) {
+            _aborted = true;
+        }
+        return _aborted;
+    }
+}
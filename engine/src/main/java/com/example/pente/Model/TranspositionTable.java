@@ -0,0 +1,195 @@
+package com.example.pente.Model;
+
+/**
+ * TranspositionTable remembers the results of positions already searched, keyed by the Zobrist key of the Board.
+ * The table is a fixed pair of primitive arrays sized from a memory budget, so probing and storing never allocate.
+ * Entries are grouped in buckets of two: the first slot keeps the deepest result and the second one is always replaced.
+ * Each entry is the packed result and a check word holding the key XOR the result. Several search threads can share
+ * the table without locks: an entry torn by two threads writing at once no longer verifies and reads as a miss.
+ */
+public class TranspositionTable {
+
+    // Bound types
+    public static final int EXACT = 0;
+    public static final int LOWER_BOUND = 1;
+    public static final int UPPER_BOUND = 2;
+    // The entry returned by Probe when the position is not in the table
+    public static final long MISS = 0;
+
+    // Size of one entry: the check word and the packed result
+    public static final int ENTRY_BYTES = 8 + 8;
+    public static final int DEFAULT_MEGABYTES = 4;
+
+    // Layout of an entry: the depth, the bound, the move plus one and a used flag in the low word, the score in the high word
+    private static final int DEPTH_BITS = 8;
+    private static final int BOUND_BITS = 2;
+    private static final int MOVE_BITS = 9;
+    private static final int BOUND_SHIFT = DEPTH_BITS;
+    private static final int MOVE_SHIFT = DEPTH_BITS + BOUND_BITS;
+    private static final long DEPTH_MASK = (1L << DEPTH_BITS) - 1;
+    private static final long BOUND_MASK = (1L << BOUND_BITS) - 1;
+    private static final long MOVE_MASK = (1L << MOVE_BITS) - 1;
+    // Flags an entry as used, so that key zero (the empty board) can be stored too
+    private static final long USED_FLAG = 1L << (MOVE_SHIFT + MOVE_BITS);
+    private static final int SCORE_SHIFT = 32;
+
+    private final long[] _checks;
+    private final long[] _data;
+    private final int _bucketMask;
+
+    // Statistics, only approximate when the table is shared between threads
+    private long _probes;
+    private long _hits;
+    private long _misses;
+    private long _collisions;
+
+    /**
+     * Constructs a table using the default memory budget.
+     */
+    public TranspositionTable() {
+        this(DEFAULT_MEGABYTES);
+    }
+
+    /**
+     * Constructs a table using at most the given amount of memory.
+     * The number of buckets is rounded down to a power of two.
+     *
+     * @param megabytes The memory budget in megabytes.
+     */
+    public TranspositionTable(int megabytes) {
+        long entries = Math.max(2, (long) Math.max(megabytes, 1) * 1024 * 1024 / ENTRY_BYTES);
+        int buckets = Integer.highestOneBit((int) Math.min(entries / 2, 1 << 28));
+        _bucketMask = buckets - 1;
+        _checks = new long[buckets * 2];
+        _data = new long[buckets * 2];
+    }
+
+    /**
+     * Looks up a position.
+     *
+     * @param key The Zobrist key of the position.
+     * @return The entry, read with GetScore, GetDepth, GetBound and GetMove, or MISS if the position is not in the table.
+     */
+    public long Probe(long key) {
+        _probes++;
+        int slot = BucketOf(key);
+        boolean occupied = false;
+        for (int i = slot; i < slot + 2; i++) {
+            long data = _data[i];
+            if ((data & USED_FLAG) == 0) {
+                continue;
+            }
+            if ((_checks[i] ^ data) == key) {
+                _hits++;
+                return data;
+            }
+            occupied = true;
+        }
+        _misses++;
+        if (occupied) {
+            _collisions++;
+        }
+        return MISS;
+    }
+
+    /**
+     * Stores the result of a search.
+     *
+     * @param key   The Zobrist key of the position.
+     * @param depth The depth searched.
+     * @param bound The bound type of the score.
+     * @param score The score found.
+     * @param move  The index of the best move, or -1 if there is none.
+     */
+    public void Store(long key, int depth, int bound, int score, int move) {
+        int slot = BucketOf(key);
+        long data = ((long) score << SCORE_SHIFT) | USED_FLAG | (((move + 1) & MOVE_MASK) << MOVE_SHIFT)
+                | ((bound & BOUND_MASK) << BOUND_SHIFT) | (depth & DEPTH_MASK);
+        long deepData = _data[slot];
+        long deepKey = _checks[slot] ^ deepData;
+        boolean deepSlotUsed = (deepData & USED_FLAG) != 0;
+        if (!deepSlotUsed || deepKey == key || depth >= GetDepth(deepData)) {
+            // keep the result it replaces in the always-replace slot
+            if (deepSlotUsed && deepKey != key) {
+                _data[slot + 1] = deepData;
+                _checks[slot + 1] = deepKey ^ deepData;
+            }
+            _data[slot] = data;
+            _checks[slot] = key ^ data;
+        } else {
+            _data[slot + 1] = data;
+            _checks[slot + 1] = key ^ data;
+        }
+    }
+
+    public static int GetScore(long entry) {
+        return (int) (entry >> SCORE_SHIFT);
+    }
+
+    public static int GetDepth(long entry) {
+        return (int) (entry & DEPTH_MASK);
+    }
+
+    public static int GetBound(long entry) {
+        return (int) ((entry >>> BOUND_SHIFT) & BOUND_MASK);
+    }
+
+    /**
+     * Gets the best move stored in an entry.
+     *
+     * @param entry The entry returned by Probe.
+     * @return The index of the move, or -1 if there is none.
+     */
+    public static int GetMove(long entry) {
+        return (int) ((entry >>> MOVE_SHIFT) & MOVE_MASK) - 1;
+    }
+
+    /**
+     * Empties the table, for example at the start of a new game.
+     */
+    public void Clear() {
+        for (int i = 0; i < _data.length; i++) {
+            _checks[i] = 0;
+            _data[i] = 0;
+        }
+    }
+
+    /**
+     * Resets the probe counters.
+     */
+    public void ResetCounters() {
+        _probes = 0;
+        _hits = 0;
+        _misses = 0;
+        _collisions = 0;
+    }
+
+    public int GetCapacity() {
+        return _data.length;
+    }
+
+    public long GetProbes() {
+        return _probes;
+    }
+
+    public long GetHits() {
+        return _hits;
+    }
+
+    public long GetMisses() {
+        return _misses;
+    }
+
+    /**
+     * Gets the number of misses where the bucket held other positions.
+     *
+     * @return The number of collisions.
+     */
+    public long GetCollisions() {
+        return _collisions;
+    }
+
+    private int BucketOf(long key) {
+        return (int) ((key ^ (key >>> 32)) & _bucketMask) << 1;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.pente.Model;
+
+/**
+ * The Zobrist class holds the random keys used to hash a Pente position.
+ * A position key is the XOR of one key per piece on the board, one key for the side to move
+ * and one key for each player's capture count, so every change can be applied in O(1).
+ * The keys come from a fixed seed so that hashes stay the same between runs and devices.
+ */
+public final class Zobrist {
+
+    // Capture counts above this share the last key; the round is over long before that
+    public static final int MAX_CAPTURES = 15;
+
+    private static final long[][] PIECE_KEYS = new long[2][BitBoard.CELLS];
+    private static final long[][] CAPTURE_KEYS = new long[2][MAX_CAPTURES + 1];
+    private static final long BLACK_TO_MOVE_KEY;
+
+    static {
+        long seed = 0x50454E5445L;
+        for (int colour = 0; colour < 2; colour++) {
+            for (int index = 0; index < BitBoard.CELLS; index++) {
+                seed = NextSeed(seed);
+                PIECE_KEYS[colour][index] = Mix(seed);
+            }
+        }
+        for (int colour = 0; colour < 2; colour++) {
+            // no captures hashes to zero so that an empty board has key zero
+            for (int captures = 1; captures <= MAX_CAPTURES; captures++) {
+                seed = NextSeed(seed);
+                CAPTURE_KEYS[colour][captures] = Mix(seed);
+            }
+        }
+        seed = NextSeed(seed);
+        BLACK_TO_MOVE_KEY = Mix(seed);
+    }
+
+    private Zobrist() {
+    }
+
+    /**
+     * Gets the key of a piece of the given colour on the given intersection.
+     *
+     * @param colour The colour of the piece.
+     * @param index  The index of the intersection.
+     * @return The key of the piece.
+     */
+    public static long PieceKey(char colour, int index) {
+        return PIECE_KEYS[ColourIndex(colour)][index];
+    }
+
+    /**
+     * Gets the key of a player's capture count.
+     *
+     * @param colour   The colour of the player.
+     * @param captures The number of captured pairs.
+     * @return The key of the capture count.
+     */
+    public static long CaptureKey(char colour, int captures) {
+        return CAPTURE_KEYS[ColourIndex(colour)][Math.max(0, Math.min(captures, MAX_CAPTURES))];
+    }
+
+    /**
+     * Gets the key of the side to move.
+     *
+     * @param colour The colour to move.
+     * @return The key of the side to move, zero when white is to move.
+     */
+    public static long SideToMoveKey(char colour) {
+        return (colour == Board.BLACK_PIECE) ? BLACK_TO_MOVE_KEY : 0L;
+    }
+
+    /**
+     * Gets the table index used for a colour.
+     *
+     * @param colour The colour of the piece.
+     * @return 0 for white, 1 for black.
+     */
+    public static int ColourIndex(char colour) {
+        return (colour == Board.WHITE_PIECE) ? 0 : 1;
+    }
+
+    private static long NextSeed(long seed) {
+        return seed + 0x9E3779B97F4A7C15L;
+    }
+
+    // SplitMix64 finaliser
+    private static long Mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,260 @@
+package com.example.pente;
+
+import static org.junit.Assert.assertTrue;
+
+import com.example.pente.Model.AlphaBetaEngine;
+import com.example.pente.Model.Board;
+import com.example.pente.Model.Engine;
+import com.example.pente.Model.MctsEngine;
+import com.example.pente.Model.MoveListener;
+import com.example.pente.Model.Strategy;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+
+/**
+ * Replays the position corpus through Strategy.BestMove with each engine and fails when a metric is worse than the
+ * stored baseline by more than the threshold. The search rates are timed on the engines alone, without the threat
+ * search and the rules Strategy runs around them. Run with ./gradlew :engine:perfTest; the system properties are:
+ * perf.baseline, the baseline file;
+ * perf.threshold, the tolerated slowdown, 0.25 by default;
+ * perf.report, where the metrics of this run are written;
+ * perf.updateBaseline, true to write this run over the baseline instead of comparing.
+ */
+public class EnginePerformanceTest {
+
+    private static final double DEFAULT_THRESHOLD = 0.25;
+    // The total move count handed to BestMove, past the opening rules of the first moves
+    private static final int TOTAL_MOVES = 5;
+    private static final int SEARCH_DEPTH = 3;
+    private static final int MAX_TIME_TO_DEPTH = 3;
+    private static final int PLAYOUTS = 500;
+    // The search thread counts of the alpha-beta engine, each searching the midgame positions for a fixed time
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8};
+    private static final long THREADED_MOVE_MILLIS = 100;
+    // Every timing is the best of this many passes over the corpus, after one pass of warm-up
+    private static final int PASSES = 2;
+
+    private static final String HEURISTIC = "heuristic";
+    private static final String ALPHA_BETA = "alphabeta";
+    private static final String MCTS = "mcts";
+
+    private final ThreadMXBean _threads = ManagementFactory.getThreadMXBean();
+
+    @Test
+    public void engines_areNoSlowerThanTheBaseline() throws Exception {
+        PerformanceBaseline current = new PerformanceBaseline();
+        current.Put(PerformanceBaseline.CALIBRATION, Calibrate());
+        for (String engine : new String[]{HEURISTIC, ALPHA_BETA, MCTS}) {
+            MeasureBestMove(engine, current);
+        }
+        MeasureSearchRate(ALPHA_BETA, current);
+        MeasureSearchRate(MCTS, current);
+        MeasureThreadScaling(current);
+        MeasureTimeToDepth(current);
+        System.out.println(current);
+
+        String report = System.getProperty("perf.report");
+        if (report != null) {
+            current.Write(new File(report), "Engine performance of the last run");
+        }
+        File baselineFile = new File(System.getProperty("perf.baseline", "perf-baseline.properties"));
+        if (Boolean.getBoolean("perf.updateBaseline")) {
+            current.Write(baselineFile, "Engine performance baseline, rewritten with ./gradlew :engine:perfTest -PperfUpdateBaseline=true");
+            return;
+        }
+        PerformanceBaseline baseline = PerformanceBaseline.Read(baselineFile);
+        assertTrue("No baseline at " + baselineFile.getAbsolutePath(), baseline != null);
+        double threshold = Double.parseDouble(System.getProperty("perf.threshold", String.valueOf(DEFAULT_THRESHOLD)));
+        List<String> regressions = current.FindRegressions(baseline, threshold);
+        assertTrue("Slower than the baseline by more than " + Math.round(threshold * 100) + "%:\n" + String.join("\n", regressions),
+                regressions.isEmpty());
+    }
+
+    /**
+     * Measures the moves Strategy plays with one engine over the whole corpus: the time and the bytes allocated per move.
+     */
+    private void MeasureBestMove(String engine, PerformanceBaseline metrics) {
+        List<PositionCorpus.Position> positions = PositionCorpus.Load();
+        Board[] boards = new Board[positions.size()];
+        Strategy[] strategies = new Strategy[positions.size()];
+        for (int i = 0; i < boards.length; i++) {
+            boards[i] = positions.get(i).ToBoard();
+            strategies[i] = new Strategy(boards[i], MoveListener.SILENT);
+            if (engine.equals(ALPHA_BETA)) {
+                strategies[i].SetEngine(new AlphaBetaEngine(boards[i], SEARCH_DEPTH));
+            } else if (engine.equals(MCTS)) {
+                MctsEngine mcts = new MctsEngine(boards[i]);
+                mcts.SetPlayoutBudget(PLAYOUTS);
+                strategies[i].SetEngine(mcts);
+            }
+        }
+
+        long bestNanos = Long.MAX_VALUE;
+        long allocated = 0;
+        for (int pass = 0; pass <= PASSES; pass++) {
+            long nanos = 0;
+            allocated = 0;
+            for (int i = 0; i < boards.length; i++) {
+                strategies[i].NewGame();
+                long bytes = AllocatedBytes();
+                long start = System.nanoTime();
+                strategies[i].BestMove(positions.get(i).GetSideToMove(), TOTAL_MOVES, false);
+                nanos += System.nanoTime() - start;
+                allocated += AllocatedBytes() - bytes;
+            }
+            // the first pass only warms up the compiler
+            if (pass > 0) {
+                bestNanos = Math.min(bestNanos, nanos);
+            }
+        }
+
+        metrics.Put(engine + ".moveMillis", bestNanos / 1e6 / boards.length);
+        metrics.Put(engine + ".allocatedBytesPerMove", (double) allocated / boards.length);
+    }
+
+    /**
+     * Measures the nodes or playouts a search engine visits per second over the whole corpus, calling the engine
+     * directly so that only its own search is timed.
+     */
+    private void MeasureSearchRate(String engine, PerformanceBaseline metrics) {
+        List<PositionCorpus.Position> positions = PositionCorpus.Load();
+        Engine[] engines = new Engine[positions.size()];
+        for (int i = 0; i < engines.length; i++) {
+            Board board = positions.get(i).ToBoard();
+            if (engine.equals(ALPHA_BETA)) {
+                engines[i] = new AlphaBetaEngine(board, SEARCH_DEPTH);
+            } else {
+                MctsEngine mcts = new MctsEngine(board);
+                mcts.SetPlayoutBudget(PLAYOUTS);
+                engines[i] = mcts;
+            }
+        }
+
+        long bestNanos = Long.MAX_VALUE;
+        long visited = 0;
+        for (int pass = 0; pass <= PASSES; pass++) {
+            long nanos = 0;
+            visited = 0;
+            for (int i = 0; i < engines.length; i++) {
+                engines[i].NewGame();
+                long start = System.nanoTime();
+                engines[i].BestMove(positions.get(i).GetSideToMove());
+                nanos += System.nanoTime() - start;
+                if (engine.equals(ALPHA_BETA)) {
+                    visited += ((AlphaBetaEngine) engines[i]).GetNodes();
+                } else {
+                    visited += ((MctsEngine) engines[i]).GetPlayouts();
+                }
+            }
+            if (pass > 0) {
+                bestNanos = Math.min(bestNanos, nanos);
+            }
+        }
+
+        if (engine.equals(ALPHA_BETA)) {
+            metrics.Put(engine + ".nodesPerMove", (double) visited / engines.length);
+            metrics.Put(engine + ".nodesPerSecond", visited / (bestNanos / 1e9));
+        } else {
+            metrics.Put(engine + ".playoutsPerSecond", visited / (bestNanos / 1e9));
+        }
+    }
+
+    /**
+     * Measures the nodes per second of the alpha-beta engine on each thread count, the helpers' nodes included,
+     * giving every midgame position the same time so that only the speed of the search changes.
+     */
+    private void MeasureThreadScaling(PerformanceBaseline metrics) {
+        List<PositionCorpus.Position> positions = PositionCorpus.Load(PositionCorpus.MIDGAME);
+        Board board = new Board();
+        for (int threads : THREAD_COUNTS) {
+            AlphaBetaEngine engine = new AlphaBetaEngine(board, AlphaBetaEngine.MAX_DEPTH);
+            engine.SetThreadCount(threads);
+            engine.SetTimeBudget(THREADED_MOVE_MILLIS);
+            double bestRate = 0;
+            for (int pass = 0; pass <= PASSES; pass++) {
+                long nanos = 0;
+                long nodes = 0;
+                for (PositionCorpus.Position position : positions) {
+                    board.CopyFrom(position.ToBoard());
+                    engine.NewGame();
+                    long start = System.nanoTime();
+                    engine.BestMove(position.GetSideToMove());
+                    nanos += System.nanoTime() - start;
+                    nodes += engine.GetNodes();
+                }
+                if (pass > 0) {
+                    bestRate = Math.max(bestRate, nodes / (nanos / 1e9));
+                }
+            }
+            metrics.Put("alphabeta.threads" + threads + ".nodesPerSecond", bestRate);
+        }
+    }
+
+    /**
+     * Measures the time the alpha-beta engine takes to finish each depth on the midgame positions,
+     * each search starting from an empty table.
+     */
+    private void MeasureTimeToDepth(PerformanceBaseline metrics) {
+        List<PositionCorpus.Position> positions = PositionCorpus.Load(PositionCorpus.MIDGAME);
+        for (int depth = 1; depth <= MAX_TIME_TO_DEPTH; depth++) {
+            long bestNanos = Long.MAX_VALUE;
+            for (int pass = 0; pass <= PASSES; pass++) {
+                long nanos = 0;
+                for (PositionCorpus.Position position : positions) {
+                    Board board = position.ToBoard();
+                    AlphaBetaEngine engine = new AlphaBetaEngine(board, depth);
+                    long start = System.nanoTime();
+                    engine.BestMove(position.GetSideToMove());
+                    nanos += System.nanoTime() - start;
+                }
+                if (pass > 0) {
+                    bestNanos = Math.min(bestNanos, nanos);
+                }
+            }
+            metrics.Put("alphabeta.timeToDepth" + depth + "Millis", bestNanos / 1e6 / positions.size());
+        }
+    }
+
+    /**
+     * Gets the bytes allocated so far by this thread.
+     *
+     * @return The byte count, or 0 if the virtual machine does not count them.
+     */
+    private long AllocatedBytes() {
+        if (_threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) _threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    /**
+     * Times a fixed integer workload, close to the bit twiddling of the engine, to tell the speed of the machine.
+     *
+     * @return The best time of several runs, in milliseconds.
+     */
+    private static double Calibrate() {
+        long best = Long.MAX_VALUE;
+        long sink = 0;
+        for (int run = 0; run < 7; run++) {
+            long start = System.nanoTime();
+            long x = 88172645463325252L + run;
+            for (int i = 0; i < 20000000; i++) {
+                x ^= x << 13;
+                x ^= x >>> 7;
+                x ^= x << 17;
+                sink += Long.bitCount(x & (x >>> 19)) + Long.numberOfTrailingZeros(x | 1);
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        // keeps the loop from being removed
+        if (sink == 42) {
+            System.out.println(sink);
+        }
+        return best / 1e6;
+    }
+}
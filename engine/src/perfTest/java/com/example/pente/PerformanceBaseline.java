@@ -0,0 +1,129 @@
+package com.example.pente;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * PerformanceBaseline holds the metrics of a performance run as name and value pairs and compares them to the
+ * metrics of a stored run. Metrics ending in PerSecond are better when higher, every other metric when lower.
+ * Timing metrics, those ending in Millis or PerSecond, are scaled by the calibration time of both runs,
+ * so a baseline recorded on a faster or slower machine still compares.
+ */
+public class PerformanceBaseline {
+
+    // The time of a fixed workload unrelated to the engine, measuring the speed of the machine
+    public static final String CALIBRATION = "calibrationMillis";
+
+    private static final String HIGHER_IS_BETTER = "PerSecond";
+    private static final String TIMING = "Millis";
+
+    private final Map<String, Double> _metrics = new TreeMap<>();
+
+    public void Put(String name, double value) {
+        _metrics.put(name, value);
+    }
+
+    public Double Get(String name) {
+        return _metrics.get(name);
+    }
+
+    public Map<String, Double> GetMetrics() {
+        return _metrics;
+    }
+
+    /**
+     * Compares these metrics with a baseline.
+     *
+     * @param baseline  The stored metrics.
+     * @param threshold The tolerated slowdown, 0.25 for 25% worse than the baseline.
+     * @return A line for each metric worse than the baseline by more than the threshold, empty if none is.
+     */
+    public List<String> FindRegressions(PerformanceBaseline baseline, double threshold) {
+        List<String> regressions = new ArrayList<>();
+        double speed = 1;
+        if (baseline.Get(CALIBRATION) != null && Get(CALIBRATION) != null) {
+            // above 1 when this machine is slower than the one of the baseline
+            speed = Get(CALIBRATION) / baseline.Get(CALIBRATION);
+        }
+        for (Map.Entry<String, Double> entry : baseline._metrics.entrySet()) {
+            String name = entry.getKey();
+            Double current = _metrics.get(name);
+            if (name.equals(CALIBRATION) || current == null) {
+                continue;
+            }
+            double expected = entry.getValue();
+            boolean higherIsBetter = name.endsWith(HIGHER_IS_BETTER);
+            if (higherIsBetter) {
+                expected /= speed;
+            } else if (name.endsWith(TIMING)) {
+                expected *= speed;
+            }
+            boolean regressed = higherIsBetter ? current * (1 + threshold) < expected : current > expected * (1 + threshold);
+            if (regressed) {
+                regressions.add(String.format("%s: %.1f against %.1f expected", name, current, expected));
+            }
+        }
+        return regressions;
+    }
+
+    /**
+     * Reads metrics from a properties file.
+     *
+     * @param file The file.
+     * @return The metrics, or null if the file does not exist.
+     */
+    public static PerformanceBaseline Read(File file) throws IOException {
+        if (!file.isFile()) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream stream = new FileInputStream(file)) {
+            properties.load(stream);
+        }
+        PerformanceBaseline baseline = new PerformanceBaseline();
+        for (String name : properties.stringPropertyNames()) {
+            baseline.Put(name, Double.parseDouble(properties.getProperty(name)));
+        }
+        return baseline;
+    }
+
+    /**
+     * Writes the metrics to a properties file, creating its directory if needed.
+     *
+     * @param file    The file.
+     * @param comment The comment at the top of the file.
+     */
+    public void Write(File file, String comment) throws IOException {
+        File directory = file.getAbsoluteFile().getParentFile();
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Could not create " + directory);
+        }
+        // written by hand rather than with Properties.store, to keep the metrics sorted and the file free of a date
+        StringBuilder text = new StringBuilder("# " + comment + "\n");
+        for (Map.Entry<String, Double> entry : _metrics.entrySet()) {
+            text.append(entry.getKey()).append('=').append(String.format(Locale.ROOT, "%.1f", entry.getValue())).append('\n');
+        }
+        try (OutputStream stream = new FileOutputStream(file)) {
+            stream.write(text.toString().getBytes("ISO-8859-1"));
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        for (Map.Entry<String, Double> entry : _metrics.entrySet()) {
+            text.append(String.format("%-36s %14.1f%n", entry.getKey(), entry.getValue()));
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.pente;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.example.pente.Model.AlphaBetaEngine;
+import com.example.pente.Model.Board;
+import com.example.pente.Model.PrincipalVariation;
+
+import org.junit.Test;
+
+/**
+ * Local unit tests for the alpha-beta search engine.
+ */
+public class AlphaBetaEngineUnitTest {
+
+    @Test
+    public void bestMove_completesTheFive() {
+        Board board = TestBoards.FourInRow();
+        long key = board.GetHash();
+        int[] move = new AlphaBetaEngine(board, 2).BestMove(Board.WHITE_PIECE);
+        assertEquals(9, move[0]);
+        assertEquals(9, move[1]);
+        assertEquals(key, board.GetHash());
+    }
+
+    @Test
+    public void bestMove_withHelperThreadsLeavesTheBoardUnchanged() {
+        Board board = TestBoards.FourInRow();
+        long key = board.GetHash();
+        AlphaBetaEngine engine = new AlphaBetaEngine(board, 4);
+        assertTrue(engine.SetThreadCount(4));
+        engine.SetTimeBudget(200);
+
+        int[] move = engine.BestMove(Board.BLACK_PIECE);
+        // black has to block the four
+        assertEquals(9, move[0]);
+        assertEquals(9, move[1]);
+        assertEquals(key, board.GetHash());
+        assertTrue(engine.GetNodes() > 0);
+    }
+
+    @Test
+    public void bestMove_resolvesPendingCapturesBeyondTheDepth() {
+        // pairs of both colours can be captured, so the leaves are not quiet
+        Board board = new Board();
+        board.InsertPiece(9, 9, Board.WHITE_PIECE);
+        board.InsertPiece(9, 10, Board.BLACK_PIECE);
+        board.InsertPiece(9, 11, Board.BLACK_PIECE);
+        board.InsertPiece(10, 9, Board.BLACK_PIECE);
+        board.InsertPiece(11, 9, Board.BLACK_PIECE);
+        board.InsertPiece(12, 9, Board.WHITE_PIECE);
+        board.InsertPiece(8, 8, Board.WHITE_PIECE);
+        board.InsertPiece(7, 7, Board.WHITE_PIECE);
+        long key = board.GetHash();
+        AlphaBetaEngine engine = new AlphaBetaEngine(board, 1);
+
+        int[] move = engine.BestMove(Board.BLACK_PIECE);
+        assertTrue(move[0] != -1);
+        assertTrue(engine.GetQuiescenceNodes() > 0);
+        assertEquals(key, board.GetHash());
+        assertEquals(0, board.GetUndoSize());
+    }
+
+    @Test
+    public void analyse_ranksDistinctMovesBestFirstAndAgreesWithBestMove() {
+        Board board = TestBoards.FourInRow();
+        board.InsertPiece(8, 7, Board.BLACK_PIECE);
+        board.InsertPiece(7, 8, Board.WHITE_PIECE);
+        long key = board.GetHash();
+        int[] best = new AlphaBetaEngine(new Board(board), 3).BestMove(Board.BLACK_PIECE);
+
+        PrincipalVariation[] analysis = new AlphaBetaEngine(board, 3).Analyse(Board.BLACK_PIECE, 3);
+        assertEquals(3, analysis.length);
+        assertEquals(best[0], analysis[0].GetRow());
+        assertEquals(best[1], analysis[0].GetColumn());
+        for (int rank = 0; rank < analysis.length; rank++) {
+            int[] moves = analysis[rank].GetMoves();
+            assertEquals(analysis[rank].GetRow() * Board.BOARD_SIZE + analysis[rank].GetColumn(), moves[0]);
+            assertTrue(moves.length <= 3);
+            if (rank > 0) {
+                assertTrue(analysis[rank].GetScore() <= analysis[rank - 1].GetScore());
+                assertTrue(moves[0] != analysis[rank - 1].GetMoves()[0]);
+            }
+        }
+        assertEquals(key, board.GetHash());
+        assertEquals(0, board.GetUndoSize());
+
+        PrincipalVariation[] win = new AlphaBetaEngine(TestBoards.FourInRow(), 2).Analyse(Board.WHITE_PIECE, 2);
+        assertTrue(win[0].IsWin());
+        assertEquals(9, win[0].GetRow());
+        assertEquals(9, win[0].GetColumn());
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.pente;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.example.pente.Model.BitBoard;
+import com.example.pente.Model.Board;
+import com.example.pente.Model.Strategy;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Local unit tests for the packed Board representation.
+ */
+public class BoardUnitTest {
+
+    @Test
+    public void insertAndRemove_keepViewAndBitBoardsInStep() {
+        Board board = new Board();
+        assertTrue(board.InsertPiece(3, 4, Board.WHITE_PIECE));
+        assertTrue(board.InsertPiece(18, 18, Board.BLACK_PIECE));
+
+        assertEquals(Board.WHITE_PIECE, board.GetBoard()[3][4]);
+        assertTrue(BitBoard.Get(board.GetPieces(Board.WHITE_PIECE), BitBoard.Index(3, 4)));
+        assertTrue(BitBoard.Get(board.GetPieces(Board.BLACK_PIECE), BitBoard.Index(18, 18)));
+        assertEquals(1, board.GetTotalMoveByColour(Board.WHITE_PIECE));
+
+        assertTrue(board.RemovePiece(3, 4));
+        assertTrue(board.isPositionEmpty(3, 4));
+        assertEquals(0, board.GetTotalMoveByColour(Board.WHITE_PIECE));
+    }
+
+    @Test
+    public void hasFiveInRow_doesNotWrapAroundTheEdge() {
+        Board board = new Board();
+        // three at the end of row 4 and two at the start of row 5 are adjacent bits, but not a row
+        board.InsertPiece(4, 16, Board.WHITE_PIECE);
+        board.InsertPiece(4, 17, Board.WHITE_PIECE);
+        board.InsertPiece(4, 18, Board.WHITE_PIECE);
+        board.InsertPiece(5, 0, Board.WHITE_PIECE);
+        board.InsertPiece(5, 1, Board.WHITE_PIECE);
+        assertFalse(board.HasFiveInRow(Board.WHITE_PIECE));
+
+        for (int row = 10; row < 15; row++) {
+            board.InsertPiece(row, 24 - row, Board.BLACK_PIECE);
+        }
+        assertTrue(board.HasFiveInRow(Board.BLACK_PIECE));
+    }
+
+    @Test
+    public void getCaptureMoves_findsCustodianPattern() {
+        Board board = new Board();
+        board.InsertPiece(9, 9, Board.WHITE_PIECE);
+        board.InsertPiece(9, 10, Board.BLACK_PIECE);
+        board.InsertPiece(9, 11, Board.BLACK_PIECE);
+        long[] moves = new long[BitBoard.WORDS];
+
+        board.GetCaptureMoves(Board.WHITE_PIECE, moves);
+        assertEquals(1, BitBoard.Count(moves));
+        assertTrue(BitBoard.Get(moves, BitBoard.Index(9, 12)));
+
+        board.GetCaptureMoves(Board.BLACK_PIECE, moves);
+        assertEquals(0, BitBoard.Count(moves));
+    }
+
+    @Test
+    public void hash_isUpdatedIncrementally() {
+        Board board = new Board();
+        assertEquals(0, board.GetHash());
+        board.InsertPiece(9, 9, Board.WHITE_PIECE);
+        board.InsertPiece(2, 5, Board.BLACK_PIECE);
+        board.SetSideToMove(Board.BLACK_PIECE);
+        board.SetCapturePoints(Board.WHITE_PIECE, 2);
+
+        // a board rebuilt from the same view and state must hash the same
+        Board copy = new Board(board.GetBoard());
+        copy.SetSideToMove(Board.BLACK_PIECE);
+        copy.SetCapturePoints(Board.WHITE_PIECE, 2);
+        assertEquals(board.GetHash(), copy.GetHash());
+
+        long beforeMove = board.GetHash();
+        board.InsertPiece(0, 0, Board.WHITE_PIECE);
+        assertNotEquals(beforeMove, board.GetHash());
+        board.RemovePiece(0, 0);
+        assertEquals(beforeMove, board.GetHash());
+
+        board.SetCapturePoints(Board.WHITE_PIECE, 3);
+        assertNotEquals(beforeMove, board.GetHash());
+
+        board.ResetBoard();
+        assertEquals(0, board.GetHash());
+    }
+
+    @Test
+    public void candidateMoves_followInsertAndRemove() {
+        Board board = new Board();
+        board.InsertPiece(0, 0, Board.WHITE_PIECE);
+        // the 3x3 corner around the piece, less the piece itself
+        assertEquals(8, BitBoard.Count(board.GetCandidateMoves()));
+        assertFalse(BitBoard.Get(board.GetCandidateMoves(), BitBoard.Index(0, 0)));
+        assertTrue(BitBoard.Get(board.GetCandidateMoves(), BitBoard.Index(2, 2)));
+
+        board.InsertPiece(0, 3, Board.BLACK_PIECE);
+        board.RemovePiece(0, 0);
+        assertTrue(BitBoard.Get(board.GetCandidateMoves(), BitBoard.Index(0, 1)));
+        assertFalse(BitBoard.Get(board.GetCandidateMoves(), BitBoard.Index(2, 0)));
+        assertEquals(14, BitBoard.Count(board.GetCandidateMoves()));
+    }
+
+    @Test
+    public void makeAndUnmakeMove_restoreCapturesAndKey() {
+        Board board = new Board();
+        board.InsertPiece(9, 9, Board.WHITE_PIECE);
+        board.InsertPiece(9, 10, Board.BLACK_PIECE);
+        board.InsertPiece(9, 11, Board.BLACK_PIECE);
+        board.InsertPiece(10, 12, Board.BLACK_PIECE);
+        long before = board.GetHash();
+
+        assertTrue(board.MakeMove(9, 12, Board.WHITE_PIECE));
+        assertEquals(2, board.GetLastMoveCaptures());
+        assertEquals(1, board.GetCapturePoints(Board.WHITE_PIECE));
+        assertEquals(Board.BLACK_PIECE, board.GetSideToMove());
+        assertTrue(board.isPositionEmpty(9, 10));
+        assertTrue(board.isPositionEmpty(9, 11));
+
+        assertTrue(board.MakeMove(11, 12, Board.BLACK_PIECE));
+        assertTrue(board.UnmakeMove());
+        assertTrue(board.UnmakeMove());
+        assertFalse(board.UnmakeMove());
+        assertEquals(Board.BLACK_PIECE, board.GetPiece(9, 10));
+        assertEquals(Board.BLACK_PIECE, board.GetPiece(9, 11));
+        assertTrue(board.isPositionEmpty(9, 12));
+        assertEquals(0, board.GetCapturePoints(Board.WHITE_PIECE));
+        assertEquals(before, board.GetHash());
+    }
+
+    @Test
+    public void makeMove_scoresTheRowsItCompletes() {
+        Board board = new Board();
+        for (int column = 0; column < 4; column++) {
+            board.InsertPiece(0, column, Board.WHITE_PIECE);
+        }
+        assertTrue(board.MakeMove(0, 4, Board.WHITE_PIECE));
+        assertEquals(5, board.GetLastMovePoints());
+        assertFalse(board.MakeMove(0, 4, Board.BLACK_PIECE));
+        assertEquals(1, board.GetUndoSize());
+    }
+
+    @Test
+    public void runLengths_matchTheWalkOfTheBoardThroughMovesAndCaptures() {
+        // the directions of each BitBoard axis, as Strategy.CheckForTotalNumberOfPiece walks them
+        int[][][] directions = new int[4][][];
+        directions[BitBoard.HORIZONTAL] = new int[][]{{0, 1}, {0, -1}};
+        directions[BitBoard.VERTICAL] = new int[][]{{1, 0}, {-1, 0}};
+        directions[BitBoard.RIGHT_DIAGONAL] = new int[][]{{-1, 1}, {1, -1}};
+        directions[BitBoard.LEFT_DIAGONAL] = new int[][]{{1, 1}, {-1, -1}};
+        Random random = new Random(7);
+        int captures = 0;
+        for (int game = 0; game < 20; game++) {
+            Board board = new Board();
+            Strategy walk = new Strategy(board, null);
+            char colour = Board.WHITE_PIECE;
+            for (int ply = 0; ply < 120; ply++) {
+                if (board.GetUndoSize() > 0 && random.nextInt(4) == 0) {
+                    board.UnmakeMove();
+                    colour = board.GetSideToMove();
+                } else {
+                    // a small region keeps the pieces close enough to capture each other
+                    int row = 5 + random.nextInt(9);
+                    int column = 5 + random.nextInt(9);
+                    if (!board.isPositionEmpty(row, column)) {
+                        continue;
+                    }
+                    board.MakeMove(row, column, colour);
+                    captures += board.GetLastMoveCaptures();
+                    colour = board.GetSideToMove();
+                }
+                for (int row = 0; row < Board.BOARD_SIZE; row++) {
+                    for (int column = 0; column < Board.BOARD_SIZE; column++) {
+                        for (char piece : new char[]{Board.WHITE_PIECE, Board.BLACK_PIECE}) {
+                            for (int axis = 0; axis < 4; axis++) {
+                                int expected = 0;
+                                for (int[] direction : directions[axis]) {
+                                    expected += walk.CheckForTotalNumberOfPiece(row + direction[0], column + direction[1], piece, direction, 0);
+                                }
+                                assertEquals("run of " + piece + " on axis " + axis + " at " + row + "," + column,
+                                        expected, board.GetRunLength(row, column, piece, axis));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        assertTrue(captures > 0);
+    }
+}
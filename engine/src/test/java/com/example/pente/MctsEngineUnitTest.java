@@ -0,0 +1,44 @@
+package com.example.pente;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.example.pente.Model.Board;
+import com.example.pente.Model.MctsEngine;
+
+import org.junit.Test;
+
+/**
+ * Local unit tests for the Monte Carlo tree search engine.
+ */
+public class MctsEngineUnitTest {
+
+    @Test
+    public void bestMove_completesTheFive() {
+        Board board = TestBoards.FourInRow();
+        long key = board.GetHash();
+        MctsEngine engine = new MctsEngine(board);
+        assertTrue(engine.SetPlayoutBudget(500));
+
+        int[] move = engine.BestMove(Board.WHITE_PIECE);
+        assertEquals(9, move[0]);
+        assertEquals(9, move[1]);
+        assertEquals(key, board.GetHash());
+        assertEquals(500, engine.GetPlayouts());
+        assertTrue(engine.GetPlayoutsPerSecond() > 0);
+    }
+
+    @Test
+    public void bestMove_blocksTheFiveWithinASmallPool() {
+        Board board = TestBoards.FourInRow();
+        long key = board.GetHash();
+        MctsEngine engine = new MctsEngine(board, 200);
+        assertTrue(engine.SetPlayoutBudget(2000));
+
+        int[] move = engine.BestMove(Board.BLACK_PIECE);
+        assertEquals(9, move[0]);
+        assertEquals(9, move[1]);
+        assertEquals(key, board.GetHash());
+        assertTrue(engine.GetNodes() <= 200);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.pente;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.example.pente.Model.Board;
+import com.example.pente.Model.MoveOrdering;
+
+import org.junit.Test;
+
+/**
+ * Local unit tests for the search move ordering.
+ */
+public class MoveOrderingUnitTest {
+
+    @Test
+    public void rank_ordersHashCapturesKillersThenQuietMoves() {
+        MoveOrdering ordering = new MoveOrdering(4);
+        ordering.RecordCutoff(50, Board.WHITE_PIECE, 1, 3, false);
+        ordering.RecordCutoff(60, Board.WHITE_PIECE, 1, 3, false);
+
+        int hash = ordering.Rank(10, Board.WHITE_PIECE, 1, 10, 0, 0);
+        int twoPairs = ordering.Rank(20, Board.WHITE_PIECE, 1, 10, 2, 0);
+        int onePair = ordering.Rank(30, Board.WHITE_PIECE, 1, 10, 1, 200);
+        int newestKiller = ordering.Rank(60, Board.WHITE_PIECE, 1, 10, 0, 0);
+        int olderKiller = ordering.Rank(50, Board.WHITE_PIECE, 1, 10, 0, 0);
+        int quiet = ordering.Rank(70, Board.WHITE_PIECE, 1, 10, 0, 255);
+        assertTrue(hash > twoPairs);
+        assertTrue(twoPairs > onePair);
+        assertTrue(onePair > newestKiller);
+        assertTrue(newestKiller > olderKiller);
+        assertTrue(olderKiller > quiet);
+        // killers belong to their ply
+        assertTrue(ordering.Rank(60, Board.WHITE_PIECE, 2, 10, 0, 0) < olderKiller);
+    }
+
+    @Test
+    public void recordCutoff_keepsCapturesOutOfTheKillersAndResetClearsEverything() {
+        MoveOrdering ordering = new MoveOrdering(4);
+        ordering.RecordCutoff(40, Board.BLACK_PIECE, 0, 4, true);
+        assertEquals(-1, ordering.GetKiller(0, 0));
+        assertEquals(16, ordering.GetHistory(40, Board.BLACK_PIECE));
+        assertEquals(0, ordering.GetHistory(40, Board.WHITE_PIECE));
+
+        ordering.RecordCutoff(41, Board.BLACK_PIECE, 0, 2, false);
+        ordering.Age();
+        assertEquals(-1, ordering.GetKiller(0, 0));
+        assertEquals(8, ordering.GetHistory(40, Board.BLACK_PIECE));
+
+        ordering.RecordCutoff(41, Board.BLACK_PIECE, 0, 2, false);
+        ordering.Reset();
+        assertEquals(-1, ordering.GetKiller(0, 0));
+        assertEquals(0, ordering.GetHistory(40, Board.BLACK_PIECE));
+        assertEquals(0, ordering.GetHistory(41, Board.BLACK_PIECE));
+    }
+}
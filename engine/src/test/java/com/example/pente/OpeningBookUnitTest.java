@@ -0,0 +1,65 @@
+package com.example.pente;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import com.example.pente.Model.BitBoard;
+import com.example.pente.Model.Board;
+import com.example.pente.Model.OpeningBook;
+import com.example.pente.Model.OpeningBookBuilder;
+import com.example.pente.Model.Symmetry;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Local unit tests for the memory-mapped opening book.
+ */
+public class OpeningBookUnitTest {
+
+    private static final int CENTRE = BitBoard.Index(9, 9);
+
+    @Test
+    public void probe_answersEveryOrientationOfABookPosition() throws IOException {
+        OpeningBookBuilder builder = new OpeningBookBuilder(4);
+        // the same opening turned by a quarter, so both games count for one position
+        builder.AddGame(new int[]{CENTRE, BitBoard.Index(9, 10), BitBoard.Index(3, 9)}, Board.WHITE_PIECE);
+        builder.AddGame(new int[]{CENTRE, Symmetry.Transform(1, BitBoard.Index(9, 10)), Symmetry.Transform(1, BitBoard.Index(3, 9))}, Board.WHITE_PIECE);
+        File file = File.createTempFile("opening", ".book");
+        file.deleteOnExit();
+        assertEquals(3, builder.Write(file, 2));
+
+        OpeningBook book = OpeningBook.Open(file);
+        assertNotNull(book);
+        for (int symmetry = 0; symmetry < Symmetry.COUNT; symmetry++) {
+            Board board = new Board();
+            board.MakeMove(9, 9, Board.WHITE_PIECE);
+            int black = Symmetry.Transform(symmetry, BitBoard.Index(9, 10));
+            board.MakeMove(black / Board.BOARD_SIZE, black % Board.BOARD_SIZE, Board.BLACK_PIECE);
+
+            // the position is symmetric about the line of its two pieces, so the book may answer either mirror image
+            int expected = Symmetry.Transform(symmetry, BitBoard.Index(3, 9));
+            int[] probe = book.Probe(board);
+            assertNotNull(probe);
+            assertEquals(Symmetry.CanonicalMove(board, expected), Symmetry.CanonicalMove(board, BitBoard.Index(probe[0], probe[1])));
+            int[] statistics = book.GetStatistics(Symmetry.CanonicalKey(board), Symmetry.CanonicalMove(board, expected));
+            assertArrayEquals(new int[]{2, 2}, statistics);
+        }
+
+        Board unknown = new Board();
+        unknown.MakeMove(9, 9, Board.WHITE_PIECE);
+        unknown.MakeMove(0, 0, Board.BLACK_PIECE);
+        assertNull(book.Probe(unknown));
+    }
+
+    @Test
+    public void open_rejectsAFileThatIsNotABook() throws IOException {
+        File file = File.createTempFile("opening", ".book");
+        file.deleteOnExit();
+        assertNull(OpeningBook.Open(file));
+    }
+}
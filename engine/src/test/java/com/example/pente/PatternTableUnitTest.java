@@ -0,0 +1,53 @@
+package com.example.pente;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.example.pente.Model.BitBoard;
+import com.example.pente.Model.Board;
+import com.example.pente.Model.PatternTable;
+
+import org.junit.Test;
+
+/**
+ * Local unit tests for the line pattern tables.
+ */
+public class PatternTableUnitTest {
+
+    @Test
+    public void threatClass_followsTheRowThroughThePosition() {
+        Board board = new Board();
+        board.InsertPiece(9, 10, Board.WHITE_PIECE);
+        board.InsertPiece(9, 11, Board.WHITE_PIECE);
+        assertEquals(PatternTable.OPEN_THREE, PatternTable.ThreatClass(board.GetPattern(9, 9, Board.WHITE_PIECE, BitBoard.HORIZONTAL)));
+        assertEquals(PatternTable.NONE, PatternTable.ThreatClass(board.GetPattern(9, 9, Board.WHITE_PIECE, BitBoard.VERTICAL)));
+
+        board.InsertPiece(9, 12, Board.WHITE_PIECE);
+        assertEquals(PatternTable.OPEN_FOUR, PatternTable.ThreatClass(board.GetPattern(9, 9, Board.WHITE_PIECE, BitBoard.HORIZONTAL)));
+        board.InsertPiece(9, 8, Board.BLACK_PIECE);
+        assertEquals(PatternTable.FOUR, PatternTable.ThreatClass(board.GetPattern(9, 9, Board.WHITE_PIECE, BitBoard.HORIZONTAL)));
+        board.InsertPiece(9, 13, Board.WHITE_PIECE);
+        assertEquals(PatternTable.FIVE, PatternTable.ThreatClass(board.GetPattern(9, 9, Board.WHITE_PIECE, BitBoard.HORIZONTAL)));
+    }
+
+    @Test
+    public void captureFeatures_areReadFromTheWindow() {
+        Board board = new Board();
+        // white at (0, 3) would capture the black pair towards the edge only if white closes it
+        board.InsertPiece(0, 1, Board.BLACK_PIECE);
+        board.InsertPiece(0, 2, Board.BLACK_PIECE);
+        int pattern = board.GetPattern(0, 3, Board.WHITE_PIECE, BitBoard.HORIZONTAL);
+        assertEquals(0, PatternTable.Captures(pattern));
+        assertEquals(1, PatternTable.CaptureThreats(pattern));
+
+        board.InsertPiece(0, 0, Board.WHITE_PIECE);
+        pattern = board.GetPattern(0, 3, Board.WHITE_PIECE, BitBoard.HORIZONTAL);
+        assertEquals(1, PatternTable.Captures(pattern));
+        assertFalse(PatternTable.IsVulnerable(pattern));
+
+        board.InsertPiece(5, 6, Board.BLACK_PIECE);
+        board.InsertPiece(5, 8, Board.WHITE_PIECE);
+        assertTrue(PatternTable.IsVulnerable(board.GetPattern(5, 7, Board.WHITE_PIECE, BitBoard.HORIZONTAL)));
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.pente;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.example.pente.Model.AlphaBetaEngine;
+import com.example.pente.Model.Board;
+import com.example.pente.Model.Ponderer;
+
+import org.junit.Test;
+
+/**
+ * Local unit tests for pondering on the opponent's time.
+ */
+public class PondererUnitTest {
+
+    private static Board Opening() {
+        Board board = new Board();
+        board.InsertPiece(9, 9, Board.WHITE_PIECE);
+        board.InsertPiece(9, 10, Board.BLACK_PIECE);
+        board.InsertPiece(10, 9, Board.WHITE_PIECE);
+        board.InsertPiece(8, 8, Board.BLACK_PIECE);
+        return board;
+    }
+
+    // Generous, so that a loaded machine running the low priority pondering thread does not fail the tests
+    private static final long WAIT_MILLIS = 30000;
+
+    private static int WaitForPrediction(Ponderer ponderer) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+        while (ponderer.GetPredictedMove() == -1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        return ponderer.GetPredictedMove();
+    }
+
+    private static boolean WaitForAnswer(Ponderer ponderer) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+        while (!ponderer.IsAnswerReady() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        return ponderer.IsAnswerReady();
+    }
+
+    @Test
+    public void stop_onThePredictedMoveGivesThePreparedAnswer() throws InterruptedException {
+        Board board = Opening();
+        long key = board.GetHash();
+        Ponderer ponderer = new Ponderer(new AlphaBetaEngine(board, 2));
+        assertTrue(ponderer.Start(board, Board.BLACK_PIECE));
+
+        assertTrue(WaitForAnswer(ponderer));
+        int predicted = ponderer.GetPredictedMove();
+        assertTrue(predicted != -1);
+        assertTrue(ponderer.Stop(predicted / Board.BOARD_SIZE, predicted % Board.BOARD_SIZE));
+        assertFalse(ponderer.IsPondering());
+        assertEquals(key, board.GetHash());
+
+        // the answer is for the computer's colour only, and is taken once
+        assertNull(ponderer.TakeMove(Board.WHITE_PIECE));
+        int[] move = ponderer.TakeMove(Board.BLACK_PIECE);
+        assertNotNull(move);
+        assertTrue(board.isPositionEmpty(move[0], move[1]));
+        assertNull(ponderer.TakeMove(Board.BLACK_PIECE));
+    }
+
+    @Test
+    public void stop_onAnotherMoveDropsTheAnswer() throws InterruptedException {
+        Board board = Opening();
+        Ponderer ponderer = new Ponderer(new AlphaBetaEngine(board, 2));
+        assertTrue(ponderer.Start(board, Board.BLACK_PIECE));
+
+        int predicted = WaitForPrediction(ponderer);
+        int other = (predicted == 0) ? 1 : 0;
+        assertFalse(ponderer.Stop(other / Board.BOARD_SIZE, other % Board.BOARD_SIZE));
+        assertNull(ponderer.TakeMove(Board.BLACK_PIECE));
+    }
+}
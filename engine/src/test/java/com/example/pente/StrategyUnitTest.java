@@ -0,0 +1,148 @@
+package com.example.pente;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.example.pente.Model.AlphaBetaEngine;
+import com.example.pente.Model.Board;
+import com.example.pente.Model.FeatureMap;
+import com.example.pente.Model.MoveListener;
+import com.example.pente.Model.PrincipalVariation;
+import com.example.pente.Model.SearchStats;
+import com.example.pente.Model.Strategy;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Local unit tests for the heuristic scanners of Strategy.
+ */
+public class StrategyUnitTest {
+
+    @Test
+    public void featureMap_matchesTheScanners() {
+        Random random = new Random(9);
+        for (int game = 0; game < 50; game++) {
+            Board board = TestBoards.RandomBoard(random, 100);
+            Strategy strategy = new Strategy(board, null);
+            FeatureMap features = new FeatureMap(board);
+            features.Scan();
+            for (char colour : new char[]{Board.WHITE_PIECE, Board.BLACK_PIECE}) {
+                assertArrayEquals(strategy.CalculateBestPositionForPoints(colour), features.GetBestPositionForPoints(colour));
+                assertArrayEquals(strategy.CalculateBestPositionForCapture(colour), features.GetBestPositionForCapture(colour));
+                assertArrayEquals(strategy.CalculateSequenceInRow(colour), features.GetSequenceInRow(colour));
+            }
+        }
+    }
+
+    @Test
+    public void bestMove_explainsTheMoveToTheListener() {
+        final List<String> log = new ArrayList<>();
+        final List<String> shown = new ArrayList<>();
+        Strategy strategy = new Strategy(new Board(), new MoveListener() {
+            @Override
+            public void AddLogMessage(String message) {
+                log.add(message);
+            }
+
+            @Override
+            public void ShowMessage(String message) {
+                shown.add(message);
+            }
+        });
+
+        assertArrayEquals(new int[]{9, 9}, strategy.BestMove(Board.WHITE_PIECE, 0, false));
+        assertEquals(1, log.size());
+        assertTrue(log.get(0).endsWith("J10"));
+        assertTrue(shown.isEmpty());
+        // a help request also shows the explanation
+        strategy.BestMove(Board.WHITE_PIECE, 0, true);
+        assertEquals(1, shown.size());
+    }
+
+    @Test
+    public void bestMove_reportsItsStatsToTheListener() {
+        Board board = new Board();
+        board.MakeMove(9, 9, Board.WHITE_PIECE);
+        board.MakeMove(9, 10, Board.BLACK_PIECE);
+        board.MakeMove(6, 9, Board.WHITE_PIECE);
+        board.MakeMove(10, 10, Board.BLACK_PIECE);
+        final List<SearchStats> reports = new ArrayList<>();
+        Strategy strategy = new Strategy(board, null);
+        strategy.SetStatsListener(new SearchStats.Listener() {
+            @Override
+            public void ReportStats(SearchStats stats) {
+                reports.add(stats);
+            }
+        });
+
+        // the heuristic cascade: no engine counters, but the threat search and the phases are timed
+        strategy.BestMove(Board.WHITE_PIECE, 2, false);
+        assertEquals(1, reports.size());
+        SearchStats heuristic = reports.get(0);
+        assertEquals(1, heuristic.GetMoves());
+        assertEquals(0, heuristic.GetNodes());
+        assertTrue(heuristic.GetThreatNodes() > 0);
+        assertTrue(heuristic.GetPhaseNanos(SearchStats.THREATS) > 0);
+        long phaseNanos = 0;
+        int decisions = 0;
+        for (int phase = 0; phase < SearchStats.PHASES; phase++) {
+            phaseNanos += heuristic.GetPhaseNanos(phase);
+            decisions += heuristic.GetDecisions(phase);
+        }
+        assertEquals(heuristic.GetTotalNanos(), phaseNanos);
+        assertEquals(1, decisions);
+
+        // the alpha-beta engine adds its nodes, evaluations and table probes
+        strategy.SetEngine(new AlphaBetaEngine(board, 2));
+        strategy.BestMove(Board.WHITE_PIECE, 2, false);
+        SearchStats search = reports.get(1);
+        assertEquals(1, search.GetDecisions(SearchStats.ENGINE));
+        assertEquals(2, search.GetDepth());
+        assertTrue(search.GetNodes() > 0);
+        assertTrue(search.GetEvaluations() > 0);
+        assertTrue(search.GetTableProbes() >= search.GetTableHits());
+        assertTrue(search.GetEffectiveBranchingFactor() > 1);
+
+        SearchStats total = new SearchStats();
+        total.Add(heuristic);
+        total.Add(search);
+        assertEquals(2, total.GetMoves());
+        // the move the heuristic chose ran no search, so it leaves the branching factor alone
+        assertEquals(1, total.GetSearches());
+        assertEquals(search.GetEffectiveBranchingFactor(), total.GetEffectiveBranchingFactor(), 1e-9);
+        assertEquals(heuristic.GetThreatNodes() + search.GetThreatNodes(), total.GetThreatNodes());
+
+        // without a listener nothing is reported
+        strategy.SetStatsListener(null);
+        strategy.BestMove(Board.WHITE_PIECE, 2, false);
+        assertEquals(2, reports.size());
+    }
+
+    @Test
+    public void analyse_searchesACopyOfEachGivenPosition() {
+        Board game = new Board();
+        Strategy strategy = new Strategy(game, null);
+        strategy.SetEngine(new AlphaBetaEngine(game, 2));
+        Board position = TestBoards.FourInRow();
+        long key = position.GetHash();
+
+        PrincipalVariation[] win = strategy.Analyse(position, Board.WHITE_PIECE, 2);
+        assertTrue(win[0].IsWin());
+        assertEquals(9, win[0].GetRow());
+        assertEquals(9, win[0].GetColumn());
+        // the search ran on a board of its own
+        assertEquals(key, position.GetHash());
+        assertEquals(new Board().GetHash(), game.GetHash());
+
+        // the next analysis, of another position, searches that position
+        position.InsertPiece(9, 9, Board.BLACK_PIECE);
+        PrincipalVariation[] next = strategy.Analyse(position, Board.WHITE_PIECE, 2);
+        assertTrue(next[0].GetRow() != 9 || next[0].GetColumn() != 9);
+        assertTrue(!next[0].IsWin());
+    }
+}
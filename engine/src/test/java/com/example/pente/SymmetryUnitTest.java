@@ -0,0 +1,92 @@
+package com.example.pente;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.example.pente.Model.BitBoard;
+import com.example.pente.Model.Board;
+import com.example.pente.Model.Symmetry;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Local unit tests for the board symmetries and canonical keys.
+ */
+public class SymmetryUnitTest {
+
+    private static final int[] WHITE_MOVES = {BitBoard.Index(9, 9), BitBoard.Index(9, 10), BitBoard.Index(4, 13)};
+    private static final int[] BLACK_MOVES = {BitBoard.Index(10, 10), BitBoard.Index(8, 11)};
+
+    private static Board Transformed(int symmetry) {
+        Board board = new Board();
+        for (int move : WHITE_MOVES) {
+            int index = Symmetry.Transform(symmetry, move);
+            board.InsertPiece(index / Board.BOARD_SIZE, index % Board.BOARD_SIZE, Board.WHITE_PIECE);
+        }
+        for (int move : BLACK_MOVES) {
+            int index = Symmetry.Transform(symmetry, move);
+            board.InsertPiece(index / Board.BOARD_SIZE, index % Board.BOARD_SIZE, Board.BLACK_PIECE);
+        }
+        return board;
+    }
+
+    @Test
+    public void inverse_undoesEveryTransform() {
+        Set<Integer> images = new HashSet<>();
+        for (int symmetry = 0; symmetry < Symmetry.COUNT; symmetry++) {
+            for (int index = 0; index < BitBoard.CELLS; index++) {
+                assertEquals(index, Symmetry.Inverse(symmetry, Symmetry.Transform(symmetry, index)));
+            }
+            images.add(Symmetry.Transform(symmetry, BitBoard.Index(0, 1)));
+            // the centre stays put
+            assertEquals(BitBoard.Index(9, 9), Symmetry.Transform(symmetry, BitBoard.Index(9, 9)));
+        }
+        // the eight symmetries are all different
+        assertEquals(Symmetry.COUNT, images.size());
+    }
+
+    @Test
+    public void canonicalKey_isTheSameInEveryOrientation() {
+        long canonical = Symmetry.CanonicalKey(Transformed(Symmetry.IDENTITY));
+        for (int symmetry = 1; symmetry < Symmetry.COUNT; symmetry++) {
+            Board board = Transformed(symmetry);
+            assertEquals(canonical, Symmetry.CanonicalKey(board));
+            assertEquals(board.GetHash(), Symmetry.Key(board, Symmetry.IDENTITY));
+        }
+        Board other = Transformed(Symmetry.IDENTITY);
+        other.InsertPiece(0, 0, Board.BLACK_PIECE);
+        assertTrue(Symmetry.CanonicalKey(other) != canonical);
+    }
+
+    @Test
+    public void symmetryKey_followsMovesCapturesAndUndo() {
+        Board board = Transformed(Symmetry.IDENTITY);
+        for (int symmetry = 0; symmetry < Symmetry.COUNT; symmetry++) {
+            // the incremental key of an orientation is the key of the board holding that orientation
+            assertEquals(Transformed(symmetry).GetHash(), board.GetSymmetryKey(symmetry));
+        }
+
+        // black makes a pair next to white's centre piece, white captures it on the diagonal, then both play quietly
+        int[][] moves = {{11, 11}, {12, 12}, {8, 8}, {0, 0}};
+        char[] colours = {Board.BLACK_PIECE, Board.WHITE_PIECE, Board.BLACK_PIECE, Board.WHITE_PIECE};
+        board.SetSideToMove(Board.BLACK_PIECE);
+        for (int i = 0; i < moves.length; i++) {
+            assertTrue(board.MakeMove(moves[i][0], moves[i][1], colours[i]));
+            if (i == 1) {
+                assertEquals(2, board.GetLastMoveCaptures());
+            }
+            for (int symmetry = 0; symmetry < Symmetry.COUNT; symmetry++) {
+                assertEquals(Symmetry.ComputeKey(board, symmetry), board.GetSymmetryKey(symmetry));
+            }
+        }
+        while (board.GetUndoSize() > 0) {
+            board.UnmakeMove();
+        }
+        for (int symmetry = 0; symmetry < Symmetry.COUNT; symmetry++) {
+            assertEquals(Symmetry.ComputeKey(board, symmetry), board.GetSymmetryKey(symmetry));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.pente;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.example.pente.Model.BitBoard;
+import com.example.pente.Model.Board;
+import com.example.pente.Model.ThreatSearch;
+
+import org.junit.Test;
+
+/**
+ * Local unit tests for the threat space search.
+ */
+public class ThreatSearchUnitTest {
+
+    @Test
+    public void findWin_turnsAnOpenThreeIntoAWin() {
+        Board board = new Board();
+        board.InsertPiece(9, 9, Board.WHITE_PIECE);
+        board.InsertPiece(9, 10, Board.WHITE_PIECE);
+        board.InsertPiece(9, 11, Board.WHITE_PIECE);
+        board.InsertPiece(3, 3, Board.BLACK_PIECE);
+        long key = board.GetHash();
+
+        int[] line = new ThreatSearch(board).FindWin(Board.WHITE_PIECE);
+        // open four, one end blocked, five at the other
+        assertEquals(3, line.length);
+        assertEquals(9, line[0] / Board.BOARD_SIZE);
+        assertEquals(key, board.GetHash());
+    }
+
+    @Test
+    public void findWin_followsADoubleFour() {
+        Board board = new Board();
+        board.InsertPiece(5, 5, Board.WHITE_PIECE);
+        board.InsertPiece(5, 6, Board.WHITE_PIECE);
+        board.InsertPiece(5, 7, Board.WHITE_PIECE);
+        board.InsertPiece(5, 4, Board.BLACK_PIECE);
+        board.InsertPiece(6, 8, Board.WHITE_PIECE);
+        board.InsertPiece(7, 8, Board.WHITE_PIECE);
+        board.InsertPiece(8, 8, Board.WHITE_PIECE);
+        board.InsertPiece(9, 8, Board.BLACK_PIECE);
+
+        int[] line = new ThreatSearch(board).FindWin(Board.WHITE_PIECE);
+        assertEquals(BitBoard.Index(5, 8), line[0]);
+        assertEquals(0, new ThreatSearch(board).FindWin(Board.BLACK_PIECE).length);
+    }
+
+    @Test
+    public void findDefence_blocksTheOpenThree() {
+        Board board = new Board();
+        board.InsertPiece(9, 9, Board.WHITE_PIECE);
+        board.InsertPiece(9, 10, Board.WHITE_PIECE);
+        board.InsertPiece(9, 11, Board.WHITE_PIECE);
+        board.InsertPiece(3, 3, Board.BLACK_PIECE);
+
+        ThreatSearch search = new ThreatSearch(board);
+        int defence = search.FindDefence(Board.BLACK_PIECE);
+        assertTrue(defence != -1);
+        board.MakeMove(defence / Board.BOARD_SIZE, defence % Board.BOARD_SIZE, Board.BLACK_PIECE);
+        assertEquals(0, search.FindWin(Board.WHITE_PIECE).length);
+    }
+}
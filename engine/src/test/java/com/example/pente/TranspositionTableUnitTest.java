@@ -0,0 +1,47 @@
+package com.example.pente;
+
+import static org.junit.Assert.assertEquals;
+
+import com.example.pente.Model.TranspositionTable;
+
+import org.junit.Test;
+
+/**
+ * Local unit tests for the transposition table.
+ */
+public class TranspositionTableUnitTest {
+
+    @Test
+    public void storeAndProbe_roundTripsEveryField() {
+        TranspositionTable table = new TranspositionTable(1);
+        table.Store(0x1234L, 7, TranspositionTable.LOWER_BOUND, -4200, 360);
+
+        long entry = table.Probe(0x1234L);
+        assertEquals(7, TranspositionTable.GetDepth(entry));
+        assertEquals(TranspositionTable.LOWER_BOUND, TranspositionTable.GetBound(entry));
+        assertEquals(-4200, TranspositionTable.GetScore(entry));
+        assertEquals(360, TranspositionTable.GetMove(entry));
+
+        assertEquals(TranspositionTable.MISS, table.Probe(0x5678L));
+        assertEquals(1, table.GetHits());
+        assertEquals(1, table.GetMisses());
+    }
+
+    @Test
+    public void store_keepsTheDeepestEntryInTheBucket() {
+        TranspositionTable table = new TranspositionTable(1);
+        // same bucket, different keys
+        long deep = 5L;
+        long shallow = 5L + ((long) table.GetCapacity() << 32);
+        long other = 5L + ((long) table.GetCapacity() << 33);
+        table.Store(deep, 6, TranspositionTable.EXACT, 1, -1);
+        table.Store(shallow, 2, TranspositionTable.EXACT, 2, -1);
+        table.Store(other, 1, TranspositionTable.EXACT, 3, -1);
+
+        assertEquals(6, TranspositionTable.GetDepth(table.Probe(deep)));
+        assertEquals(3, TranspositionTable.GetScore(table.Probe(other)));
+        assertEquals(TranspositionTable.MISS, table.Probe(shallow));
+        assertEquals(1, table.GetCollisions());
+        assertEquals(-1, TranspositionTable.GetMove(table.Probe(deep)));
+    }
+}
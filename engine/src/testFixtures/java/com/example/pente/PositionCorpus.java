@@ -0,0 +1,127 @@
+package com.example.pente;
+
+import com.example.pente.Model.Board;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * PositionCorpus is the fixed set of opening, midgame and endgame positions shared by the benchmarks and the
+ * performance tests, read from positions.txt next to this class.
+ * Each line holds a phase followed by the moves of a game as board indexes, white first, replayed with Board.MakeMove
+ * so that captures are taken as in a real game.
+ */
+public class PositionCorpus {
+
+    public static final String OPENING = "opening";
+    public static final String MIDGAME = "midgame";
+    public static final String ENDGAME = "endgame";
+
+    private static final String RESOURCE = "positions.txt";
+
+    private static List<Position> _positions;
+
+    /**
+     * One position of the corpus.
+     */
+    public static class Position {
+        private final String _phase;
+        private final int[] _moves;
+
+        private Position(String phase, int[] moves) {
+            _phase = phase;
+            _moves = moves;
+        }
+
+        public String GetPhase() {
+            return _phase;
+        }
+
+        public int[] GetMoves() {
+            return _moves.clone();
+        }
+
+        /**
+         * Gets the colour to move in the position.
+         *
+         * @return The colour of the side to move.
+         */
+        public char GetSideToMove() {
+            return (_moves.length % 2 == 0) ? Board.WHITE_PIECE : Board.BLACK_PIECE;
+        }
+
+        /**
+         * Builds a board holding the position.
+         *
+         * @return A new board with the moves played.
+         */
+        public Board ToBoard() {
+            Board board = new Board();
+            char colour = Board.WHITE_PIECE;
+            for (int move : _moves) {
+                board.MakeMove(move / Board.BOARD_SIZE, move % Board.BOARD_SIZE, colour);
+                colour = Board.GetOppositeColour(colour);
+            }
+            return board;
+        }
+    }
+
+    /**
+     * Gets every position of the corpus.
+     *
+     * @return The positions, in the order of the file.
+     */
+    public static synchronized List<Position> Load() {
+        if (_positions == null) {
+            _positions = Collections.unmodifiableList(Read());
+        }
+        return _positions;
+    }
+
+    /**
+     * Gets the positions of one phase.
+     *
+     * @param phase OPENING, MIDGAME or ENDGAME.
+     * @return The positions of the phase.
+     */
+    public static List<Position> Load(String phase) {
+        List<Position> positions = new ArrayList<>();
+        for (Position position : Load()) {
+            if (position.GetPhase().equals(phase)) {
+                positions.add(position);
+            }
+        }
+        return positions;
+    }
+
+    private static List<Position> Read() {
+        List<Position> positions = new ArrayList<>();
+        InputStream stream = PositionCorpus.class.getResourceAsStream(RESOURCE);
+        if (stream == null) {
+            throw new IllegalStateException("The position corpus " + RESOURCE + " is missing");
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, "UTF-8"))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] parts = line.split("\\s+");
+                int[] moves = new int[parts.length - 1];
+                for (int i = 1; i < parts.length; i++) {
+                    moves[i - 1] = Integer.parseInt(parts[i]);
+                }
+                positions.add(new Position(parts[0], moves));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("The position corpus could not be read", e);
+        }
+        return positions;
+    }
+}
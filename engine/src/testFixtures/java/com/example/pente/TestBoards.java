@@ -0,0 +1,50 @@
+package com.example.pente;
+
+import com.example.pente.Model.Board;
+
+import java.util.Random;
+
+/**
+ * TestBoards builds the small hand-made and random positions the engine tests share.
+ */
+public class TestBoards {
+
+    private TestBoards() {
+    }
+
+    /**
+     * Builds a board where white has four in a row on row 9, from column 5 to 8, blocked on the left:
+     * white wins at (9, 9) and black has to play there.
+     *
+     * @return The board.
+     */
+    public static Board FourInRow() {
+        Board board = new Board();
+        for (int column = 5; column < 9; column++) {
+            board.InsertPiece(9, column, Board.WHITE_PIECE);
+        }
+        board.InsertPiece(9, 4, Board.BLACK_PIECE);
+        board.InsertPiece(10, 6, Board.BLACK_PIECE);
+        board.InsertPiece(11, 6, Board.BLACK_PIECE);
+        return board;
+    }
+
+    /**
+     * Builds a board with pieces of random colours on random positions, without captures.
+     *
+     * @param random The source of the positions and colours.
+     * @param pieces The number of pieces tried; a position already taken is skipped, so the board may hold fewer.
+     * @return The board.
+     */
+    public static Board RandomBoard(Random random, int pieces) {
+        Board board = new Board();
+        for (int piece = 0; piece < pieces; piece++) {
+            int row = random.nextInt(Board.BOARD_SIZE);
+            int column = random.nextInt(Board.BOARD_SIZE);
+            if (board.isPositionEmpty(row, column)) {
+                board.InsertPiece(row, column, random.nextBoolean() ? Board.WHITE_PIECE : Board.BLACK_PIECE);
+            }
+        }
+        return board;
+    }
+}
@@ -15,4 +15,6 @@ dependencyResolutionManagement {
 
 rootProject.name = "Pente"
 include(":app")
- 
\ No newline at end of file
+include(":engine")
+include(":arena")
+include(":benchmark")